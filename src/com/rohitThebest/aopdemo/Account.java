@@ -33,7 +33,7 @@ public class Account {
 
 	@Override
 	public String toString() {
-		return "Account [name=" + name + ", level=" + level + "]";
+		return "Account [name=" + getName() + ", level=" + getLevel() + "]";
 	}
 	
 	
@@ -0,0 +1,74 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.control.AdviceControl;
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.dao.MembershipDAO;
+import com.rohitThebest.aopdemo.log.AsyncLogger;
+
+/*
+ * Switches advices off and retargets them while the context runs. The same
+ * can be done from jconsole: MBean com.rohitThebest.aopdemo:type=AdviceControl
+ */
+public class AdviceControlDemoApp {
+
+	public static void main(String[] args) {
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the beans from spring container
+		AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+		MembershipDAO membershipDAO = context.getBean("membershipDAO", MembershipDAO.class);
+		AdviceControl adviceControl = context.getBean(AdviceControl.class);
+
+		// the steps go through the logger too, so they stay in order with the advices
+		AsyncLogger logger = context.getBean(AsyncLogger.class);
+
+		logger.log("\n----- all the advices");
+		accountDao.doWork();
+
+		logger.log("\n----- MyApiAnalyticsAspect switched off");
+		adviceControl.setAdviceEnabled("MyApiAnalyticsAspect.performApiAnalyticsAdvice", false);
+		accountDao.doWork();
+
+		logger.log("\n----- and the logging of the dao methods (pointcut forDaoPackageNotGetterSetter)");
+		adviceControl.setPointcutEnabled("forDaoPackageNotGetterSetter", false);
+		accountDao.doWork();
+
+		logger.log("\n----- all on again, forDaoPackage retargeted to AccountDAO: no advice on MembershipDAO");
+		adviceControl.reset();
+		adviceControl.retargetPointcut("forDaoPackage", "execution(* com.rohitThebest.aopdemo.dao.AccountDAO.*(..))");
+		accountDao.doWork();
+		membershipDAO.gotToSleep();
+
+		logger.log("\n----- MyCloudLogAsyncAspect retargeted to the add methods");
+		adviceControl.retargetPointcut("forDaoPackage", null);
+		adviceControl.retargetAdvice("MyCloudLogAsyncAspect.logToCloudAsync", "forDaoPackage() && execution(* add*(..))");
+		accountDao.doWork();
+		accountDao.addAccount(new Account("Rohit", "platinum"), true);
+
+		System.out.println("\nMain program : AdviceControlDemoApp");
+		System.out.println("-----");
+
+		// a bad expression changes nothing
+		try {
+			adviceControl.retargetPointcut("forDaoPackage", "execution(* *(..)");
+		} catch (IllegalArgumentException e) {
+			System.out.println("Not retargeted: " + e.getMessage());
+		}
+
+		System.out.println(adviceControl.report());
+
+		// close the context
+		context.close();
+	}
+
+}
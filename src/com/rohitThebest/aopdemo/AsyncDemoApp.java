@@ -0,0 +1,56 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.service.TrafficFortuneService;
+
+public class AsyncDemoApp {
+
+	public static void main(String[] args) throws Exception {
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the bean from spring container
+		TrafficFortuneService fortuneService =
+				context.getBean("trafficFortuneService", TrafficFortuneService.class);
+
+		System.out.println("\nMain program: AsyncDemoApp");
+
+		System.out.println("Calling getFortuneAsync()");
+
+		// returns at once, the 5 second call runs on the advice executor
+		CompletableFuture<String> future = fortuneService.getFortuneAsync();
+
+		System.out.println("Main thread is free to do other work...");
+
+		// the call takes longer than the 2 second timeout: we get the fallback
+		System.out.println("\nMy Fortune is : " + future.get());
+
+		// the first call kept running in the background and filled the cache
+		TimeUnit.SECONDS.sleep(4);
+
+		System.out.println("\nMy Fortune is : " + fortuneService.getFortuneAsync().get());
+
+		// exceptions are not replaced by the fallback, they reach the caller
+		try {
+			fortuneService.getFortuneAsync(true).get();
+		} catch (Exception e) {
+			System.out.println("\nMain program... caught exception: " + e);
+		}
+
+		System.out.println("Finished");
+		// close the context
+		context.close();
+	}
+
+}
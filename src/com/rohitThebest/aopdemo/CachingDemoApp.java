@@ -0,0 +1,61 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.cache.ResultCacheRegistry;
+import com.rohitThebest.aopdemo.service.TrafficFortuneService;
+
+public class CachingDemoApp {
+
+	public static void main(String[] args) {
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the beans from spring container
+		TrafficFortuneService fortuneService =
+				context.getBean("trafficFortuneService", TrafficFortuneService.class);
+
+		ResultCacheRegistry cacheRegistry = context.getBean(ResultCacheRegistry.class);
+
+		System.out.println("\nMain program: CachingDemoApp");
+
+		// 8 concurrent misses on getFortune(false): only one of them pays 5 seconds
+		long begin = System.nanoTime();
+		List<CompletableFuture<String>> callers = new ArrayList<>();
+
+		for (int i = 0; i < 8; i++) {
+			callers.add(CompletableFuture.supplyAsync(() -> fortuneService.getFortune(false)));
+		}
+
+		for (CompletableFuture<String> caller : callers) {
+			caller.join();
+		}
+
+		System.out.println("\n8 concurrent calls took: " + (System.nanoTime() - begin) / 1_000_000 + " ms");
+
+		// the second call is a cache hit
+		begin = System.nanoTime();
+		String data = fortuneService.getFortune(false);
+
+		System.out.println("\nMy Fortune is : " + data);
+		System.out.println("Cached call took: " + (System.nanoTime() - begin) / 1_000 + " us");
+
+		System.out.println("\n" + cacheRegistry.stats());
+
+		System.out.println("Finished");
+		// close the context
+		context.close();
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.resilience.CircuitBreakerRegistry;
+import com.rohitThebest.aopdemo.service.TrafficFortuneService;
+
+public class CircuitBreakerDemoApp {
+
+	public static void main(String[] args) {
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the beans from spring container
+		TrafficFortuneService fortuneService =
+				context.getBean("trafficFortuneService", TrafficFortuneService.class);
+		CircuitBreakerRegistry circuitBreakerRegistry = context.getBean(CircuitBreakerRegistry.class);
+
+		System.out.println("\nMain program : CircuitBreakerDemoApp");
+		System.out.println("-----");
+
+		// the highway is closed: after 10 failures the circuit opens
+		for (int i = 1; i <= 15; i++) {
+
+			try {
+				System.out.println("call " + i + " : " + fortuneService.getFortune(true));
+			} catch (RuntimeException e) {
+				System.out.println("call " + i + " : failed, " + e.getMessage());
+			}
+		}
+
+		// an open circuit answers without entering the method
+		int calls = 1_000_000;
+		long begin = System.nanoTime();
+
+		for (int i = 0; i < calls; i++) {
+			fortuneService.getFortune(true);
+		}
+
+		System.out.println("\nopen circuit call : " + (System.nanoTime() - begin) / calls + " ns");
+
+		// 20 callers at once for the 5 seconds path: only 10 of them wait
+		ExecutorService callers = Executors.newFixedThreadPool(20);
+		List<CompletableFuture<String>> fortunes = new ArrayList<>();
+
+		for (int i = 0; i < 20; i++) {
+			fortunes.add(CompletableFuture.supplyAsync(fortuneService::getFortune, callers));
+		}
+
+		for (int i = 0; i < fortunes.size(); i++) {
+			System.out.println("caller " + (i + 1) + " : " + fortunes.get(i).join());
+		}
+
+		callers.shutdown();
+
+		System.out.println("\n" + circuitBreakerRegistry.report());
+
+		// close the context
+		context.close();
+	}
+
+}
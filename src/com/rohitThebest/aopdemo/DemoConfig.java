@@ -5,14 +5,316 @@ package com.rohitThebest.aopdemo;
  * https://github.com/rkumar0206/spring-AOP-demo
  */
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.aspectj.lang.Aspects;
+import org.aspectj.lang.NoAspectBoundException;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.EnableMBeanExport;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jmx.support.RegistrationPolicy;
 
+import com.rohitThebest.aopdemo.aspect.MyApiAnalyticsAspect;
+import com.rohitThebest.aopdemo.aspect.MyAsyncAspect;
+import com.rohitThebest.aopdemo.aspect.MyCachingAspect;
+import com.rohitThebest.aopdemo.aspect.MyCircuitBreakerAspect;
+import com.rohitThebest.aopdemo.aspect.MyCloudLogAsyncAspect;
+import com.rohitThebest.aopdemo.aspect.MyDemoLoggingAspect;
+import com.rohitThebest.aopdemo.aspect.MyExceptionTrackingAspect;
+import com.rohitThebest.aopdemo.aspect.MyHedgingAspect;
+import com.rohitThebest.aopdemo.aspect.MyLatencyMetricsAspect;
+import com.rohitThebest.aopdemo.aspect.MyWriteBehindAspect;
+import com.rohitThebest.aopdemo.log.AsyncLogger;
+import com.rohitThebest.aopdemo.log.OverflowPolicy;
+import com.rohitThebest.aopdemo.log.PrintStreamLogSink;
+import com.rohitThebest.aopdemo.pointcut.MatchCachingAspectJAutoProxyCreator;
+import com.rohitThebest.aopdemo.startup.PrecomputedAspectJAutoProxyCreator;
+import com.rohitThebest.aopdemo.store.AccountStore;
+import com.rohitThebest.aopdemo.store.JdbcAccountRepository;
+import com.rohitThebest.aopdemo.store.MappedAccountFile;
+
+/*
+ * The @ManagedResource beans, like the AdviceControl of the proxy modes, are
+ * exported to the platform MBean server (jconsole, VisualVM, ...). A context
+ * started again in the same JVM replaces the MBeans of the previous one.
+ */
 @Configuration
-@EnableAspectJAutoProxy
 @ComponentScan("com.rohitThebest.aopdemo")
+@EnableMBeanExport(registration = RegistrationPolicy.REPLACE_EXISTING)
 public class DemoConfig {
+
+	public static final String FAST_STARTUP_PROFILE = "fast-startup";
+
+	/*
+	 * -Daopdemo.aop.fuseBefore=true: in the proxy modes, the @Before advices of
+	 * MyCloudLogAsyncAspect, MyDemoLoggingAspect and MyApiAnalyticsAspect (and
+	 * any others next to each other in a chain) are called through one fused
+	 * method handle instead of one reflective interceptor each (see
+	 * FusingAdvisorChainFactory, BeforeFusionBenchmark)
+	 */
+	public static final String FUSE_BEFORE_PROPERTY = "aopdemo.aop.fuseBefore";
+
+	/*
+	 * Default mode: the aspects are applied with Spring AOP proxies (CGLIB for
+	 * our classes, they have no interfaces).
+	 * 
+	 * This is what @EnableAspectJAutoProxy does, with an auto-proxy creator
+	 * that shares the pointcut matchers between the advices (see
+	 * MatchCachingAspectJAutoProxyCreator). It is registered under the name
+	 * @EnableAspectJAutoProxy would use, so the two cannot be mixed.
+	 */
+	@Configuration
+	@Profile("!ltw & !" + FAST_STARTUP_PROFILE)
+	static class ProxyWeavingConfig {
+
+		@Bean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)
+		@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+		public static MatchCachingAspectJAutoProxyCreator matchCachingAutoProxyCreator() {
+
+			MatchCachingAspectJAutoProxyCreator creator = new MatchCachingAspectJAutoProxyCreator();
+			creator.setOrder(Ordered.HIGHEST_PRECEDENCE);
+			creator.setFuseBeforeAdvice(Boolean.getBoolean(FUSE_BEFORE_PROPERTY));
+			return creator;
+		}
+	}
+
+	/*
+	 * Same proxies, but started faster, selected with the "fast-startup"
+	 * profile:
+	 * 
+	 *   -Dspring.profiles.active=fast-startup
+	 * 
+	 * Whether a bean needs a proxy is looked up in the pointcut table generated
+	 * by PointcutTableGenerator (META-INF/aopdemo-pointcuts.txt) instead of
+	 * matching every pointcut against every method of every bean. The beans
+	 * themselves come from the component index (META-INF/spring.components,
+	 * written by spring-context-indexer at compile time) in every mode, unless
+	 * -Dspring.index.ignore=true. StartupBenchmark compares the two.
+	 */
+	@Configuration
+	@Profile(FAST_STARTUP_PROFILE)
+	static class FastStartupConfig {
+
+		@Bean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)
+		@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+		public static PrecomputedAspectJAutoProxyCreator precomputedAutoProxyCreator() {
+
+			PrecomputedAspectJAutoProxyCreator creator = new PrecomputedAspectJAutoProxyCreator();
+			creator.setOrder(Ordered.HIGHEST_PRECEDENCE);
+			creator.setFuseBeforeAdvice(Boolean.getBoolean(FUSE_BEFORE_PROPERTY));
+			return creator;
+		}
+	}
+
+	/*
+	 * Load-time weaving mode, selected with the "ltw" profile:
+	 * 
+	 *   java -javaagent:aspectjweaver.jar --add-opens java.base/java.lang=ALL-UNNAMED
+	 *        -Dspring.profiles.active=ltw ...
+	 * 
+	 * The AspectJ weaver applies the aspects listed in META-INF/aop.xml straight
+	 * into the bytecode of the dao and service classes while they are loaded:
+	 * no proxies, and self-invocations like getFortune(boolean) -> getFortune()
+	 * are advised too.
+	 * 
+	 * The weaver has to understand our class files: Java 16 class files need
+	 * AspectJ 1.9.7 or newer, the aspectjweaver-1.8.14.jar in lib/ only reads
+	 * class files up to Java 8 (put the newer jar first on the classpath too).
+	 * 
+	 * The aspect instances are then created by AspectJ, not by Spring. These
+	 * beans replace the scanned aspect beans (same names) with the AspectJ
+	 * singletons, so Spring still injects their @Autowired fields.
+	 */
+	@Configuration
+	@Profile("ltw")
+	static class LoadTimeWeavingConfig {
+
+		@Bean
+		public MyAsyncAspect myAsyncAspect() {
+			return wovenAspect(MyAsyncAspect.class);
+		}
+
+		@Bean
+		public MyCircuitBreakerAspect myCircuitBreakerAspect() {
+			return wovenAspect(MyCircuitBreakerAspect.class);
+		}
+
+		@Bean
+		public MyCloudLogAsyncAspect myCloudLogAsyncAspect() {
+			return wovenAspect(MyCloudLogAsyncAspect.class);
+		}
+
+		@Bean
+		public MyDemoLoggingAspect myDemoLoggingAspect() {
+			return wovenAspect(MyDemoLoggingAspect.class);
+		}
+
+		@Bean
+		public MyApiAnalyticsAspect myApiAnalyticsAspect() {
+			return wovenAspect(MyApiAnalyticsAspect.class);
+		}
+
+		@Bean
+		public MyCachingAspect myCachingAspect() {
+			return wovenAspect(MyCachingAspect.class);
+		}
+
+		@Bean
+		public MyWriteBehindAspect myWriteBehindAspect() {
+			return wovenAspect(MyWriteBehindAspect.class);
+		}
+
+		@Bean
+		public MyHedgingAspect myHedgingAspect() {
+			return wovenAspect(MyHedgingAspect.class);
+		}
+
+		@Bean
+		public MyLatencyMetricsAspect myLatencyMetricsAspect() {
+			return wovenAspect(MyLatencyMetricsAspect.class);
+		}
+
+		@Bean
+		public MyExceptionTrackingAspect myExceptionTrackingAspect() {
+			return wovenAspect(MyExceptionTrackingAspect.class);
+		}
+
+		private static <T> T wovenAspect(Class<T> aspectClass) {
+
+			try {
+				return Aspects.aspectOf(aspectClass);
+			} catch (NoAspectBoundException e) {
+
+				throw new IllegalStateException(aspectClass.getSimpleName()
+						+ " has not been woven: the \"ltw\" profile needs the AspectJ weaver agent"
+						+ " (1.9.7+ for Java 16 class files), see DemoConfig", e);
+			}
+		}
+	}
 	
-	
+	/*
+	 * With the "jdbc" profile the accounts are also written to a database, the
+	 * write-behind batches with JDBC batch statements:
+	 * 
+	 *   -Dspring.profiles.active=jdbc -Daopdemo.jdbc.url=jdbc:h2:mem:aopdemo
+	 *   (optionally -Daopdemo.jdbc.user=... -Daopdemo.jdbc.password=...)
+	 * 
+	 * The JDBC driver of the database (H2, HSQLDB, Derby, ...) has to be put on
+	 * the classpath, there is none in lib/.
+	 */
+	@Configuration
+	@Profile("jdbc")
+	static class JdbcConfig {
+
+		@Bean
+		public DataSource dataSource() {
+
+			String url = System.getProperty("aopdemo.jdbc.url");
+
+			if (url == null) {
+				throw new IllegalStateException("the \"jdbc\" profile needs -Daopdemo.jdbc.url=<jdbc url>");
+			}
+
+			return new DriverManagerDataSource(url, System.getProperty("aopdemo.jdbc.user", ""),
+					System.getProperty("aopdemo.jdbc.password", ""));
+		}
+
+		@Bean
+		public JdbcAccountRepository jdbcAccountRepository(DataSource dataSource) {
+
+			JdbcAccountRepository repository = new JdbcAccountRepository(dataSource);
+			repository.createTableIfMissing();
+			return repository;
+		}
+	}
+
+	/*
+	 * With the "mapped" profile AccountDAO keeps its accounts in a
+	 * memory-mapped file (see MappedAccountFile) instead of the in-memory
+	 * store, so they survive restarts:
+	 * 
+	 *   -Dspring.profiles.active=mapped -Daopdemo.mapped.file=accounts.dat
+	 * 
+	 * (default: aopdemo-accounts.dat in the temp directory). A new file gets
+	 * the demo accounts.
+	 */
+	@Configuration
+	@Profile("mapped")
+	static class MappedFileConfig {
+
+		@Bean(destroyMethod = "close")
+		public MappedAccountFile mappedAccountFile() {
+
+			Path path = Paths.get(System.getProperty("aopdemo.mapped.file",
+					Paths.get(System.getProperty("java.io.tmpdir"), "aopdemo-accounts.dat").toString()));
+
+			MappedAccountFile file = MappedAccountFile.open(path);
+
+			if (file.size() == 0) {
+				file.saveAll(AccountStore.withDemoAccounts().findAll());
+			}
+
+			return file;
+		}
+	}
+
+	/*
+	 * The logger used by all the aspects. The overflow policy can be changed
+	 * with -Daopdemo.log.overflow=DROP|BLOCK|SAMPLE. DROP by default: an
+	 * advised call never waits for the console, BLOCK keeps every line.
+	 */
+	@Bean(destroyMethod = "close")
+	public AsyncLogger asyncLogger() {
+
+		OverflowPolicy overflowPolicy = OverflowPolicy.valueOf(
+				System.getProperty("aopdemo.log.overflow", OverflowPolicy.DROP.name()));
+
+		int capacity = Integer.getInteger("aopdemo.log.capacity", AsyncLogger.DEFAULT_CAPACITY);
+
+		return new AsyncLogger(new PrintStreamLogSink(System.out), capacity, overflowPolicy);
+	}
+
+	@Bean
+	public AccountStore accountStore() {
+		return AccountStore.withDemoAccounts();
+	}
+
+	/*
+	 * The bounded thread pool used by MyAsyncAspect for @AsyncCall methods.
+	 * When all threads are busy and the queue is full new calls are rejected
+	 * (and get their fallback) instead of piling up.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ThreadPoolExecutor adviceExecutor() {
+
+		int threads = Integer.getInteger("aopdemo.async.threads", Runtime.getRuntime().availableProcessors() * 4);
+		int queueSize = Integer.getInteger("aopdemo.async.queue", 1000);
+
+		AtomicInteger threadNumber = new AtomicInteger();
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueSize), runnable -> {
+
+					Thread thread = new Thread(runnable, "aopdemo-async-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
 }
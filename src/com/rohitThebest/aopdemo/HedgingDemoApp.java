@@ -0,0 +1,83 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.resilience.Deadline;
+import com.rohitThebest.aopdemo.resilience.DeadlineExceededException;
+import com.rohitThebest.aopdemo.resilience.HedgingRegistry;
+import com.rohitThebest.aopdemo.service.TrafficFortuneService;
+
+public class HedgingDemoApp {
+
+	private static final int CALLS = 200;
+
+	public static void main(String[] args) {
+
+		// the per call log lines are not interesting here
+		System.setProperty("aopdemo.sampling.forDaoPackage", "1/1000");
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the beans from spring container
+		TrafficFortuneService fortuneService =
+				context.getBean("trafficFortuneService", TrafficFortuneService.class);
+		HedgingRegistry hedgingRegistry = context.getBean(HedgingRegistry.class);
+
+		// one road report in 20 takes a second, unless the slow call is hedged
+		long[] latencies = new long[CALLS];
+
+		for (int i = 0; i < CALLS; i++) {
+
+			long begin = System.nanoTime();
+			fortuneService.getRoadReport("A" + i);
+			latencies[i] = System.nanoTime() - begin;
+		}
+
+		System.out.println("\nMain program : HedgingDemoApp");
+		System.out.println("-----");
+
+		// the first calls are not hedged yet, the aspect is still learning the latencies
+		long[] learning = Arrays.copyOfRange(latencies, 0, 20);
+		long[] hedged = Arrays.copyOfRange(latencies, 20, CALLS);
+
+		System.out.println("learning : max " + TimeUnit.NANOSECONDS.toMillis(max(learning)) + " ms");
+		System.out.println("hedged   : max " + TimeUnit.NANOSECONDS.toMillis(max(hedged)) + " ms");
+
+		// a budget of 100 ms for a whole batch of calls: the calls after it give up
+		int completed = 0;
+
+		Deadline.Scope scope = Deadline.within(100, TimeUnit.MILLISECONDS);
+
+		try (scope) {
+
+			for (int i = 0; i < CALLS; i++) {
+
+				fortuneService.getRoadReport("B" + i);
+				completed++;
+			}
+		} catch (DeadlineExceededException e) {
+
+			System.out.println("\nafter " + completed + " road reports : " + e.getMessage());
+		}
+
+		System.out.println("\n" + hedgingRegistry.report());
+
+		// close the context
+		context.close();
+	}
+
+	private static long max(long[] values) {
+		return Arrays.stream(values).max().orElse(0);
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.dao.MembershipDAO;
+import com.rohitThebest.aopdemo.load.LoadDriver;
+import com.rohitThebest.aopdemo.load.LoadSettings;
+import com.rohitThebest.aopdemo.membership.Membership;
+import com.rohitThebest.aopdemo.metrics.MethodMetricsRegistry;
+import com.rohitThebest.aopdemo.service.TrafficFortuneService;
+
+/*
+ * Not a demo of one advice, but many threads calling the advised beans at
+ * once, to see how the whole aspect chain holds up under contention. The
+ * context is the one of the other apps (DemoConfig), so the profiles and the
+ * aopdemo.* properties apply here too.
+ * 
+ * The threads, rate, duration and call mix are set with the aopdemo.load.*
+ * properties (see LoadSettings), e.g.
+ * 
+ *   -Daopdemo.load.threads=32 -Daopdemo.load.rate=20000 -Daopdemo.load.seconds=30
+ *   -Daopdemo.load.mix=account.find=50,membership.add=50
+ * 
+ * The operations of the mix are the ones registered in calls() below.
+ */
+public class LoadDriverApp {
+
+	private static final String DEFAULT_MIX = "account.find=25,account.list=5,account.add=10,account.fail=2,"
+			+ "membership.check=30,membership.add=8,membership.remove=8,membership.bulk=5,"
+			+ "fortune.get=5,fortune.road=2";
+
+	// the calls work on a fixed set of names, so the stores do not grow with the duration
+	private static final int NAMES = 1000;
+
+	private static final String[] LEVELS = { "Platinum", "Gold", "Silver" };
+
+	public static void main(String[] args) throws InterruptedException {
+
+		LoadSettings settings = LoadSettings.fromSystemProperties(DEFAULT_MIX);
+
+		// the DAOs and the advices print on every call: under load the console
+		// would be the bottleneck, so it is muted unless asked for
+		PrintStream stdout = System.out;
+
+		if (!settings.isConsole()) {
+			System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		}
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the beans from spring container
+		AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+		MembershipDAO membershipDAO = context.getBean("membershipDAO", MembershipDAO.class);
+		TrafficFortuneService fortuneService =
+				context.getBean("trafficFortuneService", TrafficFortuneService.class);
+
+		LoadDriver driver = new LoadDriver(settings, calls(accountDao, membershipDAO, fortuneService));
+
+		stdout.println("\nMain program : LoadDriverApp");
+		stdout.println("-----");
+		stdout.println(settings + "\n");
+
+		// fill the fortune cache first: the first call takes 5 seconds, the
+		// workers waiting for it would be behind their schedule for the whole run
+		if (settings.getMix().containsKey("fortune.get")) {
+			fortuneService.getFortune();
+		}
+
+		String report = driver.run();
+
+		// what the advices saw of the same calls, per method
+		report += "\n\n" + context.getBean(MethodMetricsRegistry.class).report();
+
+		// close the context
+		context.close();
+
+		System.setOut(stdout);
+		System.out.println(report);
+	}
+
+	private static Map<String, LoadDriver.Call> calls(AccountDAO accountDao, MembershipDAO membershipDAO,
+			TrafficFortuneService fortuneService) {
+
+		Map<String, LoadDriver.Call> calls = new LinkedHashMap<>();
+
+		calls.put("account.find", () -> accountDao.findByName(name()));
+		calls.put("account.list", () -> accountDao.findAccounts(false));
+		calls.put("account.add", () -> {
+
+			accountDao.addAccount(new Account(name(), level()));
+			return null;
+		});
+
+		// always throws, to load the exception advices
+		calls.put("account.fail", () -> accountDao.findAccounts(true));
+
+		calls.put("membership.check", () -> membershipDAO.isMember(name()));
+		calls.put("membership.add", () -> membershipDAO.addMember(new Membership(name(), level())));
+		calls.put("membership.remove", () -> membershipDAO.removeMember(name()));
+		calls.put("membership.bulk", () -> {
+
+			List<String> members = new ArrayList<>(20);
+
+			for (int i = 0; i < 20; i++) {
+				members.add(name());
+			}
+
+			return membershipDAO.areMembers(members);
+		});
+
+		// cached after the first call, which takes 5 seconds
+		calls.put("fortune.get", fortuneService::getFortune);
+
+		// 10 to 20 ms, hedged when slower
+		calls.put("fortune.road", () -> fortuneService.getRoadReport(name()));
+
+		return calls;
+	}
+
+	private static String name() {
+		return "member" + ThreadLocalRandom.current().nextInt(NAMES);
+	}
+
+	private static String level() {
+		return LEVELS[ThreadLocalRandom.current().nextInt(LEVELS.length)];
+	}
+}
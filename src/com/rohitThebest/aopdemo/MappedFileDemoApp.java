@@ -0,0 +1,52 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+
+public class MappedFileDemoApp {
+
+	public static void main(String[] args) throws IOException {
+
+		// the accounts go to a memory-mapped file (see DemoConfig.MappedFileConfig)
+		Path file = Files.createTempFile("aopdemo-accounts", ".dat");
+		Files.delete(file);
+
+		System.setProperty("spring.profiles.active", "mapped");
+		System.setProperty("aopdemo.mapped.file", file.toString());
+
+		// first run: add an account, then close everything
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+		accountDao.addAccount(new Account("Madhu", "Platinum"), true);
+
+		context.close();
+
+		// second run: the accounts are read back from the file
+		context = new AnnotationConfigApplicationContext(DemoConfig.class);
+		accountDao = context.getBean("accountDAO", AccountDAO.class);
+
+		System.out.println("\nMain program : MappedFileDemoApp");
+		System.out.println("-----");
+		System.out.println("accounts after a restart : " + accountDao.findAccounts(false));
+		System.out.println("Madhu : " + accountDao.findByName("Madhu"));
+
+		// close the context
+		context.close();
+
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".idx"));
+	}
+
+}
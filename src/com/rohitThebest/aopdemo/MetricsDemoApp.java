@@ -0,0 +1,77 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.dao.MembershipDAO;
+import com.rohitThebest.aopdemo.metrics.LatencyRegistry;
+import com.rohitThebest.aopdemo.metrics.MethodMetricsRegistry;
+import com.rohitThebest.aopdemo.service.TrafficFortuneService;
+
+public class MetricsDemoApp {
+
+	public static void main(String[] args) throws JMException {
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the beans from spring container
+		AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+		MembershipDAO membershipDAO = context.getBean("membershipDAO", MembershipDAO.class);
+		TrafficFortuneService fortuneService =
+				context.getBean("trafficFortuneService", TrafficFortuneService.class);
+
+		LatencyRegistry latencyRegistry = context.getBean(LatencyRegistry.class);
+		MethodMetricsRegistry methodMetricsRegistry = context.getBean(MethodMetricsRegistry.class);
+
+		// call some advised methods, every call is recorded by MyLatencyMetricsAspect
+		for (int i = 0; i < 100; i++) {
+
+			accountDao.addAccount(new Account("Rohit", "Platinum"), i % 2 == 0);
+			accountDao.findAccounts(false);
+			membershipDAO.addAnything();
+		}
+
+		try {
+			fortuneService.getFortune(true);
+		} catch (Exception e) {
+			System.out.println("\nMain program... caught exception: " + e);
+		}
+
+		fortuneService.getFortune();
+
+		// display the latency percentiles per join point
+		System.out.println("\nMain program : MetricsDemoApp");
+		System.out.println("-----");
+		System.out.println(latencyRegistry.report());
+
+		// the calls, errors and last exception too, as an API ...
+		System.out.println("\n" + methodMetricsRegistry.report());
+
+		// ... and over JMX, like jconsole would read them
+		MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName getFortune = new ObjectName(MethodMetricsRegistry.METHOD_OBJECT_NAME
+				+ ObjectName.quote("com.rohitThebest.aopdemo.service.TrafficFortuneService.getFortune(boolean)"));
+
+		System.out.println("\nJMX " + getFortune + ":");
+		System.out.println("  Calls = " + mbeanServer.getAttribute(getFortune, "Calls"));
+		System.out.println("  Errors = " + mbeanServer.getAttribute(getFortune, "Errors"));
+		System.out.println("  LastException = " + mbeanServer.getAttribute(getFortune, "LastException"));
+
+		// close the context
+		context.close();
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.pointcut.PointcutInspector;
+import com.rohitThebest.aopdemo.pointcut.PointcutMatches;
+
+public class PointcutReportDemoApp {
+
+	public static void main(String[] args) {
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the inspector from spring container
+		PointcutInspector inspector = context.getBean(PointcutInspector.class);
+
+		// the pointcuts of AOPExpressions, with the methods they match and the matching cost
+		System.out.println("\nMain program : PointcutReportDemoApp");
+		System.out.println("-----");
+		System.out.println(inspector.report());
+
+		// any other expression can be checked too
+		PointcutMatches finders = inspector.inspect(
+				"execution(* com.rohitThebest.aopdemo.dao.*.find*(..)) && !execution(* *(boolean))");
+
+		System.out.println("\n" + finders);
+
+		// close the context
+		context.close();
+	}
+
+}
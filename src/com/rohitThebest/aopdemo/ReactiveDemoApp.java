@@ -0,0 +1,117 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.errors.ExceptionRegistry;
+import com.rohitThebest.aopdemo.metrics.LatencyRegistry;
+import com.rohitThebest.aopdemo.reactive.Publishers;
+import com.rohitThebest.aopdemo.service.TrafficFortuneService;
+
+public class ReactiveDemoApp {
+
+	public static void main(String[] args) throws Exception {
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the beans from spring container
+		AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+		TrafficFortuneService fortuneService =
+				context.getBean("trafficFortuneService", TrafficFortuneService.class);
+
+		LatencyRegistry latencyRegistry = context.getBean(LatencyRegistry.class);
+		ExceptionRegistry exceptionRegistry = context.getBean(ExceptionRegistry.class);
+
+		System.out.println("\nMain program : ReactiveDemoApp");
+		System.out.println("-----");
+
+		// 100 concurrent fortunes of 5 seconds each: none of them holds a thread while it waits
+		int threadsBefore = Thread.activeCount();
+		long begin = System.nanoTime();
+		List<CompletableFuture<String>> fortunes = new ArrayList<>();
+
+		for (int i = 0; i < 100; i++) {
+			fortunes.add(fortuneService.getFortuneReactive());
+		}
+
+		System.out.println("100 fortunes requested, live threads: " + threadsBefore + " -> " + Thread.activeCount());
+
+		CompletableFuture.allOf(fortunes.toArray(new CompletableFuture<?>[0])).join();
+
+		System.out.println("100 fortunes received in " + (System.nanoTime() - begin) / 1_000_000 + " ms: "
+				+ fortunes.get(0).join());
+
+		// the error is a signal of the future, the call returned normally
+		try {
+			fortuneService.getFortuneReactive(true).join();
+		} catch (Exception e) {
+			System.out.println("\nMain program... caught exception: " + e.getCause());
+		}
+
+		// the accounts are read on subscription, one at a time as they are requested
+		CountDownLatch done = new CountDownLatch(1);
+
+		accountDao.findAccountsReactive(false).subscribe(new Flow.Subscriber<Account>() {
+
+			private Flow.Subscription subscription;
+
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+
+				this.subscription = subscription;
+				subscription.request(1);
+			}
+
+			@Override
+			public void onNext(Account account) {
+
+				System.out.println("onNext: " + account);
+				subscription.request(1);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+
+				System.out.println("onError: " + throwable);
+				done.countDown();
+			}
+
+			@Override
+			public void onComplete() {
+
+				System.out.println("onComplete");
+				done.countDown();
+			}
+		});
+
+		done.await();
+
+		try {
+			Publishers.toList(accountDao.findAccountsReactive(true)).join();
+		} catch (Exception e) {
+			System.out.println("\nMain program... caught exception: " + e.getCause());
+		}
+
+		// the latency of the reactive methods is the time to their signal, not to the return
+		System.out.println();
+		System.out.println(latencyRegistry.report());
+		System.out.println(exceptionRegistry.report());
+
+		// close the context
+		context.close();
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.sampling.SamplingRegistry;
+
+public class SamplingDemoApp {
+
+	public static void main(String[] args) {
+
+		// the same as -Daopdemo.sampling.forDaoPackage=1/10 on the command line
+		System.setProperty("aopdemo.sampling.forDaoPackage", "1/10");
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the beans from spring container
+		AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+		SamplingRegistry samplingRegistry = context.getBean(SamplingRegistry.class);
+
+		// and at most 5 calls per second for the logging advice, set at runtime
+		samplingRegistry.setPolicy("forDaoPackageNotGetterSetter", "5/s");
+
+		for (int i = 0; i < 50; i++) {
+			accountDao.doWork();
+		}
+
+		// errors are never sampled: the @AfterThrowing advice logs every one
+		for (int i = 0; i < 3; i++) {
+
+			try {
+				accountDao.findAccounts(true);
+			} catch (RuntimeException e) {
+				// expected
+			}
+		}
+
+		System.out.println("\nMain program : SamplingDemoApp");
+		System.out.println("-----");
+		System.out.println(samplingRegistry.report());
+
+		// close the context
+		context.close();
+	}
+
+}
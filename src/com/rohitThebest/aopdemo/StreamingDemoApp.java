@@ -0,0 +1,50 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.store.AccountPage;
+
+public class StreamingDemoApp {
+
+	public static void main(String[] args) {
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the bean from spring container
+		AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+
+		accountDao.addAccount(new Account("Amit", "Silver"));
+		accountDao.addAccount(new Account("Neha", "Gold"));
+
+		System.out.println("\nMain program : StreamingDemoApp");
+		System.out.println("-----");
+
+		// walk all the accounts, two at a time
+		String cursor = null;
+
+		do {
+
+			AccountPage page = accountDao.findAccountsPage(cursor, 2);
+			System.out.println("page: " + page.getAccounts());
+
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		// the names are upper-cased by the advice while the stream is consumed
+		accountDao.streamAccounts()
+				.filter(account -> account.getLevel().equals("Gold"))
+				.forEach(account -> System.out.println("stream: " + account));
+
+		// close the context
+		context.close();
+	}
+
+}
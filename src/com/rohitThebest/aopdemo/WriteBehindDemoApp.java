@@ -0,0 +1,73 @@
+package com.rohitThebest.aopdemo;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.writebehind.AccountWriteBehind;
+
+public class WriteBehindDemoApp {
+
+	private static final int THREADS = 4;
+	private static final int ACCOUNTS_PER_THREAD = 1000;
+
+	public static void main(String[] args) throws InterruptedException {
+
+		// only a few of the per call log lines, there are thousands of calls
+		System.setProperty("aopdemo.sampling.forDaoPackage", "1/1000");
+		System.setProperty("aopdemo.sampling.forDaoPackageNotGetterSetter", "1/1000");
+
+		// read spring config java class
+		AnnotationConfigApplicationContext context =
+				new AnnotationConfigApplicationContext(DemoConfig.class);
+
+		// get the beans from spring container
+		AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+		AccountWriteBehind writeBehind = context.getBean(AccountWriteBehind.class);
+
+		// many callers adding one account at a time
+		List<Thread> threads = new ArrayList<>();
+
+		for (int t = 0; t < THREADS; t++) {
+
+			int threadNumber = t;
+
+			Thread thread = new Thread(() -> {
+
+				for (int i = 0; i < ACCOUNTS_PER_THREAD; i++) {
+					accountDao.addAccount(new Account("Customer-" + threadNumber + "-" + i, "Silver"));
+				}
+			});
+
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// a vip account is written before addAccount() returns
+		accountDao.addAccount(new Account("Madhu", "Platinum"), true);
+
+		System.out.println("\nMain program : WriteBehindDemoApp");
+		System.out.println("-----");
+
+		// reads write what is still queued first
+		System.out.println("accounts in the store : " + accountDao.streamAccounts().count());
+		System.out.println("vip account : " + accountDao.findByName("Madhu"));
+
+		System.out.println("\n" + writeBehind.stats());
+
+		// close the context
+		context.close();
+	}
+
+}
@@ -83,6 +83,14 @@ public class AOPExpressions {
 	@Pointcut("execution(* com.rohitThebest.aopdemo.dao.*.*(..))")
 	public void forDaoPackage() {
 	}
+
+	/*
+	 * Same as forDaoPackage() but for the classes of the package
+	 * com.rohitThebest.aopdemo.service
+	 */
+	@Pointcut("execution(* com.rohitThebest.aopdemo.service.*.*(..))")
+	public void forServicePackage() {
+	}
 	
 	// ---------------------------
 	
@@ -100,4 +108,15 @@ public class AOPExpressions {
 
 	// ----------------------------
 
+	/*
+	 * The methods whose arguments the typed @Before advices of
+	 * MyDemoLoggingAspect take through args() instead of JoinPoint.getArgs():
+	 * no argument, an Account, an Account and a boolean, or a boolean
+	 */
+	@Pointcut("execution(* *()) || execution(* *(com.rohitThebest.aopdemo.Account))"
+			+ " || execution(* *(com.rohitThebest.aopdemo.Account, boolean)) || execution(* *(boolean))")
+	public void typedArguments() {}
+
+	// ----------------------------
+
 }
@@ -0,0 +1,161 @@
+package com.rohitThebest.aopdemo.aspect;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.reflect.MethodSignature;
+
+import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.log.LogEvent;
+import com.rohitThebest.aopdemo.log.LogTemplate;
+
+/*
+ * Renders the "method + arguments" message of beforeAddAccountAdvice.
+ * 
+ * One formatter is built per Method, the first time it is advised, and then
+ * cached: the "Method: ..." header string and which parameters are Accounts
+ * are worked out only once.
+ * 
+ * capture() copies just the argument values into a small array (for an
+ * Account its name and level, since the Account itself may be changed before
+ * the event is rendered) and returns a LogEvent. The text is only produced
+ * by the logger's drainer thread, into the logger's reusable buffer, if the
+ * event is emitted at all.
+ * 
+ * The typed advices, whose arguments are bound by args(), need not even that
+ * array: for a method with at most an Account and a boolean the formatter is
+ * itself the LogTemplate, and the account's name and level and the flag are
+ * its arguments.
+ */
+final class ArgumentFormatter implements LogTemplate {
+
+	// stands for a null Account in the name argument of the template
+	private static final Object NULL_ACCOUNT = new Object();
+
+	private static final Map<Method, ArgumentFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+	private final String header;
+	private final boolean[] accountParameters;
+	private final int slotCount;
+
+	private ArgumentFormatter(String prefix, MethodSignature methodSignature) {
+
+		this.header = prefix + "\nMethod: " + methodSignature;
+
+		Class<?>[] parameterTypes = methodSignature.getParameterTypes();
+		this.accountParameters = new boolean[parameterTypes.length];
+
+		int slots = 0;
+
+		for (int i = 0; i < parameterTypes.length; i++) {
+
+			accountParameters[i] = Account.class.isAssignableFrom(parameterTypes[i]);
+
+			// an Account takes three slots: itself, its name and its level
+			slots += accountParameters[i] ? 3 : 1;
+		}
+
+		this.slotCount = slots;
+	}
+
+	static ArgumentFormatter forMethod(String prefix, MethodSignature methodSignature) {
+
+		Method method = methodSignature.getMethod();
+		ArgumentFormatter formatter = FORMATTERS.get(method);
+
+		if (formatter == null) {
+			formatter = FORMATTERS.computeIfAbsent(method, m -> new ArgumentFormatter(prefix, methodSignature));
+		}
+
+		return formatter;
+	}
+
+	LogEvent capture(Object[] args) {
+
+		Object[] slots = new Object[slotCount];
+		int slot = 0;
+
+		for (int i = 0; i < accountParameters.length; i++) {
+
+			Object arg = args[i];
+
+			if (accountParameters[i] && arg != null) {
+
+				Account account = (Account) arg;
+
+				slots[slot++] = arg;
+				slots[slot++] = account.getName();
+				slots[slot++] = account.getLevel();
+			} else {
+
+				slots[slot] = arg;
+				slot += accountParameters[i] ? 3 : 1;
+			}
+		}
+
+		return out -> render(slots, out);
+	}
+
+	static Object nameOf(Account account) {
+		return account != null ? account.getName() : NULL_ACCOUNT;
+	}
+
+	static Object levelOf(Account account) {
+		return account != null ? account.getLevel() : null;
+	}
+
+	/*
+	 * name, level: nameOf() and levelOf() the Account parameter, flag: the
+	 * boolean parameter (1 or 0)
+	 */
+	@Override
+	public void renderTo(StringBuilder out, Object name, Object level, long flag) {
+
+		out.append(header);
+
+		for (boolean accountParameter : accountParameters) {
+
+			if (!accountParameter) {
+				out.append('\n').append(flag != 0);
+			} else if (name == NULL_ACCOUNT) {
+				out.append("\nnull");
+			} else {
+				appendAccount(out, name, level);
+			}
+		}
+	}
+
+	private void render(Object[] slots, StringBuilder out) {
+
+		out.append(header);
+
+		int slot = 0;
+
+		for (int i = 0; i < accountParameters.length; i++) {
+
+			if (accountParameters[i] && slots[slot] != null) {
+				appendAccount(out, slots[slot + 1], slots[slot + 2]);
+			} else {
+				out.append('\n').append(slots[slot]);
+			}
+
+			slot += accountParameters[i] ? 3 : 1;
+		}
+	}
+
+	private static void appendAccount(StringBuilder out, Object name, Object level) {
+
+		// the same text as Account.toString(), from the captured values
+		out.append("\nAccount [name=").append(name).append(", level=").append(level).append(']');
+
+		// Account specific stuff
+		out.append("\naccount name : ").append(name);
+		out.append("\naccount level : ").append(level);
+	}
+}
@@ -0,0 +1,47 @@
+package com.rohitThebest.aopdemo.aspect;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+
+/*
+ * For the aspects that continue a call on another thread.
+ * 
+ * With Spring proxies the chain is driven by a ProxyMethodInvocation that is
+ * only exposed on the caller's thread; a clone of it continues the chain
+ * after the current advice, and every clone can be run once. Without one
+ * (e.g. woven aspects) there is no chain to clone.
+ */
+final class InvocationChains {
+
+	private InvocationChains() {
+	}
+
+	// the rest of the advice chain, or null
+	static MethodInvocation remainingChain() {
+
+		try {
+
+			MethodInvocation current = ExposeInvocationInterceptor.currentInvocation();
+
+			return current instanceof ProxyMethodInvocation
+					? ((ProxyMethodInvocation) current).invocableClone()
+					: null;
+
+		} catch (IllegalStateException e) {
+
+			return null;
+		}
+	}
+
+	// re-exposes the invocation on this thread, the @Before / @After advices need it
+	static Object proceed(MethodInvocation chain) throws Throwable {
+
+		return ExposeInvocationInterceptor.INSTANCE.invoke(chain);
+	}
+}
@@ -7,17 +7,37 @@ package com.rohitThebest.aopdemo.aspect;
 
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import com.rohitThebest.aopdemo.log.AsyncLogger;
+import com.rohitThebest.aopdemo.sampling.AdviceSampler;
+import com.rohitThebest.aopdemo.sampling.SamplingRegistry;
+
 @Aspect
 @Component
-@Order(3)
+@Order(4)
 public class MyApiAnalyticsAspect {
 
+	@Autowired
+	private AsyncLogger logger;
+
+	private AdviceSampler sampler;
+
+	@Autowired
+	public void setSamplingRegistry(SamplingRegistry samplingRegistry) {
+
+		sampler = samplingRegistry.forAdvice("forDaoPackage", "MyApiAnalyticsAspect.performApiAnalyticsAdvice");
+	}
+
 	@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
 	public void performApiAnalyticsAdvice() {
 
-		System.out.println("\n=====>>> Executing @Before advice : MyApiAnalyticsAspect");
+		if (!sampler.shouldRun()) {
+			return;
+		}
+
+		logger.log("\n=====>>> Executing @Before advice : MyApiAnalyticsAspect");
 	}
 }
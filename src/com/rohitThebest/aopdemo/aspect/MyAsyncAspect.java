@@ -0,0 +1,148 @@
+package com.rohitThebest.aopdemo.aspect;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.async.AsyncCall;
+import com.rohitThebest.aopdemo.async.Fallbacks;
+import com.rohitThebest.aopdemo.resilience.Deadline;
+
+/*
+ * Runs the service methods annotated with @AsyncCall on the "adviceExecutor"
+ * thread pool and hands the caller a CompletableFuture right away, so the
+ * caller's thread is not held for the 5 seconds of getFortune().
+ * 
+ * This is the outermost of our aspects (@Order(0)): all the other advices
+ * (logging, caching, metrics) run on the worker thread together with the
+ * target method.
+ * 
+ * When the timeout of @AsyncCall fires the task is cancelled (interrupted, or
+ * never started if it is still queued), so a hung call does not keep a thread
+ * of the bounded pool.
+ */
+@Aspect
+@Component
+@Order(0)
+public class MyAsyncAspect {
+
+	@Autowired
+	@Qualifier("adviceExecutor")
+	private Executor executor;
+
+	@Around("com.rohitThebest.aopdemo.aspect.AOPExpressions.forServicePackage() && @annotation(asyncCall)")
+	public Object runAsync(ProceedingJoinPoint proceedingJoinPoint, AsyncCall asyncCall) {
+
+		Method method = ((MethodSignature) proceedingJoinPoint.getSignature()).getMethod();
+
+		if (!method.getReturnType().isAssignableFrom(CompletableFuture.class)) {
+			throw new IllegalStateException("@AsyncCall method must return a CompletableFuture: " + method);
+		}
+
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		FutureTask<Void> task = new FutureTask<>(workerTask(proceedingJoinPoint, future), null);
+
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+
+		if (asyncCall.timeout() > 0) {
+
+			future.orTimeout(asyncCall.timeout(), asyncCall.timeUnit());
+
+			// the caller has its TimeoutException, the worker thread is given back
+			future.whenComplete((result, failure) -> {
+
+				if (failure instanceof TimeoutException) {
+					task.cancel(true);
+				}
+			});
+		}
+
+		if (asyncCall.fallbackMethod().isEmpty()) {
+			return future;
+		}
+
+		return future.handle((result, failure) -> {
+
+			if (failure == null) {
+				return result;
+			}
+
+			Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+
+			if (!(cause instanceof TimeoutException || cause instanceof RejectedExecutionException)) {
+				throw failure instanceof CompletionException
+						? (CompletionException) failure
+						: new CompletionException(failure);
+			}
+
+			try {
+				return Fallbacks.invoke(proceedingJoinPoint.getTarget(), method,
+						asyncCall.fallbackMethod(), proceedingJoinPoint.getArgs());
+			} catch (Throwable e) {
+				throw new CompletionException(e);
+			}
+		});
+	}
+
+	private Runnable workerTask(ProceedingJoinPoint proceedingJoinPoint, CompletableFuture<Object> future) {
+
+		// the rest of the advice chain, taken on the caller thread
+		MethodInvocation invocation = InvocationChains.remainingChain();
+
+		// the caller's time budget goes with the call
+		Deadline deadline = Deadline.current();
+
+		return () -> {
+
+			Deadline.Scope scope = Deadline.attach(deadline);
+
+			try (scope) {
+
+				Object result = invocation != null
+						? InvocationChains.proceed(invocation)
+						: proceedingJoinPoint.proceed();
+
+				if (result instanceof CompletableFuture) {
+
+					((CompletableFuture<?>) result).whenComplete((value, failure) -> {
+
+						if (failure != null) {
+							future.completeExceptionally(failure);
+						} else {
+							future.complete(value);
+						}
+					});
+				} else {
+
+					future.complete(result);
+				}
+			} catch (Throwable e) {
+
+				future.completeExceptionally(e);
+			}
+		};
+	}
+}
@@ -0,0 +1,44 @@
+package com.rohitThebest.aopdemo.aspect;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.cache.Cached;
+import com.rohitThebest.aopdemo.cache.ResultCache;
+import com.rohitThebest.aopdemo.cache.ResultCacheRegistry;
+
+/*
+ * Caches the result of every method annotated with @Cached.
+ * 
+ * It runs after the logging aspects (so a cache hit is still logged and timed
+ * by aroundGetFortune) but before MyLatencyMetricsAspect, which therefore only
+ * records the real, uncached calls.
+ */
+@Aspect
+@Component
+@Order(5)
+public class MyCachingAspect {
+
+	@Autowired
+	private ResultCacheRegistry cacheRegistry;
+
+	// execution(...) keeps a woven build from also matching the call sites
+	@Around("execution(* *(..)) && @annotation(cached)")
+	public Object cacheResult(ProceedingJoinPoint proceedingJoinPoint, Cached cached) throws Throwable {
+
+		MethodSignature methodSignature = (MethodSignature) proceedingJoinPoint.getSignature();
+		ResultCache cache = cacheRegistry.cacheFor(methodSignature.getMethod(), cached);
+
+		return cache.get(proceedingJoinPoint.getArgs(), proceedingJoinPoint::proceed);
+	}
+}
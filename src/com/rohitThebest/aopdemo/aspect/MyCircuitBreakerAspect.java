@@ -0,0 +1,76 @@
+package com.rohitThebest.aopdemo.aspect;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.async.Fallbacks;
+import com.rohitThebest.aopdemo.resilience.Admission;
+import com.rohitThebest.aopdemo.resilience.Circuit;
+import com.rohitThebest.aopdemo.resilience.CircuitBreakerRegistry;
+
+/*
+ * Guards the service methods annotated with @CircuitBreaker: a call on an open
+ * circuit, or above the bulkhead limit, is rejected right here and gets the
+ * fallback result (or a CallNotPermittedException).
+ * 
+ * It runs right after MyAsyncAspect (so an @AsyncCall method is guarded on the
+ * worker thread, where its outcome is known) and before all the other aspects:
+ * a rejected call does not pay for logging, caching and metrics.
+ */
+@Aspect
+@Component
+@Order(1)
+public class MyCircuitBreakerAspect {
+
+	@Autowired
+	private CircuitBreakerRegistry circuitBreakerRegistry;
+
+	/*
+	 * The annotation is not bound as an advice parameter: with a binding Spring
+	 * has to match the pointcut again on every call, which alone costs more
+	 * than rejecting the call. The circuit reads the annotation once.
+	 */
+	@Around("com.rohitThebest.aopdemo.aspect.AOPExpressions.forServicePackage() && "
+			+ "@annotation(com.rohitThebest.aopdemo.resilience.CircuitBreaker)")
+	public Object guard(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+
+		Method method = ((MethodSignature) proceedingJoinPoint.getSignature()).getMethod();
+		Circuit circuit = circuitBreakerRegistry.circuitFor(method);
+
+		Admission admission = circuit.tryAcquire();
+
+		if (!admission.isPermitted()) {
+
+			if (circuit.getFallbackMethod().isEmpty()) {
+				throw circuit.rejection(admission);
+			}
+
+			return Fallbacks.invoke(proceedingJoinPoint.getTarget(), method, circuit.getFallbackMethod(),
+					proceedingJoinPoint.getArgs());
+		}
+
+		boolean failed = true;
+
+		try {
+
+			Object result = proceedingJoinPoint.proceed();
+			failed = false;
+			return result;
+		} finally {
+
+			circuit.onComplete(admission, failed);
+		}
+	}
+}
@@ -7,17 +7,37 @@ package com.rohitThebest.aopdemo.aspect;
 
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import com.rohitThebest.aopdemo.log.AsyncLogger;
+import com.rohitThebest.aopdemo.sampling.AdviceSampler;
+import com.rohitThebest.aopdemo.sampling.SamplingRegistry;
+
 @Aspect
 @Component
-@Order(1)
+@Order(2)
 public class MyCloudLogAsyncAspect {
 
+	@Autowired
+	private AsyncLogger logger;
+
+	private AdviceSampler sampler;
+
+	@Autowired
+	public void setSamplingRegistry(SamplingRegistry samplingRegistry) {
+
+		sampler = samplingRegistry.forAdvice("forDaoPackage", "MyCloudLogAsyncAspect.logToCloudAsync");
+	}
+
 	@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
 	public void logToCloudAsync() {
 
-		System.out.println("\n=====>>> Executing @Before advice : MyCloudLogAsyncAspect");
+		if (!sampler.shouldRun()) {
+			return;
+		}
+
+		logger.log("\n=====>>> Executing @Before advice : MyCloudLogAsyncAspect");
 	}
 }
@@ -6,6 +6,8 @@ package com.rohitThebest.aopdemo.aspect;
  */
 
 import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -16,12 +18,20 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import com.rohitThebest.aopdemo.Account;
-
-import sun.util.logging.resources.logging;
+import com.rohitThebest.aopdemo.errors.ExceptionRegistry;
+import com.rohitThebest.aopdemo.log.AsyncLogger;
+import com.rohitThebest.aopdemo.log.LogEvent;
+import com.rohitThebest.aopdemo.log.LogTemplate;
+import com.rohitThebest.aopdemo.metrics.MethodSignatures;
+import com.rohitThebest.aopdemo.reactive.ReactiveSignals;
+import com.rohitThebest.aopdemo.sampling.AdviceSampler;
+import com.rohitThebest.aopdemo.sampling.SamplingRegistry;
+import com.rohitThebest.aopdemo.store.AccountPage;
 
 /*
  * @Aspect:  This is a module which has a set of APIs providing 
@@ -36,20 +46,58 @@ import sun.util.logging.resources.logging;
  */
 @Aspect
 @Component
-@Order(2)
+@Order(3)
 public class MyDemoLoggingAspect {
 
-	@Around("execution (* com.rohitThebest.aopdemo.service.*.getFortune(..))")
+	private static final String BEFORE_PREFIX = "\n=====>>> Executing @Before advice : MyDemoLoggingAspect";
+
+	/*
+	 * The messages of the advices are constant templates, and the method names
+	 * in them are cached per Method (MethodSignatures.shortOf()): logging one
+	 * builds no string on the advised call (see LogTemplate)
+	 */
+	private static final LogTemplate EXECUTING = (out, advice, method, unused) -> out
+			.append("\n======> Executing ").append(advice).append(" on method: ").append(method);
+
+	private static final LogTemplate DURATION = (out, unused0, unused1, nanos) -> out
+			.append("\n====> Duration: ").append(nanos / 1_000_000_000.0).append(" seconds");
+
+	private static final LogTemplate COMPLETED = (out, method, unused, unused1) -> out
+			.append("\n======> ").append(method).append(" completed");
+
+	private static final LogTemplate PAGE_RETURNED = (out, method, nextCursor, size) -> out
+			.append("\n======> Executing @AfterReturning on method: ").append(method)
+			.append(" (").append(size).append(" accounts, next cursor: ").append(nextCursor).append(")");
+
+	// all the output goes through the async logger, never straight to System.out
+	@Autowired
+	private AsyncLogger logger;
+
+	// the first failures of a kind are logged, after that they are only counted there
+	@Autowired
+	private ExceptionRegistry exceptionRegistry;
+
+	// only the @Before logging of the hot dao calls is sampled, errors are always logged
+	private AdviceSampler beforeAddAccountSampler;
+
+	@Autowired
+	public void setSamplingRegistry(SamplingRegistry samplingRegistry) {
+
+		beforeAddAccountSampler = samplingRegistry.forAdvice(
+				"forDaoPackageNotGetterSetter", "MyDemoLoggingAspect.beforeAddAccountAdvice");
+	}
+
+	// getFortune*: the reactive variants too, their duration is logged when the future completes
+	@Around("execution (* com.rohitThebest.aopdemo.service.*.getFortune*(..))")
 	public Object aroundGetFortune(
 			ProceedingJoinPoint proceedingJoinPoint) throws Throwable
 	{
 		
 		// print out which method we are advising on
-		String method = proceedingJoinPoint.getSignature().toShortString();
-		System.out.println("\n======> Executing @Around on method: " + method);
+		logger.log(EXECUTING, "@Around", methodName(proceedingJoinPoint.getStaticPart()), 0);
 
-		// get begin timestamp
-		long begin = System.currentTimeMillis();
+		// get begin timestamp (nanoTime is monotonic, currentTimeMillis is not)
+		long begin = System.nanoTime();
 		
 		// execute the method
 		Object result = null;
@@ -59,32 +107,62 @@ public class MyDemoLoggingAspect {
 			result = proceedingJoinPoint.proceed();
 		} catch (Exception e) {
 
-			// log the exception
-			System.out.println("Exception : " + e.getMessage());
+			logException(proceedingJoinPoint, e);
 			
 			// re-throw the exception
 			throw e;
 		}
+
+		// a future is only assembled by now: log when it is done, without waiting for it
+		if (ReactiveSignals.isReactive(result)) {
+
+			return ReactiveSignals.whenTerminated(result, begin, (start, failure) -> {
+
+				if (failure != null) {
+					logException(proceedingJoinPoint, failure);
+				} else {
+					logDuration(start);
+				}
+			});
+		}
+		
+		logDuration(begin);
 		
+		return result;
+	}
+
+	private void logException(ProceedingJoinPoint proceedingJoinPoint, Throwable e) {
+
+		// log the exception (rendered by the logger thread, only the first few of a kind)
+		if (exceptionRegistry.isDetailed(((MethodSignature) proceedingJoinPoint.getSignature()).getMethod(), e)) {
+			LogEvent event = out -> out.append("Exception : ").append(e.getMessage());
+			logger.log(event);
+		}
+	}
+
+	private void logDuration(long begin) {
+
 		// get end timestamp
-		long end = System.currentTimeMillis();
+		long end = System.nanoTime();
 		
 		// compute duration and display
 		long duration = end - begin;
-		System.out.println("\n====> Duration: " + duration / 1000.0 + " seconds");
-		
-		return result;
+		logger.log(DURATION, null, null, duration);
+	}
+
+	// e.g. "AccountDAO.findAccounts(..)", the text of getSignature().toShortString(), built once
+	private static String methodName(JoinPoint.StaticPart staticPart) {
+		return MethodSignatures.shortOf(((MethodSignature) staticPart.getSignature()).getMethod());
 	}
 	
 	
 	
 	
 	@After("execution(* com.rohitThebest.aopdemo.dao.AccountDAO.findAccounts(..))")
-	public void afterFinallyFindAccountAdvice(JoinPoint joinPoint) {
+	public void afterFinallyFindAccountAdvice(JoinPoint.StaticPart staticPart) {
 		
 		// print out which method we are advising on
-		String method = joinPoint.getSignature().toShortString();
-		System.out.println("\n======> Executing @After (finally) on method: " + method);
+		logger.log(EXECUTING, "@After (finally)", methodName(staticPart), 0);
 
 		
 	}
@@ -95,16 +173,23 @@ public class MyDemoLoggingAspect {
 		throwing = "theExec"
 			)
 	public void afterThrowingFindAccountAdvice(
-			JoinPoint joinPoint, Throwable theExec
+			JoinPoint.StaticPart staticPart, Throwable theExec
 			) {
 		
 		
-		// print out which method we are advising on
-		String method = joinPoint.getSignature().toShortString();
-		System.out.println("\n======> Executing @AfterThrowing on method: " + method);
+		// a failure storm is counted by the ExceptionRegistry, not logged line by line
+		if (!exceptionRegistry.isDetailed(((MethodSignature) staticPart.getSignature()).getMethod(), theExec)) {
+			return;
+		}
+
+		// print out which method we are advising on, and the exception
+		String method = methodName(staticPart);
+
+		LogEvent event = out -> out
+				.append("\n======> Executing @AfterThrowing on method: ").append(method)
+				.append("\n\n======> The exeption is: ").append(theExec);
 
-		// log the exception
-		System.out.println("\n======> The exeption is: " + theExec);
+		logger.log(event);
 	}
 	
 
@@ -118,15 +203,29 @@ public class MyDemoLoggingAspect {
 			pointcut = "execution(* com.rohitThebest.aopdemo.dao.AccountDAO.findAccounts(..))",
 			returning = "result")
 	public void afterReturningFindAccountsAdvice(
-			JoinPoint joinPoint, List<Account> result) {
+			JoinPoint.StaticPart staticPart, List<Account> result) {
 		
 		
 		// print out which method we are advising on
-		String method = joinPoint.getSignature().toShortString();
-		System.out.println("\n======> Executing @AfterReturning on method: " + method);
+		logger.log(EXECUTING, "@AfterReturning", methodName(staticPart), 0);
 		
-		// print out the results of the method call
-		System.out.println("\n====> result is: " + result);
+		// print out the results of the method call: the names and levels are
+		// captured as they are now, the text is built on the drainer thread
+		String[] names = null;
+		String[] levels = null;
+
+		if (logger.isEnabled()) {
+
+			names = new String[result.size()];
+			levels = new String[result.size()];
+
+			for (int i = 0; i < names.length; i++) {
+				names[i] = result.get(i).getName();
+				levels[i] = result.get(i).getLevel();
+			}
+
+			logger.log(accountsResult(names, levels, false));
+		}
 		
 		
 		// let's post-process the data and modify it
@@ -139,9 +238,105 @@ public class MyDemoLoggingAspect {
 			tempAccount.setName(upperCaseName);
 		}
 		
-		System.out.println("\n====> result is: " + result);
+		if (names != null) {
+			logger.log(accountsResult(names, levels, true));
+		}
+	}
+
+	// "\n====> result is: " and the accounts like List.toString(), the names upper-cased like above
+	private static LogEvent accountsResult(String[] names, String[] levels, boolean upperCase) {
+
+		return out -> {
+
+			out.append("\n====> result is: [");
+
+			for (int i = 0; i < names.length; i++) {
+
+				if (i > 0) {
+					out.append(", ");
+				}
+
+				out.append("Account [name=").append(upperCase ? names[i].toUpperCase() : names[i])
+						.append(", level=").append(levels[i]).append(']');
+			}
+
+			out.append(']');
+		};
 	}
 	
+
+	/*
+	 * The same post-processing for a page of accounts: a page is small, so it
+	 * is logged and walked once.
+	 */
+	@AfterReturning(
+			pointcut = "execution(* com.rohitThebest.aopdemo.dao.AccountDAO.findAccountsPage(..))",
+			returning = "page")
+	public void afterReturningFindAccountsPageAdvice(JoinPoint.StaticPart staticPart, AccountPage page) {
+
+		logger.log(PAGE_RETURNED, methodName(staticPart), page.getNextCursor(), page.getAccounts().size());
+
+		for (Account tempAccount : page.getAccounts()) {
+			upperCaseName(tempAccount);
+		}
+	}
+
+	/*
+	 * And for a stream of accounts: an @AfterReturning advice cannot replace
+	 * the result, so this is an @Around advice that returns the stream with
+	 * the post-processing added as a lazy map() step. Each account is
+	 * converted when the caller consumes it, nothing is collected or printed
+	 * as a whole.
+	 */
+	@Around("execution(java.util.stream.Stream com.rohitThebest.aopdemo.dao.AccountDAO.streamAccounts(..))")
+	public Object aroundStreamAccountsAdvice(
+			ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+
+		logger.log(EXECUTING, "@Around (lazy @AfterReturning)", methodName(proceedingJoinPoint.getStaticPart()), 0);
+
+		@SuppressWarnings("unchecked")
+		Stream<Account> result = (Stream<Account>) proceedingJoinPoint.proceed();
+
+		return result.map(MyDemoLoggingAspect::upperCaseName);
+	}
+
+	/*
+	 * And for a publisher of accounts: the same lazy conversion, and the
+	 * @AfterReturning / @AfterThrowing logging is done when the publisher
+	 * completes or fails, i.e. when the accounts were actually read.
+	 */
+	@Around("execution(java.util.concurrent.Flow.Publisher com.rohitThebest.aopdemo.dao.AccountDAO.findAccountsReactive(..))")
+	public Object aroundFindAccountsReactiveAdvice(
+			ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+
+		String method = methodName(proceedingJoinPoint.getStaticPart());
+		logger.log(EXECUTING, "@Around (on signals)", method, 0);
+
+		@SuppressWarnings("unchecked")
+		Flow.Publisher<Account> result = (Flow.Publisher<Account>) proceedingJoinPoint.proceed();
+
+		return ReactiveSignals.whenTerminated(ReactiveSignals.map(result, MyDemoLoggingAspect::upperCaseName),
+				(begin, failure) -> {
+
+					if (failure == null) {
+						logger.log(COMPLETED, method);
+					} else if (exceptionRegistry.isDetailed(
+							((MethodSignature) proceedingJoinPoint.getSignature()).getMethod(), failure)) {
+
+						LogEvent event = out -> out
+								.append("\n======> ").append(method).append(" failed")
+								.append("\n\n======> The exeption is: ").append(failure);
+
+						logger.log(event);
+					}
+				});
+	}
+
+	private static Account upperCaseName(Account account) {
+
+		account.setName(account.getName().toUpperCase());
+		return account;
+	}
 	
 	
 	// this is where we add all of our related advices for logging
@@ -149,35 +344,92 @@ public class MyDemoLoggingAspect {
 	/*
 	 * @Before: It is an advice type which ensures that an advice runs before the
 	 * method execution.
+	 * 
+	 * This one logs the dao methods with any other arguments: it takes them
+	 * all from joinPoint.getArgs(), which copies them into a new array, and
+	 * captures them into a LogEvent. The dao methods with no argument, an
+	 * Account and / or a boolean are logged by the typed advices below.
 	 */
-	@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackageNotGetterSetter()")
+	@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackageNotGetterSetter()"
+			+ " && !com.rohitThebest.aopdemo.aspect.AOPExpressions.typedArguments()")
 	public void beforeAddAccountAdvice(JoinPoint joinPoint) {
 
-		System.out.println("\n=====>>> Executing @Before advice : MyDemoLoggingAspect");
+		// nothing is captured or formatted if the message would not be logged
+		if (!shouldLogBefore()) {
+			return;
+		}
 
-		// display the method signature
+		// display the method signature and the method arguments (and Account
+		// specific stuff): the formatter is built once per method, the text is
+		// only rendered by the logger thread (see ArgumentFormatter)
 		MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
 
-		System.out.println("Method: " + methodSignature);
+		ArgumentFormatter formatter = ArgumentFormatter.forMethod(BEFORE_PREFIX, methodSignature);
+
+		logger.log(formatter.capture(joinPoint.getArgs()));
+	}
+
+	/*
+	 * The typed advices: the arguments are bound to typed parameters by args()
+	 * and the method comes from the JoinPoint.StaticPart, so no argument array
+	 * is copied, nothing is boxed, and the ArgumentFormatter of the method is
+	 * the LogTemplate of the message. Where the StaticPart and the bindings
+	 * cost nothing (compile-time or load-time weaving, or fused @Before advices,
+	 * see FusingAdvisorChainFactory) these advices allocate nothing at all.
+	 * 
+	 * Each args() comes with the execution() of the same parameters: args()
+	 * alone would also match an argument declared as an interface (a List
+	 * might be an Account), and test it on every call.
+	 */
+	@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackageNotGetterSetter()"
+			+ " && execution(* *())")
+	public void beforeNoArgumentsAdvice(JoinPoint.StaticPart staticPart) {
+
+		if (shouldLogBefore()) {
+			logger.log(formatter(staticPart), null, null, 0);
+		}
+	}
 
-		// display method arguments
-		Object[] args = joinPoint.getArgs();
+	@Before(value = "com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackageNotGetterSetter()"
+			+ " && execution(* *(com.rohitThebest.aopdemo.Account)) && args(account)",
+			argNames = "account")
+	public void beforeAccountAdvice(JoinPoint.StaticPart staticPart, Account account) {
 
-		for (Object tempArg : args) {
+		if (shouldLogBefore()) {
+			logger.log(formatter(staticPart), ArgumentFormatter.nameOf(account), ArgumentFormatter.levelOf(account), 0);
+		}
+	}
 
-			System.out.println(tempArg);
+	@Before(value = "com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackageNotGetterSetter()"
+			+ " && execution(* *(com.rohitThebest.aopdemo.Account, boolean)) && args(account, vipFlag)",
+			argNames = "account,vipFlag")
+	public void beforeVipAccountAdvice(JoinPoint.StaticPart staticPart, Account account, boolean vipFlag) {
 
-			if (tempArg instanceof Account) {
+		if (shouldLogBefore()) {
+			logger.log(formatter(staticPart), ArgumentFormatter.nameOf(account), ArgumentFormatter.levelOf(account),
+					vipFlag ? 1 : 0);
+		}
+	}
 
-				// downcast and print Account specific stuff
-				Account account = (Account) tempArg;
+	@Before(value = "com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackageNotGetterSetter()"
+			+ " && execution(* *(boolean)) && args(flag)",
+			argNames = "flag")
+	public void beforeFlagAdvice(JoinPoint.StaticPart staticPart, boolean flag) {
 
-				System.out.println("account name : " + account.getName());
-				System.out.println("account level : " + account.getLevel());
-			}
+		if (shouldLogBefore()) {
+			logger.log(formatter(staticPart), null, null, flag ? 1 : 0);
 		}
 	}
 
+	// the @Before advices share one sampler: together they are the logging of the dao calls
+	private boolean shouldLogBefore() {
+		return logger.isEnabled() && beforeAddAccountSampler.shouldRun();
+	}
+
+	private static ArgumentFormatter formatter(JoinPoint.StaticPart staticPart) {
+		return ArgumentFormatter.forMethod(BEFORE_PREFIX, (MethodSignature) staticPart.getSignature());
+	}
+
 	/*
 	 * Here we have three advices i.e. beforeAddAccountAdvice,
 	 * performApiAnalyticsAdvice, logToCloudAsync
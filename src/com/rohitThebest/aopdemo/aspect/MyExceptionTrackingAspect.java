@@ -0,0 +1,68 @@
+package com.rohitThebest.aopdemo.aspect;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.errors.ExceptionRegistry;
+import com.rohitThebest.aopdemo.reactive.ReactiveSignals;
+
+/*
+ * Records every exception thrown by a dao or service method in the
+ * ExceptionRegistry.
+ * 
+ * It is the innermost of our aspects, so the exception is recorded before the
+ * @AfterThrowing and @Around advices of the other aspects see it, and they can
+ * ask the registry whether it is still worth a log line.
+ * 
+ * It is an @Around advice and not an @AfterThrowing one because of the
+ * methods that return a CompletableFuture or a Flow.Publisher: their failures
+ * are error signals, after the method has returned (see ReactiveSignals).
+ */
+@Aspect
+@Component
+@Order(9)
+public class MyExceptionTrackingAspect {
+
+	@Autowired
+	private ExceptionRegistry exceptionRegistry;
+
+	@Around("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage() || "
+			+ "com.rohitThebest.aopdemo.aspect.AOPExpressions.forServicePackage()")
+	public Object recordException(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+
+		Object result;
+
+		try {
+
+			result = proceedingJoinPoint.proceed();
+		} catch (Throwable e) {
+
+			exceptionRegistry.record(((MethodSignature) proceedingJoinPoint.getSignature()).getMethod(), e);
+			throw e;
+		}
+
+		// a future or publisher fails later, with an error signal instead of an exception
+		if (ReactiveSignals.isReactive(result)) {
+
+			return ReactiveSignals.whenTerminated(result, (begin, failure) -> {
+
+				if (failure != null) {
+					exceptionRegistry.record(((MethodSignature) proceedingJoinPoint.getSignature()).getMethod(),
+							failure);
+				}
+			});
+		}
+
+		return result;
+	}
+}
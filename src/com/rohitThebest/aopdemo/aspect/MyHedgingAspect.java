@@ -0,0 +1,77 @@
+package com.rohitThebest.aopdemo.aspect;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.resilience.Deadline;
+import com.rohitThebest.aopdemo.resilience.HedgedMethod;
+import com.rohitThebest.aopdemo.resilience.HedgingRegistry;
+
+/*
+ * Hedges the slow calls of the service methods annotated with @Hedged (see
+ * HedgedMethod), and makes every dao and service call give up once the
+ * Deadline of its thread is spent.
+ * 
+ * It runs after the logging and caching aspects, which see the call once, and
+ * before MyLatencyMetricsAspect, which times every attempt.
+ */
+@Aspect
+@Component
+@Order(7)
+public class MyHedgingAspect {
+
+	@Autowired
+	private HedgingRegistry hedgingRegistry;
+
+	@Autowired
+	@Qualifier("adviceExecutor")
+	private Executor executor;
+
+	@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage() || "
+			+ "com.rohitThebest.aopdemo.aspect.AOPExpressions.forServicePackage()")
+	public void checkDeadline() {
+
+		Deadline.checkCurrent();
+	}
+
+	@Around("com.rohitThebest.aopdemo.aspect.AOPExpressions.forServicePackage() && "
+			+ "@annotation(com.rohitThebest.aopdemo.resilience.Hedged)")
+	public Object hedge(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+
+		Method method = ((MethodSignature) proceedingJoinPoint.getSignature()).getMethod();
+		HedgedMethod hedgedMethod = hedgingRegistry.forMethod(method);
+
+		long hedgeDelayNanos = hedgedMethod.getHedgeDelayNanos();
+
+		// each attempt runs its own clone of the rest of the chain
+		MethodInvocation first = hedgeDelayNanos < 0 ? null : InvocationChains.remainingChain();
+		MethodInvocation second = first == null ? null : InvocationChains.remainingChain();
+
+		if (second == null) {
+
+			// still learning the latencies, or no chain to run twice (woven aspects)
+			return hedgedMethod.call(proceedingJoinPoint::proceed);
+		}
+
+		return hedgedMethod.hedge(executor,
+				() -> InvocationChains.proceed(first),
+				() -> InvocationChains.proceed(second),
+				hedgeDelayNanos);
+	}
+}
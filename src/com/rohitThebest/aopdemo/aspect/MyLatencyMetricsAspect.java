@@ -0,0 +1,84 @@
+package com.rohitThebest.aopdemo.aspect;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.metrics.MethodMetrics;
+import com.rohitThebest.aopdemo.metrics.MethodMetricsRegistry;
+import com.rohitThebest.aopdemo.reactive.ReactiveSignals;
+
+/*
+ * Records the calls, errors, calls in flight and latency of every dao and
+ * service method into the MethodMetricsRegistry (the latencies end up in the
+ * LatencyRegistry).
+ * 
+ * It runs closest to the target method (only MyExceptionTrackingAspect, which
+ * does nothing for successful calls, is closer), so the time spent in the
+ * other advices is not counted.
+ * The latency is recorded for failed calls too.
+ * 
+ * For a CompletableFuture or a Flow.Publisher the latency ends when it
+ * completes or fails, not when the method returns it (see ReactiveSignals).
+ * A CompletableFuture is in flight until then, a Flow.Publisher only until
+ * it is returned: each of its subscriptions is recorded like a call.
+ */
+@Aspect
+@Component
+@Order(8)
+public class MyLatencyMetricsAspect {
+
+	@Autowired
+	private MethodMetricsRegistry methodMetricsRegistry;
+
+	@Around("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage() || "
+			+ "com.rohitThebest.aopdemo.aspect.AOPExpressions.forServicePackage()")
+	public Object recordLatency(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+
+		MethodSignature methodSignature = (MethodSignature) proceedingJoinPoint.getSignature();
+		MethodMetrics metrics = methodMetricsRegistry.metrics(methodSignature.getMethod());
+
+		metrics.begin();
+		long begin = System.nanoTime();
+		Object result;
+
+		try {
+
+			result = proceedingJoinPoint.proceed();
+		} catch (Throwable e) {
+
+			metrics.end(System.nanoTime() - begin, e);
+			throw e;
+		}
+
+		// a future is in flight until it completes
+		if (result instanceof CompletionStage) {
+
+			return ReactiveSignals.whenTerminated(result, begin,
+					(start, failure) -> metrics.end(System.nanoTime() - start, failure));
+		}
+
+		// a publisher only works when subscribed to, maybe never, maybe more than once
+		if (result instanceof Flow.Publisher) {
+
+			metrics.end();
+			return ReactiveSignals.whenTerminated(result, begin,
+					(start, failure) -> metrics.record(System.nanoTime() - start, failure));
+		}
+
+		metrics.end(System.nanoTime() - begin, null);
+		return result;
+	}
+}
@@ -0,0 +1,86 @@
+package com.rohitThebest.aopdemo.aspect;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.writebehind.AccountWriteBehind;
+
+/*
+ * Write-behind for AccountDAO.addAccount(): instead of writing one account per
+ * call, the account is queued and returned immediately, AccountWriteBehind
+ * writes the queued accounts in batches with AccountDAO.addAccounts().
+ * 
+ * - addAccount(account, true) (vip) is written synchronously, after everything
+ *   queued before it: when it returns the account is stored. The same for an
+ *   account the queue does not take (full, or closed).
+ * 
+ * - the find and stream methods first write what is queued, so a caller
+ *   always reads its own writes.
+ * 
+ * It runs after the logging, analytics and caching aspects (they still see
+ * every call) and before the latency metrics (they only see the real writes).
+ */
+@Aspect
+@Component
+@Order(6)
+public class MyWriteBehindAspect {
+
+	@Autowired
+	private AccountWriteBehind writeBehind;
+
+	@Around(value = "execution(void com.rohitThebest.aopdemo.dao.AccountDAO.addAccount(com.rohitThebest.aopdemo.Account)) && args(account)",
+			argNames = "account")
+	public Object writeBehindAddAccount(ProceedingJoinPoint proceedingJoinPoint, Account account) throws Throwable {
+
+		return queueOrProceed(proceedingJoinPoint, account);
+	}
+
+	@Around(value = "execution(void com.rohitThebest.aopdemo.dao.AccountDAO.addAccount(com.rohitThebest.aopdemo.Account, boolean)) && args(account, vipFlag)",
+			argNames = "account,vipFlag")
+	public Object writeBehindAddVipAccount(ProceedingJoinPoint proceedingJoinPoint, Account account, boolean vipFlag)
+			throws Throwable {
+
+		if (vipFlag) {
+
+			writeBehind.flush();
+			return proceedingJoinPoint.proceed();
+		}
+
+		return queueOrProceed(proceedingJoinPoint, account);
+	}
+
+	@Before("execution(* com.rohitThebest.aopdemo.dao.AccountDAO.find*(..)) || "
+			+ "execution(* com.rohitThebest.aopdemo.dao.AccountDAO.streamAccounts())")
+	public void flushBeforeRead() {
+
+		writeBehind.flush();
+	}
+
+	private Object queueOrProceed(ProceedingJoinPoint proceedingJoinPoint, Account account) throws Throwable {
+
+		if (account == null) {
+			return proceedingJoinPoint.proceed();
+		}
+
+		// the caller may change its Account object after we returned, we queue a copy
+		if (!writeBehind.enqueue(new Account(account.getName(), account.getLevel()))) {
+
+			// not queued: written now, but after the queued ones, an older write of the same name must not overwrite it
+			writeBehind.flush();
+			return proceedingJoinPoint.proceed();
+		}
+
+		return null;
+	}
+}
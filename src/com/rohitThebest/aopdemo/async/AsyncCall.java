@@ -0,0 +1,34 @@
+package com.rohitThebest.aopdemo.async;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Marks a service method returning a CompletableFuture that MyAsyncAspect
+ * runs on the "adviceExecutor" thread pool instead of the caller's thread.
+ * 
+ * timeout: every call gets its own timer, 0 means no timeout.
+ * 
+ * fallbackMethod: name of a method of the same bean, with the same parameters,
+ * returning the value the future should complete with when the call timed out
+ * or could not be started because the executor was saturated. Without a
+ * fallback method the future completes exceptionally in these cases.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AsyncCall {
+
+	long timeout() default 0;
+
+	TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+	String fallbackMethod() default "";
+}
@@ -0,0 +1,64 @@
+package com.rohitThebest.aopdemo.async;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Finds and calls the fallback method named by an annotation, e.g.
+ * @AsyncCall(fallbackMethod = "defaultFortune").
+ * 
+ * A fallback method lives on the same class as the advised method and takes
+ * the same parameters. It is looked up once per advised method and cached.
+ */
+public final class Fallbacks {
+
+	// advised method -> fallback method name -> fallback method
+	private static final Map<Method, Map<String, Method>> FALLBACKS = new ConcurrentHashMap<>();
+
+	private Fallbacks() {
+	}
+
+	public static Object invoke(Object target, Method advisedMethod, String fallbackMethod, Object[] args)
+			throws Throwable {
+
+		Map<String, Method> fallbacks = FALLBACKS.get(advisedMethod);
+
+		if (fallbacks == null) {
+			fallbacks = FALLBACKS.computeIfAbsent(advisedMethod, method -> new ConcurrentHashMap<>());
+		}
+
+		Method fallback = fallbacks.get(fallbackMethod);
+
+		if (fallback == null) {
+			fallback = fallbacks.computeIfAbsent(fallbackMethod, name -> resolve(target.getClass(), advisedMethod, name));
+		}
+
+		try {
+			return fallback.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static Method resolve(Class<?> targetClass, Method advisedMethod, String fallbackMethod) {
+
+		try {
+
+			Method fallback = targetClass.getDeclaredMethod(fallbackMethod, advisedMethod.getParameterTypes());
+			fallback.setAccessible(true);
+			return fallback;
+
+		} catch (NoSuchMethodException e) {
+
+			throw new IllegalStateException("No fallback method " + fallbackMethod
+					+ " with the parameters of " + advisedMethod + " in " + targetClass.getName(), e);
+		}
+	}
+}
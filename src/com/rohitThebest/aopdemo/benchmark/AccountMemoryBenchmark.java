@@ -0,0 +1,156 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.store.AccountStore;
+import com.rohitThebest.aopdemo.store.CompactAccount;
+import com.rohitThebest.aopdemo.store.CompactAccounts;
+
+/*
+ * Heap used by N accounts, held as:
+ *   List<Account>      plain Account objects
+ *   AccountStore       the store of AccountDAO (skip-list indexes)
+ *   CompactAccounts    columns, dictionary-encoded levels and a name arena
+ * 
+ * The level of every account is its own String, as it would be when read
+ * from a file or a database: that is the duplication CompactAccounts removes.
+ * 
+ * The heap is measured after a full GC, before and after building the
+ * accounts. 10M plain accounts need more than the default heap:
+ * 
+ *   java -Xmx4g -cp bin:lib/* com.rohitThebest.aopdemo.benchmark.AccountMemoryBenchmark
+ * 
+ * Settings (system properties):
+ *   -Daopdemo.bench.accounts=1000000,10000000   the numbers of accounts
+ */
+public class AccountMemoryBenchmark {
+
+	private static final String[] LEVELS = { "Platinum", "Silver", "Gold" };
+
+	public static void main(String[] args) {
+
+		String[] sizes = System.getProperty("aopdemo.bench.accounts", "1000000,10000000").split(",");
+
+		System.out.printf("%-18s %12s %12s %14s %12s%n", "Accounts", "count", "heap (MB)", "bytes/account",
+				"build (ms)");
+
+		for (String size : sizes) {
+
+			int count = Integer.parseInt(size.trim());
+
+			measure("List<Account>", count, AccountMemoryBenchmark::accountList);
+			measure("AccountStore", count, AccountMemoryBenchmark::accountStore);
+			measure("CompactAccounts", count, AccountMemoryBenchmark::compactAccounts);
+		}
+	}
+
+	private static void measure(String name, int count, IntFunction<Object> build) {
+
+		long before = usedHeap();
+		long begin = System.nanoTime();
+
+		Object accounts;
+
+		try {
+			accounts = build.apply(count);
+		} catch (OutOfMemoryError e) {
+
+			System.out.printf("%-18s %12d   out of memory, raise -Xmx%n", name, count);
+			return;
+		}
+
+		long buildMillis = (System.nanoTime() - begin) / 1_000_000;
+		long bytes = usedHeap() - before;
+
+		Reference.reachabilityFence(accounts);
+
+		System.out.printf("%-18s %12d %12.1f %14.1f %12d%n", name, count, bytes / 1e6, (double) bytes / count,
+				buildMillis);
+	}
+
+	private static Account account(int i) {
+
+		// a String of its own, like a column value of a result set
+		return new Account("user" + i, new String(LEVELS[i % LEVELS.length]));
+	}
+
+	private static Object accountList(int count) {
+
+		List<Account> accounts = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			accounts.add(account(i));
+		}
+
+		return accounts;
+	}
+
+	private static Object accountStore(int count) {
+
+		AccountStore store = new AccountStore();
+
+		for (int i = 0; i < count; i++) {
+			store.save(account(i));
+		}
+
+		return store;
+	}
+
+	private static Object compactAccounts(int count) {
+
+		CompactAccounts accounts = new CompactAccounts(count);
+
+		for (int i = 0; i < count; i++) {
+			accounts.save(account(i));
+		}
+
+		checkRoundTrip(accounts, count);
+		return accounts;
+	}
+
+	// the views must behave like the accounts they were made from
+	private static void checkRoundTrip(CompactAccounts accounts, int count) {
+
+		for (int i = 0; i < count; i += Math.max(1, count / 100)) {
+
+			CompactAccount view = accounts.findByName("user" + i);
+
+			if (view == null || !view.toString().equals(account(i).toString())) {
+				throw new IllegalStateException("user" + i + " read back as " + view);
+			}
+		}
+
+		CompactAccount view = accounts.get(0);
+
+		view.setName("renamed");
+		view.setLevel("Diamond");
+
+		if (accounts.findByName("user0") != null
+				|| !accounts.findByName("renamed").toString().equals("Account [name=renamed, level=Diamond]")) {
+			throw new IllegalStateException("update not read back: " + accounts.copyOf(0));
+		}
+
+		view.setName("user0");
+		view.setLevel(LEVELS[0]);
+	}
+
+	private static long usedHeap() {
+
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
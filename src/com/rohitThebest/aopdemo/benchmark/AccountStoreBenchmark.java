@@ -0,0 +1,99 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.metrics.LatencyHistogram;
+import com.rohitThebest.aopdemo.store.AccountStore;
+
+/*
+ * Read latency of AccountStore.findByName() with millions of accounts while
+ * other threads keep writing.
+ * 
+ *   -Daopdemo.bench.accounts=1000000   accounts loaded before measuring
+ *   -Daopdemo.bench.writers=4          concurrent writer threads
+ *   -Daopdemo.bench.seconds=5          measurement duration
+ */
+public class AccountStoreBenchmark {
+
+	private static final String[] LEVELS = { "Platinum", "Gold", "Silver", "Bronze" };
+
+	public static void main(String[] args) throws Exception {
+
+		int accounts = Integer.getInteger("aopdemo.bench.accounts", 1_000_000);
+		int writers = Integer.getInteger("aopdemo.bench.writers", 4);
+		int seconds = Integer.getInteger("aopdemo.bench.seconds", 5);
+
+		AccountStore store = new AccountStore();
+
+		long begin = System.nanoTime();
+
+		for (int i = 0; i < accounts; i++) {
+			store.save(new Account(name(i), LEVELS[i % LEVELS.length]));
+		}
+
+		System.out.printf("Loaded %,d accounts in %d ms%n", store.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+
+		// the writers move existing accounts between levels and add new ones
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		LongAdder writes = new LongAdder();
+		List<Thread> writerThreads = new ArrayList<>();
+
+		for (int w = 0; w < writers; w++) {
+
+			Thread writer = new Thread(() -> {
+
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+
+				while (System.nanoTime() < deadline) {
+
+					int id = random.nextInt(accounts + accounts / 10);
+					store.save(new Account(name(id), LEVELS[random.nextInt(LEVELS.length)]));
+					writes.increment();
+				}
+			});
+
+			writer.start();
+			writerThreads.add(writer);
+		}
+
+		LatencyHistogram readLatency = new LatencyHistogram();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long misses = 0;
+
+		while (System.nanoTime() < deadline) {
+
+			String name = name(random.nextInt(accounts));
+
+			long start = System.nanoTime();
+			Account account = store.findByName(name);
+			readLatency.record(System.nanoTime() - start);
+
+			if (account == null) {
+				misses++;
+			}
+		}
+
+		for (Thread writer : writerThreads) {
+			writer.join();
+		}
+
+		System.out.printf("%d writers: %,d writes/s%n", writers, writes.sum() / seconds);
+		System.out.println("findByName latency: " + readLatency.snapshot() + " (misses: " + misses + ")");
+		System.out.println("findByLevel(\"Gold\") returned " + store.findByLevel("Gold").size() + " accounts");
+	}
+
+	private static String name(int id) {
+		return "account-" + id;
+	}
+}
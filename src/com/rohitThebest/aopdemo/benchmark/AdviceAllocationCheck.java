@@ -0,0 +1,220 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.aspectj.runtime.reflect.Factory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.aspect.MyApiAnalyticsAspect;
+import com.rohitThebest.aopdemo.aspect.MyCloudLogAsyncAspect;
+import com.rohitThebest.aopdemo.aspect.MyDemoLoggingAspect;
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.dao.MembershipDAO;
+
+/*
+ * Allocation regression check: the logging @Before advices must allocate
+ * nothing on the dao methods with typed arguments.
+ *
+ * 1. The advice bodies of MyCloudLogAsyncAspect, MyDemoLoggingAspect and
+ *    MyApiAnalyticsAspect, called in the order of their chain the way woven
+ *    code (compile-time or load-time weaving) calls them: with a constant
+ *    JoinPoint.StaticPart, made by AspectJ's runtime Factory as ajc does,
+ *    and the typed arguments. They log into a discarding AsyncLogger. Over a
+ *    budget of ALLOWED_BYTES per call the check fails and the program exits
+ *    with status 1.
+ *
+ * 2. For comparison, the proxied dao calls with these advices and with
+ *    BenchmarkAspects.TypedBefores (the same chain without the logging),
+ *    fused (see FusingAdvisorChainFactory) and with Spring's interceptors.
+ *    A Spring proxy allocates on every call by itself (the MethodInvocation,
+ *    the argument array, ...), and without fusing args() is matched again on
+ *    every call, so these are only reported.
+ *
+ * The allocated bytes are read from the counter of the calling thread, like
+ * MicroBenchmark does, over a fixed number of calls.
+ *
+ * Settings (system properties):
+ *   -Daopdemo.check.warmup=200000    calls before measuring
+ *   -Daopdemo.check.calls=1000000    measured calls
+ *
+ * Run: java -cp bin:lib/* com.rohitThebest.aopdemo.benchmark.AdviceAllocationCheck
+ */
+public class AdviceAllocationCheck {
+
+	// less than one byte per call: a few allocations over the whole measurement, no allocation per call
+	private static final double ALLOWED_BYTES = 0.5;
+
+	private static final int WARMUP_CALLS = Integer.getInteger("aopdemo.check.warmup", 200_000);
+	private static final int MEASURED_CALLS = Integer.getInteger("aopdemo.check.calls", 1_000_000);
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private static final PrintStream NULL_OUT = new PrintStream(OutputStream.nullOutputStream());
+
+	private static final Class<?>[] LOGGING_ASPECTS = {
+			MyCloudLogAsyncAspect.class, MyDemoLoggingAspect.class, MyApiAnalyticsAspect.class };
+
+	public static void main(String[] args) throws NoSuchMethodException {
+
+		System.out.println(String.format("%-80s %12s %12s", "Calls", "ns/call", "B/call"));
+
+		boolean failed = checkAdvices();
+
+		System.out.println();
+
+		measureProxiedCalls("logging advices [fused]", true, LOGGING_ASPECTS);
+		measureProxiedCalls("same chain, no logging [fused]", true, BenchmarkAspects.TypedBefores.class);
+		measureProxiedCalls("logging advices [separate]", false, LOGGING_ASPECTS);
+		measureProxiedCalls("same chain, no logging [separate]", false, BenchmarkAspects.TypedBefores.class);
+
+		if (failed) {
+
+			System.out.println("\nThe logging advices allocate on the advised call");
+			System.exit(1);
+		}
+	}
+
+	/*
+	 * true: an advice allocates
+	 */
+	private static boolean checkAdvices() throws NoSuchMethodException {
+
+		try (AnnotationConfigApplicationContext context =
+				BenchmarkContext.create(ProxyMode.CGLIB, LOGGING_ASPECTS)) {
+
+			MyCloudLogAsyncAspect cloudLog = context.getBean(MyCloudLogAsyncAspect.class);
+			MyDemoLoggingAspect logging = context.getBean(MyDemoLoggingAspect.class);
+			MyApiAnalyticsAspect apiAnalytics = context.getBean(MyApiAnalyticsAspect.class);
+
+			JoinPoint.StaticPart addAccount = staticPart(AccountDAO.class.getMethod("addAccount", Account.class));
+			JoinPoint.StaticPart addVipAccount =
+					staticPart(AccountDAO.class.getMethod("addAccount", Account.class, boolean.class));
+			JoinPoint.StaticPart addNoAccount = staticPart(MembershipDAO.class.getMethod("addAccount"));
+			JoinPoint.StaticPart findAccounts = staticPart(AccountDAO.class.getMethod("findAccounts", boolean.class));
+
+			Account account = new Account("Rohit", "Platinum");
+			Map<String, Double> bytes = new LinkedHashMap<>();
+
+			bytes.put("AccountDAO.addAccount(Account)", measure("advices of AccountDAO.addAccount(Account)", () -> {
+				cloudLog.logToCloudAsync();
+				logging.beforeAccountAdvice(addAccount, account);
+				apiAnalytics.performApiAnalyticsAdvice();
+			}));
+
+			bytes.put("AccountDAO.addAccount(Account,boolean)",
+					measure("advices of AccountDAO.addAccount(Account,boolean)", () -> {
+						cloudLog.logToCloudAsync();
+						logging.beforeVipAccountAdvice(addVipAccount, account, true);
+						apiAnalytics.performApiAnalyticsAdvice();
+					}));
+
+			bytes.put("MembershipDAO.addAccount()", measure("advices of MembershipDAO.addAccount()", () -> {
+				cloudLog.logToCloudAsync();
+				logging.beforeNoArgumentsAdvice(addNoAccount);
+				apiAnalytics.performApiAnalyticsAdvice();
+			}));
+
+			bytes.put("AccountDAO.findAccounts(boolean)", measure("@Before advices of AccountDAO.findAccounts(boolean)",
+					() -> {
+						cloudLog.logToCloudAsync();
+						logging.beforeFlagAdvice(findAccounts, false);
+						apiAnalytics.performApiAnalyticsAdvice();
+					}));
+
+			System.out.println();
+			boolean failed = false;
+
+			for (Map.Entry<String, Double> call : bytes.entrySet()) {
+
+				boolean ok = call.getValue() <= ALLOWED_BYTES;
+				failed |= !ok;
+
+				System.out.println(String.format("%-4s %-40s %8.1f B/call by the advices",
+						ok ? "OK" : "FAIL", call.getKey(), call.getValue()));
+			}
+
+			return failed;
+		}
+	}
+
+	// the StaticPart that ajc makes for the execution of a method
+	private static JoinPoint.StaticPart staticPart(Method method) {
+
+		Factory factory = new Factory(method.getDeclaringClass().getSimpleName() + ".java", method.getDeclaringClass());
+
+		MethodSignature signature = factory.makeMethodSig(method.getModifiers(), method.getName(),
+				method.getDeclaringClass(), method.getParameterTypes(), new String[method.getParameterCount()],
+				method.getExceptionTypes(), method.getReturnType());
+
+		return factory.makeSJP(JoinPoint.METHOD_EXECUTION, signature, 0);
+	}
+
+	private static void measureProxiedCalls(String label, boolean fuseBeforeAdvice, Class<?>... aspects) {
+
+		try (AnnotationConfigApplicationContext context =
+				BenchmarkContext.create(ProxyMode.CGLIB, fuseBeforeAdvice, aspects)) {
+
+			AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+			MembershipDAO membershipDAO = context.getBean("membershipDAO", MembershipDAO.class);
+
+			Account account = new Account("Rohit", "Platinum");
+
+			measure(label + " AccountDAO.addAccount(Account)", () -> accountDao.addAccount(account));
+			measure(label + " AccountDAO.addAccount(Account,boolean)", () -> accountDao.addAccount(account, true));
+			measure(label + " MembershipDAO.addAccount()", () -> membershipDAO.addAccount());
+		}
+	}
+
+	/*
+	 * Prints and returns the bytes allocated per call
+	 */
+	private static double measure(String name, Runnable operation) {
+
+		PrintStream stdout = System.out;
+		System.setOut(NULL_OUT);
+
+		long threadId = Thread.currentThread().getId();
+		long nanos;
+		long allocated;
+
+		try {
+
+			for (int i = 0; i < WARMUP_CALLS; i++) {
+				operation.run();
+			}
+
+			long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+			long begin = System.nanoTime();
+
+			for (int i = 0; i < MEASURED_CALLS; i++) {
+				operation.run();
+			}
+
+			nanos = System.nanoTime() - begin;
+			allocated = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+		} finally {
+
+			System.setOut(stdout);
+		}
+
+		double bytesPerCall = (double) allocated / MEASURED_CALLS;
+
+		System.out.println(String.format("%-80s %12.1f %12.1f", name, (double) nanos / MEASURED_CALLS, bytesPerCall));
+		return bytesPerCall;
+	}
+}
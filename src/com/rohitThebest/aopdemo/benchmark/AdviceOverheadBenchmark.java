@@ -0,0 +1,97 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.aspect.MyApiAnalyticsAspect;
+import com.rohitThebest.aopdemo.aspect.MyCloudLogAsyncAspect;
+import com.rohitThebest.aopdemo.aspect.MyDemoLoggingAspect;
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.dao.MembershipDAO;
+
+/*
+ * What do our aspects cost?
+ * 
+ * Benchmarks AccountDAO.addAccount(Account), AccountDAO.findAccounts(boolean)
+ * and MembershipDAO.addAccount():
+ *   - unadvised
+ *   - with each advice type alone (see BenchmarkAspects)
+ *   - with the full ordered chain MyCloudLogAsyncAspect(2),
+ *     MyDemoLoggingAspect(3), MyApiAnalyticsAspect(4)
+ * each under JDK and CGLIB proxies.
+ * 
+ * Run: java -cp bin:lib/* com.rohitThebest.aopdemo.benchmark.AdviceOverheadBenchmark
+ */
+public class AdviceOverheadBenchmark {
+
+	public static void main(String[] args) {
+
+		Map<String, Class<?>[]> configurations = new LinkedHashMap<>();
+		configurations.put("@Before", new Class<?>[] { BenchmarkAspects.BeforeOnly.class });
+		configurations.put("@After", new Class<?>[] { BenchmarkAspects.AfterOnly.class });
+		configurations.put("@AfterReturning", new Class<?>[] { BenchmarkAspects.AfterReturningOnly.class });
+		configurations.put("@AfterThrowing", new Class<?>[] { BenchmarkAspects.AfterThrowingOnly.class });
+		configurations.put("@Around", new Class<?>[] { BenchmarkAspects.AroundOnly.class });
+		configurations.put("full chain", new Class<?>[] {
+				MyCloudLogAsyncAspect.class, MyDemoLoggingAspect.class, MyApiAnalyticsAspect.class });
+
+		System.out.println(MicroBenchmark.header());
+
+		// the baseline: plain beans, no proxies at all
+		runAll("unadvised", ProxyMode.CGLIB);
+
+		for (ProxyMode proxyMode : ProxyMode.values()) {
+
+			for (Map.Entry<String, Class<?>[]> configuration : configurations.entrySet()) {
+				runAll(configuration.getKey(), proxyMode, configuration.getValue());
+			}
+		}
+	}
+
+	private static void runAll(String configuration, ProxyMode proxyMode, Class<?>... aspects) {
+
+		try (AnnotationConfigApplicationContext context = BenchmarkContext.create(proxyMode, aspects)) {
+
+			AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+			MembershipDAO membershipDAO = context.getBean("membershipDAO", MembershipDAO.class);
+
+			String label = configuration + " " + describe(proxyMode, accountDao, aspects.length > 0);
+			Account account = new Account("Rohit", "Platinum");
+
+			System.out.println(MicroBenchmark.run(label + " AccountDAO.addAccount(Account)", () -> {
+				accountDao.addAccount(account);
+				return null;
+			}));
+
+			System.out.println(MicroBenchmark.run(label + " AccountDAO.findAccounts(false)",
+					() -> accountDao.findAccounts(false)));
+
+			System.out.println(MicroBenchmark.run(label + " MembershipDAO.addAccount()", () -> {
+				membershipDAO.addAccount();
+				return null;
+			}));
+		}
+	}
+
+	private static String describe(ProxyMode proxyMode, Object bean, boolean advised) {
+
+		if (!advised) {
+			return "[none]";
+		}
+
+		if (proxyMode == ProxyMode.JDK && !AopUtils.isJdkDynamicProxy(bean)) {
+			return "[JDK->CGLIB]";
+		}
+
+		return "[" + proxyMode + "]";
+	}
+}
@@ -0,0 +1,144 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.aspect.MyApiAnalyticsAspect;
+import com.rohitThebest.aopdemo.aspect.MyCloudLogAsyncAspect;
+import com.rohitThebest.aopdemo.aspect.MyDemoLoggingAspect;
+import com.rohitThebest.aopdemo.control.AdviceControl;
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.dao.MembershipDAO;
+
+/*
+ * What does a switched off advice cost?
+ * 
+ * Benchmarks MembershipDAO.isMember(String) and AccountDAO.findAccounts(false)
+ * (CGLIB proxies of DemoConfig, with separate and fused @Before advices):
+ *   - unadvised: plain beans, no proxies
+ *   - the chain MyCloudLogAsyncAspect(2), MyDemoLoggingAspect(3),
+ *     MyApiAnalyticsAspect(4), then with MyApiAnalyticsAspect switched off
+ *     with the AdviceControl, then with all three switched off (their
+ *     pointcut forDaoPackage)
+ *   - three empty @Before advices (BenchmarkAspects.ThreeBefores) with the
+ *     third one switched off, against BenchmarkAspects.TwoBefores, the same
+ *     aspect without it
+ * 
+ * The last two are compared: a switched off advice is left out of the
+ * chains, so they should only differ by the noise. The logging advices are
+ * too noisy for that, the empty ones cost a few nanoseconds. They are
+ * measured in turns, the fastest of -Daopdemo.bench.rounds=3 runs counts.
+ * 
+ * Run: java -cp bin:lib/* com.rohitThebest.aopdemo.benchmark.AdviceSwitchBenchmark
+ */
+public class AdviceSwitchBenchmark {
+
+	private static final int ROUNDS = Integer.getInteger("aopdemo.bench.rounds", 3);
+
+	public static void main(String[] args) {
+
+		System.out.println(MicroBenchmark.header());
+
+		List<String> comparisons = new ArrayList<>();
+
+		try (AnnotationConfigApplicationContext context =
+				BenchmarkContext.createWithAdviceControl(ProxyMode.CGLIB, false)) {
+
+			runAll(context, "unadvised");
+		}
+
+		for (boolean fuseBeforeAdvice : new boolean[] { false, true }) {
+
+			String mode = fuseBeforeAdvice ? " [fused]" : " [separate]";
+
+			try (AnnotationConfigApplicationContext context = BenchmarkContext.createWithAdviceControl(ProxyMode.CGLIB,
+					fuseBeforeAdvice, MyCloudLogAsyncAspect.class, MyDemoLoggingAspect.class, MyApiAnalyticsAspect.class)) {
+
+				AdviceControl adviceControl = context.getBean(AdviceControl.class);
+
+				runAll(context, "3 logging advices" + mode);
+
+				adviceControl.setAdviceEnabled("MyApiAnalyticsAspect.performApiAnalyticsAdvice", false);
+				runAll(context, "MyApiAnalyticsAspect switched off" + mode);
+
+				adviceControl.setPointcutEnabled("forDaoPackage", false);
+				runAll(context, "all 3 switched off" + mode);
+			}
+
+			Map<String, MicroBenchmark.Result> switchedOff = new LinkedHashMap<>();
+			Map<String, MicroBenchmark.Result> without = new LinkedHashMap<>();
+
+			try (AnnotationConfigApplicationContext context = BenchmarkContext.createWithAdviceControl(ProxyMode.CGLIB,
+					fuseBeforeAdvice, BenchmarkAspects.ThreeBefores.class);
+					AnnotationConfigApplicationContext contextWithout = BenchmarkContext
+							.createWithAdviceControl(ProxyMode.CGLIB, fuseBeforeAdvice, BenchmarkAspects.TwoBefores.class)) {
+
+				runAll(context, "3 empty @Before" + mode);
+
+				context.getBean(AdviceControl.class).setAdviceEnabled("ThreeBefores.third", false);
+
+				// taking turns, so both get the same JIT and machine
+				for (int round = 0; round < ROUNDS; round++) {
+
+					keepFastest(switchedOff, runAll(context, "3 empty @Before, third switched off" + mode));
+					keepFastest(without, runAll(contextWithout, "2 empty @Before" + mode));
+				}
+			}
+
+			for (String call : switchedOff.keySet()) {
+
+				double off = switchedOff.get(call).getNanosPerOp();
+				double absent = without.get(call).getNanosPerOp();
+
+				comparisons.add(String.format("%-31s %-11s switched off %8.1f ns/op, without %8.1f ns/op: %+6.1f ns",
+						call, mode.trim(), off, absent, off - absent));
+			}
+		}
+
+		System.out.println("\nThe third empty @Before switched off vs. not there (fastest of " + ROUNDS + " runs):");
+
+		for (String comparison : comparisons) {
+			System.out.println(comparison);
+		}
+	}
+
+	private static void keepFastest(Map<String, MicroBenchmark.Result> fastest, Map<String, MicroBenchmark.Result> results) {
+
+		for (Map.Entry<String, MicroBenchmark.Result> result : results.entrySet()) {
+
+			fastest.merge(result.getKey(), result.getValue(),
+					(first, second) -> first.getNanosPerOp() <= second.getNanosPerOp() ? first : second);
+		}
+	}
+
+	// call -> result
+	private static Map<String, MicroBenchmark.Result> runAll(AnnotationConfigApplicationContext context,
+			String label) {
+
+		AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+		MembershipDAO membershipDAO = context.getBean("membershipDAO", MembershipDAO.class);
+
+		Map<String, MicroBenchmark.Result> results = new LinkedHashMap<>();
+
+		results.put("MembershipDAO.isMember(String)",
+				MicroBenchmark.run(label + " MembershipDAO.isMember(String)", () -> membershipDAO.isMember("Rohit")));
+
+		results.put("AccountDAO.findAccounts(false)",
+				MicroBenchmark.run(label + " AccountDAO.findAccounts(false)", () -> accountDao.findAccounts(false)));
+
+		for (MicroBenchmark.Result result : results.values()) {
+			System.out.println(result);
+		}
+
+		return results;
+	}
+}
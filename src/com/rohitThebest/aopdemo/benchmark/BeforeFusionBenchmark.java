@@ -0,0 +1,76 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.aspect.MyApiAnalyticsAspect;
+import com.rohitThebest.aopdemo.aspect.MyCloudLogAsyncAspect;
+import com.rohitThebest.aopdemo.aspect.MyDemoLoggingAspect;
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.dao.MembershipDAO;
+
+/*
+ * What does fusing the @Before advices save?
+ * 
+ * Benchmarks AccountDAO.addAccount(Account), AccountDAO.findAccounts(boolean)
+ * and MembershipDAO.addAccount() (CGLIB proxies) with:
+ *   - three empty @Before advices (BenchmarkAspects.ThreeBefores): the cost
+ *     of the chain alone
+ *   - the real chain MyCloudLogAsyncAspect(2), MyDemoLoggingAspect(3),
+ *     MyApiAnalyticsAspect(4)
+ * each with one reflective interceptor per advice (Spring) and with one fused
+ * method handle (-Daopdemo.aop.fuseBefore=true, see FusingAdvisorChainFactory).
+ * 
+ * Run: java -cp bin:lib/* com.rohitThebest.aopdemo.benchmark.BeforeFusionBenchmark
+ */
+public class BeforeFusionBenchmark {
+
+	public static void main(String[] args) {
+
+		Map<String, Class<?>[]> configurations = new LinkedHashMap<>();
+		configurations.put("3 empty @Before", new Class<?>[] { BenchmarkAspects.ThreeBefores.class });
+		configurations.put("full chain", new Class<?>[] {
+				MyCloudLogAsyncAspect.class, MyDemoLoggingAspect.class, MyApiAnalyticsAspect.class });
+
+		System.out.println(MicroBenchmark.header());
+
+		for (Map.Entry<String, Class<?>[]> configuration : configurations.entrySet()) {
+
+			runAll(configuration.getKey() + " [separate]", false, configuration.getValue());
+			runAll(configuration.getKey() + " [fused]", true, configuration.getValue());
+		}
+	}
+
+	private static void runAll(String label, boolean fuseBeforeAdvice, Class<?>... aspects) {
+
+		try (AnnotationConfigApplicationContext context =
+				BenchmarkContext.create(ProxyMode.CGLIB, fuseBeforeAdvice, aspects)) {
+
+			AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+			MembershipDAO membershipDAO = context.getBean("membershipDAO", MembershipDAO.class);
+
+			Account account = new Account("Rohit", "Platinum");
+
+			System.out.println(MicroBenchmark.run(label + " AccountDAO.addAccount(Account)", () -> {
+				accountDao.addAccount(account);
+				return null;
+			}));
+
+			System.out.println(MicroBenchmark.run(label + " AccountDAO.findAccounts(false)",
+					() -> accountDao.findAccounts(false)));
+
+			System.out.println(MicroBenchmark.run(label + " MembershipDAO.addAccount()", () -> {
+				membershipDAO.addAccount();
+				return null;
+			}));
+		}
+	}
+}
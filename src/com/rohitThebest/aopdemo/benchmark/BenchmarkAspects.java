@@ -0,0 +1,158 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+
+import com.rohitThebest.aopdemo.Account;
+
+/*
+ * Aspects with exactly one advice each, all bound to forDaoPackage(), to
+ * measure the cost of every advice type on its own. The advices only touch
+ * the JoinPoint (like our real advices do) and count the call.
+ */
+public final class BenchmarkAspects {
+
+	static volatile long calls;
+
+	private BenchmarkAspects() {
+	}
+
+	@Aspect
+	public static class BeforeOnly {
+
+		@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
+		public void before(JoinPoint joinPoint) {
+			calls++;
+		}
+	}
+
+	/*
+	 * Three @Before advices on the same join points, like MyCloudLogAsyncAspect,
+	 * MyDemoLoggingAspect and MyApiAnalyticsAspect, without their logging
+	 */
+	@Aspect
+	public static class ThreeBefores {
+
+		@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
+		public void first() {
+			calls++;
+		}
+
+		@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
+		public void second(JoinPoint joinPoint) {
+			calls++;
+		}
+
+		@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
+		public void third() {
+			calls++;
+		}
+	}
+
+	/*
+	 * ThreeBefores without the third one: what ThreeBefores with third()
+	 * switched off should cost (see AdviceSwitchBenchmark)
+	 */
+	@Aspect
+	public static class TwoBefores {
+
+		@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
+		public void first() {
+			calls++;
+		}
+
+		@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
+		public void second(JoinPoint joinPoint) {
+			calls++;
+		}
+	}
+
+	/*
+	 * The @Before advices that MyCloudLogAsyncAspect, MyDemoLoggingAspect and
+	 * MyApiAnalyticsAspect put on the dao methods with typed arguments, with
+	 * the same parameters and args() bindings but without their logging
+	 */
+	@Aspect
+	public static class TypedBefores {
+
+		@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
+		public void first() {
+			calls++;
+		}
+
+		@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackageNotGetterSetter()"
+				+ " && execution(* *())")
+		public void noArguments(JoinPoint.StaticPart staticPart) {
+			calls++;
+		}
+
+		@Before(value = "com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackageNotGetterSetter()"
+				+ " && execution(* *(com.rohitThebest.aopdemo.Account)) && args(account)",
+				argNames = "account")
+		public void account(JoinPoint.StaticPart staticPart, Account account) {
+			calls++;
+		}
+
+		@Before(value = "com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackageNotGetterSetter()"
+				+ " && execution(* *(com.rohitThebest.aopdemo.Account, boolean)) && args(account, vipFlag)",
+				argNames = "account,vipFlag")
+		public void vipAccount(JoinPoint.StaticPart staticPart, Account account, boolean vipFlag) {
+			calls++;
+		}
+
+		@Before("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
+		public void last() {
+			calls++;
+		}
+	}
+
+	@Aspect
+	public static class AfterOnly {
+
+		@After("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
+		public void after(JoinPoint joinPoint) {
+			calls++;
+		}
+	}
+
+	@Aspect
+	public static class AfterReturningOnly {
+
+		@AfterReturning(pointcut = "com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()",
+				returning = "result")
+		public void afterReturning(JoinPoint joinPoint, Object result) {
+			calls++;
+		}
+	}
+
+	@Aspect
+	public static class AfterThrowingOnly {
+
+		@AfterThrowing(pointcut = "com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()",
+				throwing = "exception")
+		public void afterThrowing(JoinPoint joinPoint, Throwable exception) {
+			calls++;
+		}
+	}
+
+	@Aspect
+	public static class AroundOnly {
+
+		@Around("com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()")
+		public Object around(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+			calls++;
+			return proceedingJoinPoint.proceed();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.Ordered;
+
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.dao.MembershipDAO;
+import com.rohitThebest.aopdemo.errors.ExceptionRegistry;
+import com.rohitThebest.aopdemo.log.AsyncLogger;
+import com.rohitThebest.aopdemo.log.LogSink;
+import com.rohitThebest.aopdemo.log.OverflowPolicy;
+import com.rohitThebest.aopdemo.membership.MembershipRegistry;
+import com.rohitThebest.aopdemo.pointcut.MatchCachingAspectJAutoProxyCreator;
+import com.rohitThebest.aopdemo.resilience.CircuitBreakerRegistry;
+import com.rohitThebest.aopdemo.resilience.HedgingRegistry;
+import com.rohitThebest.aopdemo.sampling.SamplingRegistry;
+import com.rohitThebest.aopdemo.service.TrafficFortuneService;
+import com.rohitThebest.aopdemo.store.AccountStore;
+import com.rohitThebest.aopdemo.writebehind.AccountWriteBehind;
+
+/*
+ * Builds a small application context with the DAO and service beans and only
+ * the given aspects, without component scanning, so every benchmark can pick
+ * exactly which advices are applied and how they are proxied.
+ * 
+ * The AsyncLogger of these contexts drops its events into a sink that
+ * discards them, so the benchmarks measure the advices and not the console.
+ */
+public final class BenchmarkContext {
+
+	private BenchmarkContext() {
+	}
+
+	public static AnnotationConfigApplicationContext create(ProxyMode proxyMode, Class<?>... aspects) {
+		return create(proxyMode, false, aspects);
+	}
+
+	/*
+	 * fuseBeforeAdvice: the proxies are created by the auto-proxy creator of
+	 * DemoConfig, with the @Before advices fused (see FusingAdvisorChainFactory)
+	 */
+	public static AnnotationConfigApplicationContext create(ProxyMode proxyMode, boolean fuseBeforeAdvice,
+			Class<?>... aspects) {
+
+		return create(proxyMode, fuseBeforeAdvice, fuseBeforeAdvice, aspects);
+	}
+
+	/*
+	 * The proxies are created by the auto-proxy creator of DemoConfig, fused or
+	 * not, and their advices can be switched with the bean "adviceControl"
+	 */
+	public static AnnotationConfigApplicationContext createWithAdviceControl(ProxyMode proxyMode,
+			boolean fuseBeforeAdvice, Class<?>... aspects) {
+
+		return create(proxyMode, true, fuseBeforeAdvice, aspects);
+	}
+
+	private static AnnotationConfigApplicationContext create(ProxyMode proxyMode, boolean demoProxies,
+			boolean fuseBeforeAdvice, Class<?>... aspects) {
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+		if (aspects.length > 0 && demoProxies) {
+
+			context.registerBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME, MatchCachingAspectJAutoProxyCreator.class,
+					() -> {
+
+						MatchCachingAspectJAutoProxyCreator creator = new MatchCachingAspectJAutoProxyCreator();
+						creator.setOrder(Ordered.HIGHEST_PRECEDENCE);
+						creator.setProxyTargetClass(proxyMode == ProxyMode.CGLIB);
+						creator.setFuseBeforeAdvice(fuseBeforeAdvice);
+						return creator;
+					},
+					definition -> definition.setRole(BeanDefinition.ROLE_INFRASTRUCTURE));
+
+		} else if (aspects.length > 0) {
+
+			// what @EnableAspectJAutoProxy does
+			AopConfigUtils.registerAspectJAnnotationAutoProxyCreatorIfNecessary(context);
+
+			if (proxyMode == ProxyMode.CGLIB) {
+				AopConfigUtils.forceAutoProxyCreatorToUseClassProxying(context);
+			}
+		}
+
+		context.registerBean("asyncLogger", AsyncLogger.class, BenchmarkContext::discardingLogger);
+		context.registerBean("samplingRegistry", SamplingRegistry.class);
+		context.registerBean("circuitBreakerRegistry", CircuitBreakerRegistry.class);
+		context.registerBean("hedgingRegistry", HedgingRegistry.class);
+		context.registerBean("exceptionRegistry", ExceptionRegistry.class);
+		context.registerBean("accountStore", AccountStore.class, AccountStore::withDemoAccounts);
+		context.registerBean("accountDAO", AccountDAO.class);
+		context.registerBean("membershipRegistry", MembershipRegistry.class);
+		context.registerBean("membershipDAO", MembershipDAO.class);
+		context.registerBean("trafficFortuneService", TrafficFortuneService.class);
+		context.registerBean("accountWriteBehind", AccountWriteBehind.class);
+
+		for (Class<?> aspect : aspects) {
+			context.registerBean(aspect);
+		}
+
+		context.refresh();
+		return context;
+	}
+
+	private static AsyncLogger discardingLogger() {
+
+		LogSink discard = batch -> {
+		};
+
+		return new AsyncLogger(discard, AsyncLogger.DEFAULT_CAPACITY, OverflowPolicy.DROP);
+	}
+}
@@ -0,0 +1,108 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.aspect.MyDemoLoggingAspect;
+import com.rohitThebest.aopdemo.aspect.MyExceptionTrackingAspect;
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.errors.BusinessException;
+import com.rohitThebest.aopdemo.errors.ExceptionCounter;
+import com.rohitThebest.aopdemo.errors.ExceptionRegistry;
+
+/*
+ * Throughput of AccountDAO.findAccounts(true) while every call fails, from
+ * several threads at once:
+ *   - unadvised, with and without stack traces
+ *   - with MyDemoLoggingAspect only: every failure is logged
+ *   - with MyExceptionTrackingAspect too: the failures are counted, only the
+ *     first few are logged
+ *   - the same with stackless BusinessExceptions
+ * 
+ *   -Daopdemo.bench.threads=4    calling threads
+ *   -Daopdemo.bench.seconds=3    duration of each run
+ * 
+ * Run: java -cp bin:lib/* com.rohitThebest.aopdemo.benchmark.FailureStormBenchmark
+ */
+public class FailureStormBenchmark {
+
+	public static void main(String[] args) throws Exception {
+
+		int threads = Integer.getInteger("aopdemo.bench.threads", 4);
+		int seconds = Integer.getInteger("aopdemo.bench.seconds", 3);
+
+		System.out.printf("%d threads, %d s per run%n%n", threads, seconds);
+
+		run("unadvised, stack traces", false, threads, seconds);
+		run("unadvised, stackless", true, threads, seconds);
+
+		run("logging only, stack traces", false, threads, seconds, MyDemoLoggingAspect.class);
+
+		run("tracked, stack traces", false, threads, seconds,
+				MyDemoLoggingAspect.class, MyExceptionTrackingAspect.class);
+
+		run("tracked, stackless", true, threads, seconds,
+				MyDemoLoggingAspect.class, MyExceptionTrackingAspect.class);
+	}
+
+	private static void run(String name, boolean stackless, int threads, int seconds, Class<?>... aspects)
+			throws InterruptedException {
+
+		BusinessException.setStackless(stackless);
+
+		try (AnnotationConfigApplicationContext context = BenchmarkContext.create(ProxyMode.CGLIB, aspects)) {
+
+			AccountDAO accountDao = context.getBean(AccountDAO.class);
+
+			// warmup, then the measured run
+			storm(accountDao, threads, seconds);
+			long failures = storm(accountDao, threads, seconds);
+
+			System.out.printf("%-28s %,14.0f failures/s%n", name, (double) failures / seconds);
+
+			for (ExceptionCounter counter : context.getBean(ExceptionRegistry.class).counters()) {
+				System.out.println("  " + counter);
+			}
+		}
+	}
+
+	private static long storm(AccountDAO accountDao, int threads, int seconds) throws InterruptedException {
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		LongAdder failures = new LongAdder();
+		List<Thread> callers = new ArrayList<>();
+
+		for (int t = 0; t < threads; t++) {
+
+			Thread caller = new Thread(() -> {
+
+				while (System.nanoTime() < deadline) {
+
+					try {
+						accountDao.findAccounts(true);
+					} catch (BusinessException e) {
+						failures.increment();
+					}
+				}
+			});
+
+			caller.start();
+			callers.add(caller);
+		}
+
+		for (Thread caller : callers) {
+			caller.join();
+		}
+
+		return failures.sum();
+	}
+}
@@ -0,0 +1,162 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.store.MappedAccountFile;
+
+/*
+ * MappedAccountFile with a million accounts: writing them, opening the file
+ * again (with the index file close() saved, and without it, rebuilding the
+ * index from the records), reading, and recovering from a torn last record
+ * after a crash.
+ * 
+ *   java -cp bin:lib/* com.rohitThebest.aopdemo.benchmark.MappedAccountFileBenchmark
+ * 
+ * Settings (system properties):
+ *   -Daopdemo.bench.accounts=1000000   accounts in the file
+ *   -Daopdemo.bench.runs=5             opens measured
+ */
+public class MappedAccountFileBenchmark {
+
+	private static final String[] LEVELS = { "Platinum", "Silver", "Gold" };
+
+	private static final int BATCH_SIZE = 10_000;
+
+	public static void main(String[] args) throws IOException {
+
+		int count = Integer.getInteger("aopdemo.bench.accounts", 1_000_000);
+		int runs = Integer.getInteger("aopdemo.bench.runs", 5);
+
+		Path path = Files.createTempFile("aopdemo-accounts", ".dat");
+		Path indexPath = path.resolveSibling(path.getFileName() + ".idx");
+
+		try {
+
+			// ---------------------------
+			// write
+
+			long begin = System.nanoTime();
+
+			try (MappedAccountFile file = MappedAccountFile.open(path)) {
+
+				List<Account> batch = new ArrayList<>(BATCH_SIZE);
+
+				for (int i = 0; i < count; i++) {
+
+					batch.add(new Account("user" + i, LEVELS[i % LEVELS.length]));
+
+					if (batch.size() == BATCH_SIZE || i == count - 1) {
+						file.saveAll(batch);
+						batch.clear();
+					}
+				}
+			}
+
+			System.out.printf("Wrote %d accounts in %.0f ms, file: %.1f MB%n", count,
+					(System.nanoTime() - begin) / 1e6, Files.size(path) / 1e6);
+
+			// ---------------------------
+			// open
+
+			open("Open, index file loaded", path, null, count, runs);
+			open("Open, index rebuilt from the records", path, indexPath, count, runs);
+
+			System.out.println();
+
+			// ---------------------------
+			// read
+
+			try (MappedAccountFile file = MappedAccountFile.open(path)) {
+
+				String name = "user" + (count / 2);
+
+				System.out.println(MicroBenchmark.header());
+
+				System.out.println(MicroBenchmark.run("findByName() view", () -> file.findByName(name)));
+
+				System.out.println(MicroBenchmark.run("findByName().getName()",
+						() -> file.findByName(name).getName()));
+
+				System.out.println(MicroBenchmark.run("findAll() views", () -> file.findAll().size()));
+			}
+
+			System.out.println();
+
+			// ---------------------------
+			// torn last record
+
+			// a process that crashes: the file is not closed
+			MappedAccountFile crashed = MappedAccountFile.open(path);
+
+			crashed.save(new Account("interrupted", "Gold"));
+			crashed.sync();
+
+			int length = crashed.getLength();
+
+			// and the last byte of its last record did not make it to the disk
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+				channel.write(ByteBuffer.wrap(new byte[] { 0 }), length - 1);
+			}
+
+			try (MappedAccountFile file = MappedAccountFile.open(path)) {
+
+				System.out.printf("Torn last record: %d bytes discarded on open, %d accounts, "
+						+ "\"interrupted\" %s%n", file.getDiscardedBytes(), file.size(),
+						file.findByName("interrupted") == null ? "dropped" : "found");
+
+				file.save(new Account("after recovery", "Silver"));
+			}
+
+			try (MappedAccountFile file = MappedAccountFile.open(path)) {
+
+				System.out.printf("Appended after recovery: %d accounts, %s%n", file.size(),
+						file.findByName("after recovery"));
+			}
+
+		} finally {
+
+			Files.deleteIfExists(path);
+			Files.deleteIfExists(indexPath);
+		}
+	}
+
+	// deleteBefore: a file to delete before each open
+	private static void open(String name, Path path, Path deleteBefore, int count, int runs) throws IOException {
+
+		long[] openNanos = new long[runs];
+
+		for (int run = 0; run < runs; run++) {
+
+			if (deleteBefore != null) {
+				Files.deleteIfExists(deleteBefore);
+			}
+
+			try (MappedAccountFile file = MappedAccountFile.open(path)) {
+
+				openNanos[run] = file.getOpenNanos();
+
+				if (file.size() != count || file.isIndexLoaded() == (deleteBefore != null)) {
+					throw new IllegalStateException("reopened with " + file.size() + " accounts");
+				}
+			}
+		}
+
+		Arrays.sort(openNanos);
+		System.out.printf("%-40s median %7.1f ms, min %7.1f ms (%d runs)%n", name, openNanos[runs / 2] / 1e6,
+				openNanos[0] / 1e6, runs);
+	}
+}
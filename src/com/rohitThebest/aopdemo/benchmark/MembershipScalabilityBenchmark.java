@@ -0,0 +1,241 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.rohitThebest.aopdemo.membership.Membership;
+import com.rohitThebest.aopdemo.membership.MembershipRegistry;
+
+/*
+ * Throughput of the membership registry from 1 to 64 threads, with a mix of
+ * lookups, adds and removes on random members:
+ * 
+ *   striped registry   MembershipRegistry, the default number of stripes
+ *   single lock        MembershipRegistry with one stripe: every thread
+ *                      takes the same lock
+ *   ConcurrentHashMap  for reference, the JDK's lock-free reads
+ * 
+ * and, on one thread, a bulk check of 100 members against 100 single checks.
+ * 
+ * Throughput can only grow with the threads up to the number of cores, run it
+ * on a machine with enough of them.
+ * 
+ * Settings (system properties):
+ *   -Daopdemo.bench.threads=1,2,4,8,16,32,64   thread counts
+ *   -Daopdemo.bench.members=100000             members registered before measuring
+ *   -Daopdemo.bench.writes=20                  % of adds + removes, the rest are lookups
+ *   -Daopdemo.bench.millis=1000                duration of one measurement
+ */
+public class MembershipScalabilityBenchmark {
+
+	private interface Registry {
+
+		boolean contains(String member);
+
+		boolean add(Membership membership);
+
+		boolean remove(String member);
+	}
+
+	private static final String[] PLANS = { "Platinum", "Gold", "Silver" };
+
+	public static void main(String[] args) throws InterruptedException {
+
+		int[] threadCounts = Arrays.stream(System.getProperty("aopdemo.bench.threads", "1,2,4,8,16,32,64").split(","))
+				.mapToInt(threads -> Integer.parseInt(threads.trim())).toArray();
+		int members = Integer.getInteger("aopdemo.bench.members", 100_000);
+		int writePercent = Integer.getInteger("aopdemo.bench.writes", 20);
+		long millis = Integer.getInteger("aopdemo.bench.millis", 1000);
+
+		// half of these are registered, so half of the lookups find a member
+		Membership[] memberships = new Membership[members * 2];
+
+		for (int i = 0; i < memberships.length; i++) {
+			memberships[i] = new Membership("member" + i, PLANS[i % PLANS.length]);
+		}
+
+		MembershipRegistry striped = new MembershipRegistry();
+		MembershipRegistry singleLock = new MembershipRegistry(1);
+		ConcurrentHashMap<String, Membership> map = new ConcurrentHashMap<>();
+
+		for (int i = 0; i < members; i++) {
+
+			striped.add(memberships[i * 2]);
+			singleLock.add(memberships[i * 2]);
+			map.put(memberships[i * 2].getMember(), memberships[i * 2]);
+		}
+
+		System.out.printf("%d cores, %d stripes, %d members, %d%% writes%n%n",
+				Runtime.getRuntime().availableProcessors(), striped.getStripeCount(), members, writePercent);
+
+		System.out.printf("%-20s %8s %14s %10s %12s%n", "Registry", "threads", "ops/s", "speedup", "efficiency");
+
+		run("striped registry", registry(striped), memberships, threadCounts, writePercent, millis);
+		run("single lock", registry(singleLock), memberships, threadCounts, writePercent, millis);
+
+		run("ConcurrentHashMap", new Registry() {
+
+			@Override
+			public boolean contains(String member) {
+				return map.containsKey(member);
+			}
+
+			@Override
+			public boolean add(Membership membership) {
+				return map.putIfAbsent(membership.getMember(), membership) == null;
+			}
+
+			@Override
+			public boolean remove(String member) {
+				return map.remove(member) != null;
+			}
+		}, memberships, threadCounts, writePercent, millis);
+
+		// ---------------------------
+		// bulk checks
+
+		List<String> batch = new ArrayList<>();
+
+		for (int i = 0; i < 100; i++) {
+			batch.add(memberships[i * 7].getMember());
+		}
+
+		System.out.println("\n" + MicroBenchmark.header());
+
+		System.out.println(MicroBenchmark.run("100 x contains()", () -> {
+
+			int found = 0;
+
+			for (String member : batch) {
+
+				if (striped.contains(member)) {
+					found++;
+				}
+			}
+
+			return found;
+		}));
+
+		System.out.println(MicroBenchmark.run("containsAll(100 members)", () -> striped.containsAll(batch)));
+	}
+
+	private static Registry registry(MembershipRegistry registry) {
+
+		return new Registry() {
+
+			@Override
+			public boolean contains(String member) {
+				return registry.contains(member);
+			}
+
+			@Override
+			public boolean add(Membership membership) {
+				return registry.add(membership);
+			}
+
+			@Override
+			public boolean remove(String member) {
+				return registry.remove(member);
+			}
+		};
+	}
+
+	private static void run(String name, Registry registry, Membership[] memberships, int[] threadCounts,
+			int writePercent, long millis) throws InterruptedException {
+
+		// warm up the JIT before the first measurement
+		measure(registry, memberships, 2, writePercent, millis / 2);
+
+		double singleThread = 0;
+
+		for (int threads : threadCounts) {
+
+			double opsPerSecond = measure(registry, memberships, threads, writePercent, millis);
+
+			if (singleThread == 0) {
+				singleThread = opsPerSecond / threads;
+			}
+
+			double speedup = opsPerSecond / singleThread;
+
+			System.out.printf("%-20s %8d %14.0f %9.1fx %11.0f%%%n", name, threads, opsPerSecond, speedup,
+					100 * speedup / threads);
+		}
+	}
+
+	// ops/s of all the threads together
+	private static double measure(Registry registry, Membership[] memberships, int threads, int writePercent,
+			long millis) throws InterruptedException {
+
+		LongAdder operations = new LongAdder();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<>();
+
+		long[] window = new long[2];
+
+		for (int t = 0; t < threads; t++) {
+
+			Thread worker = new Thread(() -> {
+
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				long count = 0;
+
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+
+				long deadline = window[1];
+
+				do {
+
+					for (int i = 0; i < 64; i++) {
+
+						Membership membership = memberships[random.nextInt(memberships.length)];
+						int operation = random.nextInt(100);
+
+						if (operation >= writePercent) {
+							registry.contains(membership.getMember());
+						} else if (operation % 2 == 0) {
+							registry.add(membership);
+						} else {
+							registry.remove(membership.getMember());
+						}
+					}
+
+					count += 64;
+
+				} while (System.nanoTime() < deadline);
+
+				operations.add(count);
+			});
+
+			workers.add(worker);
+			worker.start();
+		}
+
+		window[0] = System.nanoTime();
+		window[1] = window[0] + TimeUnit.MILLISECONDS.toNanos(millis);
+		start.countDown();
+
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		long elapsed = System.nanoTime() - window[0];
+		return operations.sum() * 1e9 / elapsed;
+	}
+}
@@ -0,0 +1,164 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A small JMH-like harness for the benchmarks of this project.
+ * 
+ * An operation is run for a number of timed warmup iterations (to let the JIT
+ * compile the advice chain) and then for a number of timed measurement
+ * iterations. For the measurement we report:
+ *   - throughput (ops/s) and average time (ns/op)
+ *   - allocation (bytes/op), from the allocated-bytes counter of the current
+ *     thread, which is what JMH's "gc" profiler reports as gc.alloc.rate.norm
+ * 
+ * System.out is muted while an operation runs, because the DAO methods print
+ * on every call and the console would dominate the numbers.
+ * 
+ * Settings (system properties):
+ *   -Daopdemo.bench.warmup=2       warmup iterations
+ *   -Daopdemo.bench.iterations=3   measurement iterations
+ *   -Daopdemo.bench.millis=500     duration of one iteration
+ */
+public final class MicroBenchmark {
+
+	@FunctionalInterface
+	public interface Operation {
+
+		Object run() throws Throwable;
+	}
+
+	private static final int WARMUP_ITERATIONS = Integer.getInteger("aopdemo.bench.warmup", 2);
+	private static final int MEASUREMENT_ITERATIONS = Integer.getInteger("aopdemo.bench.iterations", 3);
+	private static final long ITERATION_NANOS =
+			TimeUnit.MILLISECONDS.toNanos(Integer.getInteger("aopdemo.bench.millis", 500));
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private static final PrintStream NULL_OUT = new PrintStream(OutputStream.nullOutputStream());
+
+	// results are xor-ed in here so that the JIT cannot drop the calls
+	private static volatile int blackhole;
+
+	private MicroBenchmark() {
+	}
+
+	public static Result run(String name, Operation operation) {
+
+		PrintStream stdout = System.out;
+		System.setOut(NULL_OUT);
+
+		try {
+
+			for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+				iteration(operation);
+			}
+
+			long operations = 0;
+			long nanos = 0;
+			long bytes = 0;
+
+			for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+
+				long[] iteration = iteration(operation);
+				operations += iteration[0];
+				nanos += iteration[1];
+				bytes += iteration[2];
+			}
+
+			return new Result(name, operations, nanos, bytes);
+
+		} catch (Throwable e) {
+
+			throw new IllegalStateException("Benchmark " + name + " failed", e);
+
+		} finally {
+
+			System.setOut(stdout);
+		}
+	}
+
+	/*
+	 * One timed iteration: returns { operations, elapsed nanos, allocated bytes }
+	 */
+	private static long[] iteration(Operation operation) throws Throwable {
+
+		long threadId = Thread.currentThread().getId();
+		int sink = 0;
+		long operations = 0;
+
+		long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+		long begin = System.nanoTime();
+		long deadline = begin + ITERATION_NANOS;
+		long now;
+
+		do {
+
+			// check the clock every 64 calls only, nanoTime() is not free either
+			for (int i = 0; i < 64; i++) {
+				sink ^= System.identityHashCode(operation.run());
+			}
+
+			operations += 64;
+		} while ((now = System.nanoTime()) < deadline);
+
+		long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+		blackhole ^= sink;
+
+		return new long[] { operations, now - begin, bytes };
+	}
+
+	public static String header() {
+		return String.format("%-60s %14s %12s %12s %12s", "Benchmark", "ops/s", "ns/op", "B/op", "MB/s");
+	}
+
+	public static final class Result {
+
+		private final String name;
+		private final long operations;
+		private final long nanos;
+		private final long bytes;
+
+		Result(String name, long operations, long nanos, long bytes) {
+			this.name = name;
+			this.operations = operations;
+			this.nanos = nanos;
+			this.bytes = bytes;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public double getOpsPerSecond() {
+			return operations * 1e9 / nanos;
+		}
+
+		public double getNanosPerOp() {
+			return (double) nanos / operations;
+		}
+
+		public double getBytesPerOp() {
+			return (double) bytes / operations;
+		}
+
+		public double getAllocationMBPerSecond() {
+			return bytes * 1e9 / nanos / (1024 * 1024);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-60s %14.0f %12.1f %12.1f %12.1f", name, getOpsPerSecond(),
+					getNanosPerOp(), getBytesPerOp(), getAllocationMBPerSecond());
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * How the benchmark contexts apply the aspects to the beans.
+ */
+public enum ProxyMode {
+
+	/*
+	 * java.lang.reflect.Proxy on the interfaces of the bean. Spring falls back
+	 * to CGLIB for beans without interfaces (like our DAOs), the benchmarks
+	 * report when that happened.
+	 */
+	JDK,
+
+	/*
+	 * A generated CGLIB subclass of the bean, what DemoConfig uses.
+	 */
+	CGLIB
+}
@@ -0,0 +1,159 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import com.rohitThebest.aopdemo.DemoConfig;
+import com.rohitThebest.aopdemo.startup.StartupTimer;
+
+/*
+ * Container startup of every *DemoApp, in two modes:
+ * 
+ *   scan + match    classpath scanning (-Dspring.index.ignore=true) and every
+ *                   pointcut matched against every bean method
+ *   index + table   the component index (META-INF/spring.components) and the
+ *                   pointcut table of the "fast-startup" profile
+ * 
+ * Each app is started in fresh JVMs (same classpath and java as this one),
+ * with -Daopdemo.startup.exitAfterRefresh=true so that it stops as soon as its
+ * context is ready (see StartupTimer). We report the median over the runs of
+ * the context refresh and of the JVM uptime at ready.
+ * 
+ *   java -cp bin:lib/* com.rohitThebest.aopdemo.benchmark.StartupBenchmark [AppName ...]
+ * 
+ * Settings (system properties):
+ *   -Daopdemo.bench.runs=5   JVMs started per app and mode
+ */
+public class StartupBenchmark {
+
+	private static final int RUNS = Integer.getInteger("aopdemo.bench.runs", 5);
+
+	private static final String[][] MODES = {
+			{ "scan + match", "-Dspring.index.ignore=true" },
+			{ "index + table", "-Dspring.profiles.active=" + DemoConfig.FAST_STARTUP_PROFILE } };
+
+	public static void main(String[] args) throws Exception {
+
+		List<String> apps = args.length > 0 ? Arrays.asList(args) : demoApps();
+
+		System.out.printf("%-30s %-14s %14s %14s%n", "App", "Mode", "refresh (ms)", "uptime (ms)");
+
+		long[] totals = new long[MODES.length * 2];
+
+		for (String app : apps) {
+
+			for (int mode = 0; mode < MODES.length; mode++) {
+
+				long[] refresh = new long[RUNS];
+				long[] uptime = new long[RUNS];
+
+				for (int run = 0; run < RUNS; run++) {
+
+					long[] result = start(app, MODES[mode][1]);
+					refresh[run] = result[0];
+					uptime[run] = result[1];
+				}
+
+				long medianRefresh = median(refresh);
+				long medianUptime = median(uptime);
+
+				totals[mode * 2] += medianRefresh;
+				totals[mode * 2 + 1] += medianUptime;
+
+				System.out.printf("%-30s %-14s %14d %14d%n", app, MODES[mode][0], medianRefresh, medianUptime);
+			}
+		}
+
+		System.out.println();
+
+		for (int mode = 0; mode < MODES.length; mode++) {
+			System.out.printf("%-30s %-14s %14d %14d%n", "all apps (sum of medians)", MODES[mode][0],
+					totals[mode * 2], totals[mode * 2 + 1]);
+		}
+	}
+
+	// simple names of the *DemoApp classes next to DemoConfig
+	private static List<String> demoApps() throws IOException {
+
+		String packagePath = DemoConfig.class.getPackageName().replace('.', '/');
+		Resource[] resources = new PathMatchingResourcePatternResolver()
+				.getResources("classpath*:" + packagePath + "/*DemoApp.class");
+
+		List<String> apps = new ArrayList<>();
+
+		for (Resource resource : resources) {
+			apps.add(resource.getFilename().replace(".class", ""));
+		}
+
+		Collections.sort(apps);
+		return apps;
+	}
+
+	// { refresh millis, uptime millis } of one JVM
+	private static long[] start(String app, String modeOption) throws IOException, InterruptedException {
+
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+		Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+				"-D" + StartupTimer.EXIT_PROPERTY + "=true", modeOption,
+				DemoConfig.class.getPackageName() + "." + app)
+				.redirectErrorStream(true)
+				.start();
+
+		long[] result = null;
+
+		try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+
+			String line;
+
+			while ((line = out.readLine()) != null) {
+
+				if (line.startsWith(StartupTimer.REPORT_PREFIX)) {
+					result = parse(line.substring(StartupTimer.REPORT_PREFIX.length()));
+				}
+			}
+		}
+
+		process.waitFor();
+
+		if (result == null) {
+			throw new IllegalStateException(app + " did not report its startup, exit code " + process.exitValue());
+		}
+
+		return result;
+	}
+
+	// "refreshMillis=212 uptimeMillis=730"
+	private static long[] parse(String report) {
+
+		String[] fields = report.trim().split(" ");
+		long[] values = new long[fields.length];
+
+		for (int i = 0; i < fields.length; i++) {
+			values[i] = Long.parseLong(fields[i].substring(fields[i].indexOf('=') + 1));
+		}
+
+		return values;
+	}
+
+	private static long median(long[] values) {
+
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+}
@@ -0,0 +1,80 @@
+package com.rohitThebest.aopdemo.benchmark;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.DemoConfig;
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.dao.MembershipDAO;
+
+/*
+ * Startup and throughput of the real DemoConfig context, in whatever weaving
+ * mode this JVM was started with. Run it once per mode and compare:
+ * 
+ *   proxy mode:
+ *     java -cp bin:lib/* com.rohitThebest.aopdemo.benchmark.WeavingModeBenchmark
+ * 
+ *   load-time weaving mode (see DemoConfig.LoadTimeWeavingConfig):
+ *     java -javaagent:aspectjweaver.jar --add-opens java.base/java.lang=ALL-UNNAMED
+ *          -Dspring.profiles.active=ltw -cp bin:lib/* com.rohitThebest.aopdemo.benchmark.WeavingModeBenchmark
+ * 
+ * Startup is the time of the first context refresh (class loading, and
+ * weaving in ltw mode, included) and the JVM uptime when the context was
+ * ready (which also includes the weaver agent's own startup).
+ */
+public class WeavingModeBenchmark {
+
+	public static void main(String[] args) {
+
+		// the aspects log through the console, keep it for the results only
+		PrintStream console = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+		String mode = System.getProperty("spring.profiles.active", "").contains("ltw") ? "ltw" : "proxy";
+
+		long begin = System.nanoTime();
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(DemoConfig.class);
+		long startupNanos = System.nanoTime() - begin;
+		long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+		try {
+
+			console.println("Mode: " + mode);
+			console.printf("Context startup: %.1f ms, JVM uptime at ready: %d ms%n%n",
+					startupNanos / 1e6, uptimeMillis);
+
+			AccountDAO accountDao = context.getBean("accountDAO", AccountDAO.class);
+			MembershipDAO membershipDAO = context.getBean("membershipDAO", MembershipDAO.class);
+			Account account = new Account("Rohit", "Platinum");
+
+			console.println(MicroBenchmark.header());
+
+			console.println(MicroBenchmark.run(mode + " AccountDAO.addAccount(Account)", () -> {
+				accountDao.addAccount(account);
+				return null;
+			}));
+
+			console.println(MicroBenchmark.run(mode + " AccountDAO.findAccounts(false)",
+					() -> accountDao.findAccounts(false)));
+
+			console.println(MicroBenchmark.run(mode + " MembershipDAO.addAccount()", () -> {
+				membershipDAO.addAccount();
+				return null;
+			}));
+
+		} finally {
+
+			context.close();
+			System.setOut(console);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.rohitThebest.aopdemo.cache;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.Arrays;
+
+/*
+ * Derives a cache key from the arguments of an advised method call.
+ * 
+ * No arguments -> one shared key, a single non-array argument -> the argument
+ * itself (Boolean.TRUE / Boolean.FALSE for getFortune(boolean), no wrapper
+ * needed), anything else -> a key comparing the arguments with deepEquals().
+ */
+final class CacheKey {
+
+	static final Object NO_ARGS = new Object() {
+
+		@Override
+		public String toString() {
+			return "()";
+		}
+	};
+
+	private final Object[] args;
+	private final int hashCode;
+
+	private CacheKey(Object[] args) {
+		this.args = args;
+		this.hashCode = Arrays.deepHashCode(args);
+	}
+
+	static Object of(Object[] args) {
+
+		if (args.length == 0) {
+			return NO_ARGS;
+		}
+
+		if (args.length == 1 && args[0] != null && !args[0].getClass().isArray()) {
+			return args[0];
+		}
+
+		return new CacheKey(args);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+
+		return other instanceof CacheKey
+				&& Arrays.deepEquals(args, ((CacheKey) other).args);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.deepToString(args);
+	}
+}
@@ -0,0 +1,89 @@
+package com.rohitThebest.aopdemo.cache;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * An immutable copy of the counters of one ResultCache.
+ */
+public class CacheStats {
+
+	private final String name;
+	private final long hitCount;
+	private final long missCount;
+	private final long loadCount;
+	private final long loadFailureCount;
+	private final long coalescedLoadCount;
+	private final long totalLoadNanos;
+	private final long evictionCount;
+	private final int size;
+
+	CacheStats(String name, long hitCount, long missCount, long loadCount, long loadFailureCount,
+			long coalescedLoadCount, long totalLoadNanos, long evictionCount, int size) {
+		this.name = name;
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.loadCount = loadCount;
+		this.loadFailureCount = loadFailureCount;
+		this.coalescedLoadCount = coalescedLoadCount;
+		this.totalLoadNanos = totalLoadNanos;
+		this.evictionCount = evictionCount;
+		this.size = size;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	public double getHitRate() {
+
+		long requests = hitCount + missCount;
+		return requests == 0 ? 0 : (double) hitCount / requests;
+	}
+
+	public long getLoadCount() {
+		return loadCount;
+	}
+
+	public long getLoadFailureCount() {
+		return loadFailureCount;
+	}
+
+	/*
+	 * Misses that waited for another thread's load instead of loading themselves
+	 */
+	public long getCoalescedLoadCount() {
+		return coalescedLoadCount;
+	}
+
+	public double getAverageLoadMillis() {
+		return loadCount == 0 ? 0 : totalLoadNanos / 1_000_000.0 / loadCount;
+	}
+
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats [name=" + name + ", hits=" + hitCount + ", misses=" + missCount
+				+ ", hitRate=" + String.format("%.2f", getHitRate()) + ", loads=" + loadCount
+				+ ", loadFailures=" + loadFailureCount + ", coalesced=" + coalescedLoadCount
+				+ ", avgLoad=" + String.format("%.3f", getAverageLoadMillis()) + "ms"
+				+ ", evictions=" + evictionCount + ", size=" + size + "]";
+	}
+}
@@ -0,0 +1,32 @@
+package com.rohitThebest.aopdemo.cache;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Marks a method whose result is cached by MyCachingAspect.
+ * 
+ * Every annotated method gets its own ResultCache, the cache key is derived
+ * from the method arguments, so getFortune(true) and getFortune(false) are
+ * cached separately. Exceptions are never cached.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cached {
+
+	long ttl() default 60;
+
+	TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+	int maxSize() default 1000;
+
+	EvictionPolicy eviction() default EvictionPolicy.LRU;
+}
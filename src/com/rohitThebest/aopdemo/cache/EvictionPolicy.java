@@ -0,0 +1,25 @@
+package com.rohitThebest.aopdemo.cache;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * Which entry a full ResultCache throws away to make room for a new one.
+ */
+public enum EvictionPolicy {
+
+	/*
+	 * Least recently used entry is evicted.
+	 */
+	LRU,
+
+	/*
+	 * W-TinyLFU: new entries go into a small LRU "window"; an entry leaving the
+	 * window is only admitted into the main LRU area if it has been requested
+	 * more often (according to a FrequencySketch) than the entry it would
+	 * replace. Protects the popular entries from a burst of one-hit wonders.
+	 */
+	TINY_LFU
+}
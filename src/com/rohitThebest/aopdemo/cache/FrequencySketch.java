@@ -0,0 +1,87 @@
+package com.rohitThebest.aopdemo.cache;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * A count-min sketch estimating how often a key has been requested, used by
+ * the TinyLFU admission of ResultCache.
+ * 
+ * Four hash functions index into a small array of counters, the estimate is
+ * the minimum of the four. After sampleSize increments every counter is
+ * halved, so old popularity fades away. Not thread-safe, ResultCache guards it.
+ */
+final class FrequencySketch {
+
+	private static final int[] SEEDS = { 0x97cb3127, 0xb7e15163, 0x8f5a1e2d, 0x6a09e667 };
+	private static final int MAX_COUNT = 15;
+
+	private final byte[] counters;
+	private final int mask;
+	private final int sampleSize;
+	private int additions;
+
+	FrequencySketch(int maximumSize) {
+
+		int size = Integer.highestOneBit(Math.max(16, maximumSize) - 1) << 1;
+
+		this.counters = new byte[size * 4];
+		this.mask = counters.length - 1;
+		this.sampleSize = 10 * size;
+	}
+
+	void increment(Object key) {
+
+		int hash = spread(key.hashCode());
+		boolean added = false;
+
+		for (int seed : SEEDS) {
+
+			int index = indexOf(hash, seed);
+
+			if (counters[index] < MAX_COUNT) {
+				counters[index]++;
+				added = true;
+			}
+		}
+
+		if (added && ++additions >= sampleSize) {
+			reset();
+		}
+	}
+
+	int frequency(Object key) {
+
+		int hash = spread(key.hashCode());
+		int frequency = MAX_COUNT;
+
+		for (int seed : SEEDS) {
+			frequency = Math.min(frequency, counters[indexOf(hash, seed)]);
+		}
+
+		return frequency;
+	}
+
+	private void reset() {
+
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] >>>= 1;
+		}
+
+		additions /= 2;
+	}
+
+	private int indexOf(int hash, int seed) {
+
+		int h = (hash ^ seed) * 0x9e3779b9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	private static int spread(int hash) {
+
+		int h = hash * 0x85ebca6b;
+		return h ^ (h >>> 13);
+	}
+}
@@ -0,0 +1,271 @@
+package com.rohitThebest.aopdemo.cache;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * A bounded cache of method results with a time-to-live, LRU or W-TinyLFU
+ * eviction and single-flight loading.
+ * 
+ * Single-flight: when several threads miss on the same key at the same time
+ * only the first one (the "leader") calls the loader, the others wait for the
+ * leader's result. So ten concurrent getFortune() misses cost one 5 second
+ * call, not ten. If the load fails every waiting caller gets the exception
+ * and nothing is cached.
+ */
+public class ResultCache {
+
+	@FunctionalInterface
+	public interface Loader {
+
+		Object load() throws Throwable;
+	}
+
+	// stands in for a cached null result, so null can mean "not cached"
+	private static final Object NULL_VALUE = new Object();
+
+	private final String name;
+	private final long ttlNanos;
+	private final EvictionPolicy evictionPolicy;
+
+	private final int windowMaxSize;
+	private final int mainMaxSize;
+	private final LinkedHashMap<Object, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+	private final LinkedHashMap<Object, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+	private final FrequencySketch sketch;
+
+	private final Map<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder loads = new LongAdder();
+	private final LongAdder loadFailures = new LongAdder();
+	private final LongAdder coalescedLoads = new LongAdder();
+	private final LongAdder totalLoadNanos = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public ResultCache(String name, long ttlNanos, int maxSize, EvictionPolicy evictionPolicy) {
+
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+		}
+
+		this.name = name;
+		this.ttlNanos = ttlNanos;
+		this.evictionPolicy = evictionPolicy;
+
+		if (evictionPolicy == EvictionPolicy.TINY_LFU) {
+
+			// the usual W-TinyLFU split: 1% window, 99% main area
+			this.windowMaxSize = Math.max(1, maxSize / 100);
+			this.mainMaxSize = Math.max(1, maxSize - windowMaxSize);
+			this.sketch = new FrequencySketch(maxSize);
+		} else {
+
+			this.windowMaxSize = 0;
+			this.mainMaxSize = maxSize;
+			this.sketch = null;
+		}
+	}
+
+	public Object get(Object[] args, Loader loader) throws Throwable {
+
+		Object key = CacheKey.of(args);
+		Object value = getIfPresent(key);
+
+		if (value != null) {
+
+			hits.increment();
+			return unmask(value);
+		}
+
+		misses.increment();
+
+		CompletableFuture<Object> flight = new CompletableFuture<>();
+		CompletableFuture<Object> leader = loading.putIfAbsent(key, flight);
+
+		if (leader != null) {
+
+			coalescedLoads.increment();
+			return await(leader);
+		}
+
+		try {
+
+			// a previous leader may have stored the value after our first check
+			value = getIfPresent(key);
+
+			if (value == null) {
+
+				long begin = System.nanoTime();
+
+				try {
+					value = mask(loader.load());
+				} finally {
+					totalLoadNanos.add(System.nanoTime() - begin);
+					loads.increment();
+				}
+
+				put(key, value);
+			}
+
+			flight.complete(value);
+			return unmask(value);
+
+		} catch (Throwable e) {
+
+			loadFailures.increment();
+			flight.completeExceptionally(e);
+			throw e;
+
+		} finally {
+
+			loading.remove(key, flight);
+		}
+	}
+
+	public synchronized void invalidateAll() {
+
+		window.clear();
+		main.clear();
+	}
+
+	public synchronized int size() {
+		return window.size() + main.size();
+	}
+
+	public CacheStats stats() {
+
+		return new CacheStats(name, hits.sum(), misses.sum(), loads.sum(), loadFailures.sum(),
+				coalescedLoads.sum(), totalLoadNanos.sum(), evictions.sum(), size());
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public EvictionPolicy getEvictionPolicy() {
+		return evictionPolicy;
+	}
+
+	// ---------------------------
+
+	private synchronized Object getIfPresent(Object key) {
+
+		if (sketch != null) {
+			sketch.increment(key);
+		}
+
+		Entry entry = main.get(key);
+		Map<Object, Entry> area = main;
+
+		if (entry == null && sketch != null) {
+			entry = window.get(key);
+			area = window;
+		}
+
+		if (entry == null) {
+			return null;
+		}
+
+		if (entry.isExpired(System.nanoTime())) {
+			area.remove(key);
+			return null;
+		}
+
+		return entry.value;
+	}
+
+	private synchronized void put(Object key, Object value) {
+
+		Entry entry = new Entry(key, value, System.nanoTime() + ttlNanos);
+
+		if (sketch == null || main.containsKey(key)) {
+
+			main.put(key, entry);
+
+			if (main.size() > mainMaxSize) {
+				removeEldest(main);
+				evictions.increment();
+			}
+			return;
+		}
+
+		window.put(key, entry);
+
+		if (window.size() <= windowMaxSize) {
+			return;
+		}
+
+		// the window is full: its eldest entry is the candidate for the main area
+		Entry candidate = removeEldest(window);
+
+		if (main.size() < mainMaxSize) {
+			main.put(candidate.key, candidate);
+			return;
+		}
+
+		Entry victim = main.entrySet().iterator().next().getValue();
+
+		if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+
+			main.remove(victim.key);
+			main.put(candidate.key, candidate);
+		}
+
+		// either the victim or the candidate has been thrown away
+		evictions.increment();
+	}
+
+	private static Entry removeEldest(Map<Object, Entry> area) {
+
+		Iterator<Entry> iterator = area.values().iterator();
+		Entry eldest = iterator.next();
+		iterator.remove();
+		return eldest;
+	}
+
+	private static Object await(CompletableFuture<Object> leader) throws Throwable {
+
+		try {
+			return unmask(leader.get());
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static Object mask(Object value) {
+		return value == null ? NULL_VALUE : value;
+	}
+
+	private static Object unmask(Object value) {
+		return value == NULL_VALUE ? null : value;
+	}
+
+	private static final class Entry {
+
+		final Object key;
+		final Object value;
+		final long expiresAt;
+
+		Entry(Object key, Object value, long expiresAt) {
+			this.key = key;
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean isExpired(long now) {
+			return now - expiresAt >= 0;
+		}
+	}
+}
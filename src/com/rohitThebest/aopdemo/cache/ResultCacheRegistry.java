@@ -0,0 +1,59 @@
+package com.rohitThebest.aopdemo.cache;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.metrics.MethodSignatures;
+
+/*
+ * Holds the ResultCache of every @Cached method, created on the first call.
+ */
+@Component
+public class ResultCacheRegistry {
+
+	private final Map<Method, ResultCache> caches = new ConcurrentHashMap<>();
+
+	public ResultCache cacheFor(Method method, Cached cached) {
+
+		ResultCache cache = caches.get(method);
+
+		if (cache == null) {
+
+			cache = caches.computeIfAbsent(method, m -> new ResultCache(
+					MethodSignatures.of(m),
+					cached.timeUnit().toNanos(cached.ttl()),
+					cached.maxSize(),
+					cached.eviction()));
+		}
+
+		return cache;
+	}
+
+	public List<CacheStats> stats() {
+
+		List<CacheStats> stats = new ArrayList<>();
+
+		for (ResultCache cache : caches.values()) {
+			stats.add(cache.stats());
+		}
+
+		return stats;
+	}
+
+	public void invalidateAll() {
+
+		for (ResultCache cache : caches.values()) {
+			cache.invalidateAll();
+		}
+	}
+}
@@ -0,0 +1,517 @@
+package com.rohitThebest.aopdemo.control;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AbstractAspectJAdvice;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.framework.AdvisedSupport;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedOperationParameter;
+import org.springframework.jmx.export.annotation.ManagedOperationParameters;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.util.ReflectionUtils;
+
+import com.rohitThebest.aopdemo.aspect.AOPExpressions;
+
+/*
+ * Switches advices on and off, and retargets them, while the application runs.
+ *
+ * Advices are named like the samplers, "MyApiAnalyticsAspect.performApiAnalyticsAdvice",
+ * pointcuts by their method in AOPExpressions, "forDaoPackage":
+ *
+ *   setAdviceEnabled("MyApiAnalyticsAspect.performApiAnalyticsAdvice", false)
+ *   retargetAdvice("MyApiAnalyticsAspect.performApiAnalyticsAdvice", "forDaoPackage() && execution(* add*(..))")
+ *   setPointcutEnabled("forDaoPackageNotGetterSetter", false)   every advice using it
+ *   retargetPointcut("forDaoPackage", "execution(* com.rohitThebest.aopdemo.dao.AccountDAO.*(..))")
+ *
+ * The same operations are exported over JMX (DemoConfig enables the export),
+ * as com.rohitThebest.aopdemo:type=AdviceControl, e.g. in jconsole.
+ *
+ * A switched off advice is not skipped on each call, it is left out of the
+ * interceptor chains: the proxies build their chains with a
+ * SwitchingAdvisorChainFactory, which asks this class for the advisors, and a
+ * change empties the chains cached by every proxy, so they are built again on
+ * their next call. Calls already running finish with their old chain. A
+ * switched off advice costs nothing at all on the call path.
+ *
+ * The auto-proxy creator of DemoConfig registers its instance as the bean
+ * "adviceControl", like the CompiledPointcutCache. What it cannot change:
+ *   - the proxies themselves: a bean gets a proxy, and a proxy gets its
+ *     advisors, when it is created. Retargeting moves an advice within the
+ *     advised beans, it cannot add one to a bean it did not apply to then.
+ *   - an advice that binds parameters keeps its own pointcut for them, see
+ *     RetargetedPointcut.
+ *   - the "ltw" mode: the advices are woven into the classes.
+ */
+@ManagedResource(objectName = AdviceControl.OBJECT_NAME, description = "Switches the advices on and off at runtime")
+public class AdviceControl {
+
+	public static final String BEAN_NAME = "adviceControl";
+
+	public static final String OBJECT_NAME = "com.rohitThebest.aopdemo:type=AdviceControl";
+
+	/*
+	 * Spring empties the chains a proxy caches per method in adviceChanged(),
+	 * which it runs when advisors are added to or removed from a proxy at
+	 * runtime. It is protected.
+	 */
+	private static final Method ADVICE_CHANGED = ReflectionUtils.findMethod(AdvisedSupport.class, "adviceChanged");
+
+	static {
+		ReflectionUtils.makeAccessible(ADVICE_CHANGED);
+	}
+
+	/*
+	 * The names Spring bound the parameters of an advice method with: from its
+	 * argNames, the debug info or the pointcut. It keeps them in this private
+	 * field only, the class files need not have the names.
+	 */
+	private static final Field ARGUMENT_NAMES = ReflectionUtils.findField(AbstractAspectJAdvice.class, "argumentNames");
+
+	static {
+		ReflectionUtils.makeAccessible(ARGUMENT_NAMES);
+	}
+
+	private final List<AdvisedSupport> proxies = new CopyOnWriteArrayList<>();
+
+	private volatile State state = new State(0, Set.of(), Map.of(), Set.of(), Map.of());
+
+	/*
+	 * Called by the auto-proxy creator for every proxy it creates
+	 */
+	public void register(AdvisedSupport proxy) {
+		proxies.add(proxy);
+	}
+
+	// ---------------------------
+
+	@ManagedAttribute(description = "The advices of the proxies, with their state")
+	public String[] getAdvices() {
+
+		List<String> advices = new ArrayList<>();
+
+		for (Map.Entry<String, Advisor> advice : adviceNames().entrySet()) {
+			advices.add(advice.getKey() + " : " + describe(advice.getKey(), advice.getValue()));
+		}
+
+		return advices.toArray(new String[0]);
+	}
+
+	@ManagedAttribute(description = "The pointcuts of AOPExpressions, with their state")
+	public String[] getPointcuts() {
+
+		State current = state;
+		List<String> pointcuts = new ArrayList<>();
+
+		for (String pointcut : pointcutNames()) {
+
+			String target = current.pointcutTargets.get(pointcut);
+
+			pointcuts.add(pointcut + " : " + (current.disabledPointcuts.contains(pointcut) ? "off"
+					: target != null ? "on, " + target : "on"));
+		}
+
+		return pointcuts.toArray(new String[0]);
+	}
+
+	public boolean isAdviceEnabled(String advice) {
+
+		checkAdvice(advice);
+		return !state.disabledAdvices.contains(advice);
+	}
+
+	@ManagedOperation(description = "Switches an advice on or off")
+	@ManagedOperationParameters({
+			@ManagedOperationParameter(name = "advice", description = "e.g. MyApiAnalyticsAspect.performApiAnalyticsAdvice"),
+			@ManagedOperationParameter(name = "enabled", description = "true: on, false: off") })
+	public synchronized void setAdviceEnabled(String advice, boolean enabled) {
+
+		checkAdvice(advice);
+
+		Set<String> disabled = new HashSet<>(state.disabledAdvices);
+
+		if (enabled) {
+			disabled.remove(advice);
+		} else {
+			disabled.add(advice);
+		}
+
+		apply(state.withDisabledAdvices(disabled));
+	}
+
+	/*
+	 * expression: an AspectJ pointcut expression, it may use the pointcuts of
+	 * AOPExpressions by their simple name. null or empty: back to its own.
+	 */
+	@ManagedOperation(description = "Applies an advice where a new pointcut expression matches")
+	@ManagedOperationParameters({
+			@ManagedOperationParameter(name = "advice", description = "e.g. MyApiAnalyticsAspect.performApiAnalyticsAdvice"),
+			@ManagedOperationParameter(name = "expression", description = "e.g. forDaoPackage() && execution(* add*(..)), empty: its own") })
+	public synchronized void retargetAdvice(String advice, String expression) {
+
+		checkAdvice(advice);
+		apply(state.withAdviceTargets(with(state.adviceTargets, advice, expression)));
+	}
+
+	@ManagedOperation(description = "Switches every advice using a pointcut of AOPExpressions on or off")
+	@ManagedOperationParameters({
+			@ManagedOperationParameter(name = "pointcut", description = "e.g. forDaoPackage"),
+			@ManagedOperationParameter(name = "enabled", description = "true: on, false: off") })
+	public synchronized void setPointcutEnabled(String pointcut, boolean enabled) {
+
+		checkPointcut(pointcut);
+
+		Set<String> disabled = new HashSet<>(state.disabledPointcuts);
+
+		if (enabled) {
+			disabled.remove(pointcut);
+		} else {
+			disabled.add(pointcut);
+		}
+
+		apply(state.withDisabledPointcuts(disabled));
+	}
+
+	/*
+	 * Every advice using the pointcut, directly or through another named
+	 * pointcut, now uses the new expression in its place. null or empty: back
+	 * to its own.
+	 */
+	@ManagedOperation(description = "Gives a pointcut of AOPExpressions a new expression")
+	@ManagedOperationParameters({
+			@ManagedOperationParameter(name = "pointcut", description = "e.g. forDaoPackage"),
+			@ManagedOperationParameter(name = "expression", description = "an AspectJ pointcut expression, empty: its own") })
+	public synchronized void retargetPointcut(String pointcut, String expression) {
+
+		checkPointcut(pointcut);
+		apply(state.withPointcutTargets(with(state.pointcutTargets, pointcut, expression)));
+	}
+
+	@ManagedOperation(description = "Switches every advice back on, with its own pointcut")
+	public synchronized void reset() {
+
+		if (state.isDefault()) {
+			return;
+		}
+
+		apply(new State(state.generation + 1, Set.of(), Map.of(), Set.of(), Map.of()));
+	}
+
+	@ManagedOperation(description = "The state of the advices and pointcuts")
+	public String report() {
+
+		StringBuilder report = new StringBuilder("Advices:");
+
+		for (String advice : getAdvices()) {
+			report.append("\n  ").append(advice);
+		}
+
+		State current = state;
+
+		if (!current.disabledPointcuts.isEmpty() || !current.pointcutTargets.isEmpty()) {
+
+			report.append("\nPointcuts:");
+
+			for (String pointcut : getPointcuts()) {
+
+				if (!pointcut.endsWith(" : on")) {
+					report.append("\n  ").append(pointcut);
+				}
+			}
+		}
+
+		return report.toString();
+	}
+
+	// ---------------------------
+
+	/*
+	 * Something is switched off or retargeted: the chains are built with
+	 * effective()
+	 */
+	boolean isSwitched() {
+		return !state.isDefault();
+	}
+
+	// changes with every switch, see SwitchingAdvisorChainFactory
+	long getGeneration() {
+		return state.generation;
+	}
+
+	/*
+	 * The advisor to build the chains with: the advisor itself, one with its
+	 * new pointcut, or null when it is switched off
+	 */
+	Advisor effective(Advisor advisor) {
+
+		State current = state;
+
+		if (current.isDefault()) {
+			return advisor;
+		}
+
+		Optional<Advisor> effective = current.effective.get(advisor);
+
+		if (effective == null) {
+			effective = current.effective.computeIfAbsent(advisor, key -> Optional.ofNullable(resolve(key, current)));
+		}
+
+		return effective.orElse(null);
+	}
+
+	private void apply(State next) {
+
+		// every advisor is resolved before anything changes: a bad expression fails here
+		for (Advisor advisor : advisors()) {
+			next.effective.put(advisor, Optional.ofNullable(resolve(advisor, next)));
+		}
+
+		state = next;
+
+		for (AdvisedSupport proxy : proxies) {
+			ReflectionUtils.invokeMethod(ADVICE_CHANGED, proxy);
+		}
+	}
+
+	private static Advisor resolve(Advisor advisor, State state) {
+
+		AbstractAspectJAdvice advice = aspectJAdvice(advisor);
+
+		if (advice == null) {
+			return advisor;
+		}
+
+		Method adviceMethod = advice.getAspectJAdviceMethod();
+		String name = adviceName(adviceMethod);
+
+		if (state.disabledAdvices.contains(name)) {
+			return null;
+		}
+
+		String ownExpression = advice.getPointcut().getExpression();
+		String newExpression = state.adviceTargets.get(name);
+		Class<?> scope = adviceMethod.getDeclaringClass();
+		Map<String, Class<?>> formals = formals(advice);
+
+		PointcutExpansion expansion = PointcutExpansion.expand(newExpression != null ? newExpression : ownExpression,
+				scope, state.pointcutTargets, formals);
+
+		if (!Collections.disjoint(expansion.getReferences(), state.disabledPointcuts)) {
+			return null;
+		}
+
+		if (newExpression == null && expansion.getRetargeted().isEmpty()) {
+			return advisor;
+		}
+
+		AspectJExpressionPointcut target = new AspectJExpressionPointcut();
+		target.setPointcutDeclarationScope(scope);
+		target.setExpression(expansion.getExpression());
+
+		// parses it: IllegalArgumentException when it is not a valid expression
+		target.getPointcutExpression();
+
+		boolean binds = newExpression == null ? expansion.bindsFormal()
+				: PointcutExpansion.expand(ownExpression, scope, Map.of(), formals).bindsFormal();
+
+		AspectJExpressionPointcut binding = binds ? advice.getPointcut() : null;
+
+		String description = newExpression != null ? newExpression
+				: "retargeted " + String.join(", ", expansion.getRetargeted());
+
+		return new DefaultPointcutAdvisor(new RetargetedPointcut(target, binding, description), advice);
+	}
+
+	// the parameters of an advice method its pointcut can bind, by name
+	private static Map<String, Class<?>> formals(AbstractAspectJAdvice advice) {
+
+		Class<?>[] types = advice.getAspectJAdviceMethod().getParameterTypes();
+		String[] names = (String[]) ReflectionUtils.getField(ARGUMENT_NAMES, advice);
+
+		if (names == null || names.length != types.length) {
+			return Map.of();
+		}
+
+		Map<String, Class<?>> formals = new HashMap<>();
+
+		for (int i = 0; i < names.length; i++) {
+
+			if (!JoinPoint.class.isAssignableFrom(types[i]) && types[i] != JoinPoint.StaticPart.class) {
+				formals.put(names[i], types[i]);
+			}
+		}
+
+		return formals;
+	}
+
+	private String describe(String advice, Advisor advisor) {
+
+		State current = state;
+
+		if (current.disabledAdvices.contains(advice)) {
+			return "off";
+		}
+
+		Advisor effective = effective(advisor);
+
+		if (effective == null) {
+			return "off (pointcut)";
+		}
+
+		return effective == advisor ? "on" : "on, " + ((DefaultPointcutAdvisor) effective).getPointcut();
+	}
+
+	// advice name -> one of its advisors, of all the proxies
+	private Map<String, Advisor> adviceNames() {
+
+		Map<String, Advisor> advices = new TreeMap<>();
+
+		for (Advisor advisor : advisors()) {
+
+			AbstractAspectJAdvice advice = aspectJAdvice(advisor);
+
+			if (advice != null) {
+				advices.putIfAbsent(adviceName(advice.getAspectJAdviceMethod()), advisor);
+			}
+		}
+
+		return advices;
+	}
+
+	private Set<Advisor> advisors() {
+
+		Set<Advisor> advisors = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		for (AdvisedSupport proxy : proxies) {
+			Collections.addAll(advisors, proxy.getAdvisors());
+		}
+
+		return advisors;
+	}
+
+	private static Set<String> pointcutNames() {
+
+		Set<String> names = new TreeSet<>();
+
+		for (Method method : AOPExpressions.class.getDeclaredMethods()) {
+
+			if (method.isAnnotationPresent(Pointcut.class)) {
+				names.add(method.getName());
+			}
+		}
+
+		return names;
+	}
+
+	private void checkAdvice(String advice) {
+
+		if (!adviceNames().containsKey(advice)) {
+			throw new IllegalArgumentException("Unknown advice: " + advice + ", the advices are "
+					+ adviceNames().keySet());
+		}
+	}
+
+	private static void checkPointcut(String pointcut) {
+
+		if (!pointcutNames().contains(pointcut)) {
+			throw new IllegalArgumentException("Unknown pointcut: " + pointcut + ", the pointcuts of AOPExpressions are "
+					+ pointcutNames());
+		}
+	}
+
+	private static Map<String, String> with(Map<String, String> targets, String name, String expression) {
+
+		Map<String, String> changed = new LinkedHashMap<>(targets);
+
+		if (expression == null || expression.trim().isEmpty()) {
+			changed.remove(name);
+		} else {
+			changed.put(name, expression.trim());
+		}
+
+		return changed;
+	}
+
+	private static AbstractAspectJAdvice aspectJAdvice(Advisor advisor) {
+		return advisor.getAdvice() instanceof AbstractAspectJAdvice ? (AbstractAspectJAdvice) advisor.getAdvice() : null;
+	}
+
+	static String adviceName(Method adviceMethod) {
+		return adviceMethod.getDeclaringClass().getSimpleName() + "." + adviceMethod.getName();
+	}
+
+	// ---------------------------
+
+	/*
+	 * What is switched, never changed once published: a switch publishes a new
+	 * state, with its own resolved advisors
+	 */
+	private static final class State {
+
+		final long generation;
+		final Set<String> disabledAdvices;
+		final Map<String, String> adviceTargets;
+		final Set<String> disabledPointcuts;
+		final Map<String, String> pointcutTargets;
+
+		// advisor -> the advisor to build the chains with, empty when switched off
+		final Map<Advisor, Optional<Advisor>> effective = new ConcurrentHashMap<>();
+
+		State(long generation, Set<String> disabledAdvices, Map<String, String> adviceTargets,
+				Set<String> disabledPointcuts, Map<String, String> pointcutTargets) {
+
+			this.generation = generation;
+			this.disabledAdvices = disabledAdvices;
+			this.adviceTargets = adviceTargets;
+			this.disabledPointcuts = disabledPointcuts;
+			this.pointcutTargets = pointcutTargets;
+		}
+
+		boolean isDefault() {
+
+			return disabledAdvices.isEmpty() && adviceTargets.isEmpty() && disabledPointcuts.isEmpty()
+					&& pointcutTargets.isEmpty();
+		}
+
+		State withDisabledAdvices(Set<String> disabled) {
+			return new State(generation + 1, disabled, adviceTargets, disabledPointcuts, pointcutTargets);
+		}
+
+		State withAdviceTargets(Map<String, String> targets) {
+			return new State(generation + 1, disabledAdvices, targets, disabledPointcuts, pointcutTargets);
+		}
+
+		State withDisabledPointcuts(Set<String> disabled) {
+			return new State(generation + 1, disabledAdvices, adviceTargets, disabled, pointcutTargets);
+		}
+
+		State withPointcutTargets(Map<String, String> targets) {
+			return new State(generation + 1, disabledAdvices, adviceTargets, disabledPointcuts, targets);
+		}
+	}
+}
@@ -0,0 +1,264 @@
+package com.rohitThebest.aopdemo.control;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.rohitThebest.aopdemo.aspect.AOPExpressions;
+
+/*
+ * The text of a pointcut expression with every reference to a named pointcut,
+ * like "com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()",
+ * replaced by the expression of the @Pointcut method, or by the expression a
+ * pointcut of AOPExpressions has been retargeted to:
+ *
+ *   forDaoPackage() && !(getters() || setters())
+ *
+ * with forDaoPackage retargeted to "execution(* com.rohitThebest.aopdemo.dao.AccountDAO.*(..))"
+ * becomes
+ *
+ *   (execution(* com.rohitThebest.aopdemo.dao.AccountDAO.*(..))) && !((execution(...)) || (execution(...)))
+ *
+ * It also records which pointcuts of AOPExpressions the expression uses, so
+ * switching off a pointcut switches off every advice using it.
+ *
+ * formals: the parameters an advice binds, by name. In args(), this(),
+ * @annotation(), ... they are replaced by their types: args(account) becomes
+ * args(com.rohitThebest.aopdemo.Account), which matches the same calls
+ * without binding anything.
+ */
+final class PointcutExpansion {
+
+	private static final Set<String> BINDING_DESIGNATORS = Set.of("args", "this", "target", "@args", "@this",
+			"@target", "@within", "@annotation");
+
+	private static final int MAX_REFERENCE_DEPTH = 16;
+
+	private final Map<String, String> retargeted;
+	private final Map<String, Class<?>> formals;
+	private final Set<String> references = new HashSet<>();
+	private final Set<String> retargetedReferences = new TreeSet<>();
+	private final StringBuilder out = new StringBuilder();
+
+	private boolean bindsFormal;
+
+	private PointcutExpansion(Map<String, String> retargeted, Map<String, Class<?>> formals) {
+		this.retargeted = retargeted;
+		this.formals = formals;
+	}
+
+	/*
+	 * retargeted: pointcut of AOPExpressions -> its new expression
+	 */
+	static PointcutExpansion expand(String expression, Class<?> scope, Map<String, String> retargeted,
+			Map<String, Class<?>> formals) {
+
+		PointcutExpansion expansion = new PointcutExpansion(retargeted, formals);
+		expansion.append(expression, scope, 0);
+		return expansion;
+	}
+
+	String getExpression() {
+		return out.toString();
+	}
+
+	// the pointcuts of AOPExpressions the expression uses, after retargeting
+	Set<String> getReferences() {
+		return references;
+	}
+
+	// the retargeted pointcuts it uses
+	Set<String> getRetargeted() {
+		return retargetedReferences;
+	}
+
+	// it binds a parameter of the advice
+	boolean bindsFormal() {
+		return bindsFormal;
+	}
+
+	// ---------------------------
+
+	private void append(String text, Class<?> scope, int depth) {
+
+		if (depth > MAX_REFERENCE_DEPTH) {
+			throw new IllegalArgumentException("pointcut references nested too deep: " + text);
+		}
+
+		int position = 0;
+
+		while (position < text.length()) {
+
+			char c = text.charAt(position);
+
+			if (!isNameStart(c)) {
+
+				out.append(c);
+				position++;
+				continue;
+			}
+
+			int begin = position;
+
+			while (position < text.length() && isNamePart(text.charAt(position))) {
+				position++;
+			}
+
+			String name = text.substring(begin, position);
+			int open = position;
+
+			while (open < text.length() && Character.isWhitespace(text.charAt(open))) {
+				open++;
+			}
+
+			if (open >= text.length() || text.charAt(open) != '(') {
+
+				out.append(name);
+				continue;
+			}
+
+			int close = matchingParenthesis(text, open);
+			String arguments = text.substring(open + 1, close);
+			position = close + 1;
+
+			Method reference = arguments.trim().isEmpty() && !name.startsWith("@") ? pointcutMethod(name, scope) : null;
+
+			if (reference != null) {
+
+				out.append('(');
+				appendReference(reference, depth);
+				out.append(')');
+
+			} else if (BINDING_DESIGNATORS.contains(name)) {
+
+				out.append(name).append('(').append(replaceFormals(arguments)).append(')');
+			} else {
+
+				out.append(name).append('(').append(arguments).append(')');
+			}
+		}
+	}
+
+	private void appendReference(Method reference, int depth) {
+
+		if (reference.getDeclaringClass() == AOPExpressions.class) {
+
+			String name = reference.getName();
+			String expression = retargeted.get(name);
+
+			if (expression != null) {
+
+				retargetedReferences.add(name);
+				append(expression, AOPExpressions.class, depth + 1);
+				return;
+			}
+
+			references.add(name);
+		}
+
+		append(reference.getAnnotation(Pointcut.class).value(), reference.getDeclaringClass(), depth + 1);
+	}
+
+	private String replaceFormals(String arguments) {
+
+		StringBuilder replaced = new StringBuilder();
+		int position = 0;
+
+		while (position < arguments.length()) {
+
+			char c = arguments.charAt(position);
+
+			if (!isNameStart(c) || c == '@') {
+
+				replaced.append(c);
+				position++;
+				continue;
+			}
+
+			int begin = position;
+
+			while (position < arguments.length() && isNamePart(arguments.charAt(position))) {
+				position++;
+			}
+
+			String name = arguments.substring(begin, position);
+			Class<?> type = formals.get(name);
+
+			if (type != null) {
+
+				bindsFormal = true;
+				replaced.append(type.getTypeName());
+			} else {
+				replaced.append(name);
+			}
+		}
+
+		return replaced.toString();
+	}
+
+	/*
+	 * The @Pointcut method of a reference, null when it is not one. Unqualified
+	 * names are looked up in the scope, then in AOPExpressions, so a new
+	 * expression can simply say "forDaoPackage()".
+	 */
+	private static Method pointcutMethod(String reference, Class<?> scope) {
+
+		int dot = reference.lastIndexOf('.');
+
+		if (dot < 0) {
+
+			Method method = annotatedMethod(scope, reference);
+			return method != null ? method : annotatedMethod(AOPExpressions.class, reference);
+		}
+
+		try {
+
+			Class<?> owner = ClassUtils.forName(reference.substring(0, dot), scope.getClassLoader());
+			return annotatedMethod(owner, reference.substring(dot + 1));
+
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+	}
+
+	private static Method annotatedMethod(Class<?> owner, String name) {
+
+		Method method = ReflectionUtils.findMethod(owner, name);
+		return method != null && method.isAnnotationPresent(Pointcut.class) ? method : null;
+	}
+
+	private static int matchingParenthesis(String text, int open) {
+
+		int depth = 0;
+
+		for (int i = open; i < text.length(); i++) {
+
+			if (text.charAt(i) == '(') {
+				depth++;
+			} else if (text.charAt(i) == ')' && --depth == 0) {
+				return i;
+			}
+		}
+
+		throw new IllegalArgumentException("missing ')' in " + text);
+	}
+
+	private static boolean isNameStart(char c) {
+		return Character.isJavaIdentifierStart(c) || c == '@';
+	}
+
+	private static boolean isNamePart(char c) {
+		return Character.isJavaIdentifierPart(c) || c == '.' || c == '@';
+	}
+}
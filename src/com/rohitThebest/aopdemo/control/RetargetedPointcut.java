@@ -0,0 +1,77 @@
+package com.rohitThebest.aopdemo.control;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+
+/*
+ * The pointcut of a retargeted advice: its new expression decides which
+ * methods it applies to.
+ *
+ * An advice that binds parameters (args(account), @annotation(cached), ...)
+ * gets them from its own pointcut, which Spring matches again on every call
+ * and which stores the bound values for the advice under its own expression.
+ * So for such an advice both pointcuts have to match: the new expression
+ * selects among the methods of the old one, and the old one binds.
+ */
+final class RetargetedPointcut implements Pointcut, ClassFilter, MethodMatcher {
+
+	private final AspectJExpressionPointcut target;
+
+	// the pointcut of an advice that binds parameters, null otherwise
+	private final AspectJExpressionPointcut binding;
+
+	// what was retargeted, for the reports
+	private final String description;
+
+	RetargetedPointcut(AspectJExpressionPointcut target, AspectJExpressionPointcut binding, String description) {
+		this.target = target;
+		this.binding = binding;
+		this.description = description;
+	}
+
+	@Override
+	public ClassFilter getClassFilter() {
+		return this;
+	}
+
+	@Override
+	public MethodMatcher getMethodMatcher() {
+		return this;
+	}
+
+	@Override
+	public boolean matches(Class<?> clazz) {
+		return target.matches(clazz) && (binding == null || binding.matches(clazz));
+	}
+
+	@Override
+	public boolean matches(Method method, Class<?> targetClass) {
+		return target.matches(method, targetClass) && (binding == null || binding.matches(method, targetClass));
+	}
+
+	@Override
+	public boolean isRuntime() {
+		return target.isRuntime() || (binding != null && binding.isRuntime());
+	}
+
+	@Override
+	public boolean matches(Method method, Class<?> targetClass, Object... args) {
+
+		return (!target.isRuntime() || target.matches(method, targetClass, args))
+				&& (binding == null || !binding.isRuntime() || binding.matches(method, targetClass, args));
+	}
+
+	@Override
+	public String toString() {
+		return description;
+	}
+}
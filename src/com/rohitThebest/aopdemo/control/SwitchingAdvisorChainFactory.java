@@ -0,0 +1,79 @@
+package com.rohitThebest.aopdemo.control;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AdvisedSupport;
+import org.springframework.aop.framework.AdvisorChainFactory;
+
+/*
+ * Builds the interceptor chains of a proxy with the advisors as AdviceControl
+ * has them: without the ones switched off, with their new pointcut when they
+ * are retargeted. The chain itself is built by the factory it wraps (Spring's
+ * or FusingAdvisorChainFactory), so the advices left fuse as before.
+ *
+ * As long as nothing is switched the proxy's advisors are used as they are.
+ */
+public class SwitchingAdvisorChainFactory implements AdvisorChainFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient AdviceControl control;
+	private final AdvisorChainFactory chainFactory;
+
+	public SwitchingAdvisorChainFactory(AdviceControl control, AdvisorChainFactory chainFactory) {
+		this.control = control;
+		this.chainFactory = chainFactory;
+	}
+
+	@Override
+	public List<Object> getInterceptorsAndDynamicInterceptionAdvice(Advised config, Method method,
+			Class<?> targetClass) {
+
+		if (control == null) {
+			return chainFactory.getInterceptorsAndDynamicInterceptionAdvice(config, method, targetClass);
+		}
+
+		long generation;
+		List<Object> chain;
+
+		// switched while we built it: built again, the proxy would keep it until the next switch
+		do {
+
+			generation = control.getGeneration();
+			chain = chainFactory.getInterceptorsAndDynamicInterceptionAdvice(switched(config), method, targetClass);
+
+		} while (generation != control.getGeneration());
+
+		return chain;
+	}
+
+	private Advised switched(Advised config) {
+
+		if (!control.isSwitched()) {
+			return config;
+		}
+
+		AdvisedSupport switched = new AdvisedSupport();
+		switched.setPreFiltered(config.isPreFiltered());
+
+		for (Advisor advisor : config.getAdvisors()) {
+
+			Advisor effective = control.effective(advisor);
+
+			if (effective != null) {
+				switched.addAdvisor(effective);
+			}
+		}
+
+		return switched;
+	}
+}
@@ -1,11 +1,20 @@
 package com.rohitThebest.aopdemo.dao;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.errors.BusinessException;
+import com.rohitThebest.aopdemo.reactive.Publishers;
+import com.rohitThebest.aopdemo.store.AccountPage;
+import com.rohitThebest.aopdemo.store.AccountStore;
+import com.rohitThebest.aopdemo.store.JdbcAccountRepository;
+import com.rohitThebest.aopdemo.store.MappedAccountFile;
 
 @Component
 public class AccountDAO {
@@ -13,6 +22,18 @@ public class AccountDAO {
 	private String name;
 	private String serviceCode;
 
+	// the accounts live in an indexed in-memory store (see AccountStore)
+	@Autowired
+	private AccountStore accountStore;
+
+	// only with the "mapped" profile: the accounts live in a memory-mapped file instead
+	@Autowired(required = false)
+	private MappedAccountFile accountFile;
+
+	// only with the "jdbc" profile: the accounts are also written to a database
+	@Autowired(required = false)
+	private JdbcAccountRepository jdbcAccountRepository;
+
 //		public List<Account> findAccounts() {
 //	
 //			List<Account> myAccounts = new ArrayList<>();
@@ -35,20 +56,50 @@ public class AccountDAO {
 		
 		if (tripWire) {
 			
-			throw new RuntimeException("No soup for you!!!");
+			throw new BusinessException("No soup for you!!!");
 		}
 		
-		List<Account> myAccounts = new ArrayList<>();
+		// with the mapped file: views of its records, nothing is copied
+		return accountFile != null ? accountFile.findAll() : accountStore.findAll();
+	}
+
+	/*
+	 * Reactive variant: the accounts are read when the publisher is subscribed
+	 * to, and emitted as the subscriber requests them. The trip wire is an
+	 * error signal of the publisher, the call itself never throws.
+	 */
+	public Flow.Publisher<Account> findAccountsReactive(boolean tripWire) {
+
+		return Publishers.fromIterable(() -> findAccounts(tripWire));
+	}
+
+	/*
+	 * For large result sets: one page at a time, pass the cursor of a page
+	 * (null for the first page) to get the next one
+	 */
+	public AccountPage findAccountsPage(String cursor, int pageSize) {
 
-		Account account1 = new Account("Rohit", "Platinum");
-		Account account2 = new Account("Mohit", "Silver");
-		Account account3 = new Account("Sagar", "Gold");
+		return accountFile != null ? accountFile.findPage(cursor, pageSize)
+				: accountStore.findPage(cursor, pageSize);
+	}
+
+	/*
+	 * For large result sets: the accounts are produced one by one while the
+	 * stream is consumed, no list is built
+	 */
+	public Stream<Account> streamAccounts() {
+
+		return accountFile != null ? accountFile.stream() : accountStore.stream();
+	}
+
+	public Account findByName(String name) {
+
+		return accountFile != null ? accountFile.findByName(name) : accountStore.findByName(name);
+	}
 
-		myAccounts.add(account1);
-		myAccounts.add(account2);
-		myAccounts.add(account3);
+	public List<Account> findByLevel(String level) {
 
-		return myAccounts;
+		return accountFile != null ? accountFile.findByLevel(level) : accountStore.findByLevel(level);
 	}
 
 	
@@ -84,11 +135,47 @@ public class AccountDAO {
 	public void addAccount(Account account) {
 
 		System.out.println(getClass() + ": Doing my DB work: ADDING AN ACCOUNT with 1 parameter");
+
+		save(account);
 	}
 
 	public void addAccount(Account account, boolean vipFlag) {
 
 		System.out.println(getClass() + ": Doing my DB work: ADDING AN ACCOUNT with 2 parameters");
+
+		save(account);
+	}
+
+	/*
+	 * The batch path: the write-behind aspect (see MyWriteBehindAspect) collects
+	 * single addAccount() calls and writes them here, many at a time.
+	 */
+	public void addAccounts(Collection<Account> accounts) {
+
+		System.out.println(getClass() + ": Doing my DB work: ADDING " + accounts.size() + " ACCOUNTS in one batch");
+
+		if (accountFile != null) {
+			accountFile.saveAll(accounts);
+		} else {
+			accountStore.saveAll(accounts);
+		}
+
+		if (jdbcAccountRepository != null) {
+			jdbcAccountRepository.insertAll(accounts);
+		}
+	}
+
+	private void save(Account account) {
+
+		if (accountFile != null) {
+			accountFile.save(account);
+		} else {
+			accountStore.save(account);
+		}
+
+		if (jdbcAccountRepository != null) {
+			jdbcAccountRepository.insert(account);
+		}
 	}
 
 	public void addSomething() {
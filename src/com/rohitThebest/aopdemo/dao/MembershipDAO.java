@@ -1,23 +1,88 @@
 package com.rohitThebest.aopdemo.dao;
 
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.rohitThebest.aopdemo.membership.Membership;
+import com.rohitThebest.aopdemo.membership.MembershipRegistry;
+
 @Component
 public class MembershipDAO {
 
+	// the members live in a lock-striped registry (see MembershipRegistry)
+	@Autowired
+	private MembershipRegistry membershipRegistry;
+
+	// the accounts of the demo methods below, created once: a call does not allocate
+	private final Membership membershipAccount = new Membership("MembershipAccount", "Silver");
+	private final Membership anythingAccount = new Membership("AnythingAccount", "Silver");
+
+	// registers the membership account, once: later calls find it already there
 	public void addAccount() {
 		
 		System.out.println(getClass() + ": Doing my DB work: ADDING MEMBERSHIP ACCOUNT");
+
+		membershipRegistry.add(membershipAccount);
 	}
 	
+	// true when the account was added, false when it was already a member
 	public boolean addAnything() {
 		
 		System.out.println(getClass() + ": Doing my DB work: ADDING MEMBERSHIP Anything ACCOUNT");
-		return true;
+
+		return membershipRegistry.add(anythingAccount);
 	}
 	
+	// the membership account goes to sleep: it is removed until addAccount() adds it again
 	public void gotToSleep() {
 		
 		System.out.println(getClass() + ": Sleeping");
+
+		membershipRegistry.remove(membershipAccount.getMember());
+	}
+
+	// ---------------------------
+
+	// the hot path: no console output here
+	
+	public boolean addMember(Membership membership) {
+
+		return membershipRegistry.add(membership);
+	}
+
+	public boolean removeMember(String member) {
+
+		return membershipRegistry.remove(member);
+	}
+
+	public boolean isMember(String member) {
+
+		return membershipRegistry.contains(member);
+	}
+
+	public Membership findMember(String member) {
+
+		return membershipRegistry.find(member);
+	}
+
+	/*
+	 * Bulk membership check: result[i] tells whether members.get(i) is a member
+	 */
+	public boolean[] areMembers(List<String> members) {
+
+		return membershipRegistry.containsAll(members);
+	}
+
+	public Map<String, Membership> findMembers(List<String> members) {
+
+		return membershipRegistry.findAll(members);
+	}
+
+	public int addMembers(List<Membership> memberships) {
+
+		return membershipRegistry.addAll(memberships);
 	}
 }
@@ -0,0 +1,37 @@
+package com.rohitThebest.aopdemo.errors;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * An expected failure of the business logic, like the tripWire failures of
+ * the demo ("No soup for you!!!").
+ * 
+ * Filling in the stack trace is most of the cost of throwing an exception,
+ * and for an expected failure nobody reads it. In stackless mode these
+ * exceptions are created without one:
+ * 
+ *   -Daopdemo.exceptions.stackless=true   or   BusinessException.setStackless(true)
+ * 
+ * It is off by default, the stack traces are kept.
+ */
+public class BusinessException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private static volatile boolean stackless = Boolean.getBoolean("aopdemo.exceptions.stackless");
+
+	public BusinessException(String message) {
+		super(message, null, true, !stackless);
+	}
+
+	public static boolean isStackless() {
+		return stackless;
+	}
+
+	public static void setStackless(boolean stackless) {
+		BusinessException.stackless = stackless;
+	}
+}
@@ -0,0 +1,68 @@
+package com.rohitThebest.aopdemo.errors;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * How often one exception type was thrown at one join point, and how many of
+ * these occurrences were logged in detail.
+ */
+public class ExceptionCounter {
+
+	private final String joinPoint;
+	private final Class<? extends Throwable> type;
+
+	private final LongAdder count = new LongAdder();
+
+	// stops a little above the limit, once it is there only get() is called
+	private final AtomicInteger detailed = new AtomicInteger();
+
+	ExceptionCounter(String joinPoint, Class<? extends Throwable> type) {
+		this.joinPoint = joinPoint;
+		this.type = type;
+	}
+
+	void increment() {
+		count.increment();
+	}
+
+	/*
+	 * The number (1..limit) of this occurrence among the detailed ones, or 0
+	 * when the limit has been reached.
+	 */
+	int claimDetail(int limit) {
+
+		if (detailed.get() > limit) {
+			return 0;
+		}
+
+		int occurrence = detailed.incrementAndGet();
+		return occurrence <= limit ? occurrence : 0;
+	}
+
+	boolean isDetailed(int limit) {
+		return detailed.get() <= limit;
+	}
+
+	public String getJoinPoint() {
+		return joinPoint;
+	}
+
+	public Class<? extends Throwable> getType() {
+		return type;
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	@Override
+	public String toString() {
+		return joinPoint + " threw " + type.getSimpleName() + " x " + count.sum();
+	}
+}
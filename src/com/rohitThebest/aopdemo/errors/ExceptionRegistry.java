@@ -0,0 +1,135 @@
+package com.rohitThebest.aopdemo.errors;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.log.AsyncLogger;
+import com.rohitThebest.aopdemo.log.LogEvent;
+import com.rohitThebest.aopdemo.metrics.MethodSignatures;
+
+/*
+ * Counts the exceptions thrown by every advised method, by exception type (see
+ * MyExceptionTrackingAspect).
+ * 
+ * The first few occurrences of each type at each join point are logged with
+ * their stack trace, after that they are only counted: a failure storm logs a
+ * handful of stack traces, not millions. The stack traces are rendered by
+ * the logger's thread, not by the failing call.
+ * 
+ *   -Daopdemo.exceptions.detailed=3   occurrences logged in detail
+ */
+@Component
+public class ExceptionRegistry {
+
+	public static final int DEFAULT_DETAILED = 3;
+
+	private final int detailedLimit = Integer.getInteger("aopdemo.exceptions.detailed", DEFAULT_DETAILED);
+
+	// join point -> exception type -> counter
+	private final Map<Method, Map<Class<?>, ExceptionCounter>> counters = new ConcurrentHashMap<>();
+
+	@Autowired
+	private AsyncLogger logger;
+
+	public void record(Method method, Throwable exception) {
+
+		ExceptionCounter counter = counterFor(method, exception.getClass());
+		counter.increment();
+
+		int occurrence = counter.claimDetail(detailedLimit);
+
+		if (occurrence == 0 || !logger.isEnabled()) {
+			return;
+		}
+
+		LogEvent event = out -> {
+
+			out.append("\n=====>>> ").append(counter.getJoinPoint())
+					.append(" threw (").append(occurrence).append(" of ").append(detailedLimit)
+					.append(" logged in full):\n");
+
+			StringWriter stackTrace = new StringWriter();
+			exception.printStackTrace(new PrintWriter(stackTrace));
+			out.append(stackTrace);
+
+			if (occurrence == detailedLimit) {
+				out.append("=====>>> further ").append(counter.getType().getSimpleName())
+						.append(" of ").append(counter.getJoinPoint()).append(" are only counted");
+			}
+		};
+
+		logger.log(event);
+	}
+
+	/*
+	 * Whether this exception is still among the detailed occurrences of its
+	 * type at this join point: other advices use it to log their own lines
+	 * about it only as long as the stack traces are logged too.
+	 */
+	public boolean isDetailed(Method method, Throwable exception) {
+
+		Map<Class<?>, ExceptionCounter> byType = counters.get(method);
+
+		if (byType == null) {
+			return true;
+		}
+
+		ExceptionCounter counter = byType.get(exception.getClass());
+		return counter == null || counter.isDetailed(detailedLimit);
+	}
+
+	// all the counters, the most frequent first
+	public List<ExceptionCounter> counters() {
+
+		List<ExceptionCounter> all = new ArrayList<>();
+
+		for (Map<Class<?>, ExceptionCounter> byType : counters.values()) {
+			all.addAll(byType.values());
+		}
+
+		all.sort(Comparator.comparingLong(ExceptionCounter::getCount).reversed());
+		return all;
+	}
+
+	public String report() {
+
+		StringBuilder report = new StringBuilder("Exceptions:");
+
+		for (ExceptionCounter counter : counters()) {
+			report.append("\n  ").append(counter);
+		}
+
+		return report.toString();
+	}
+
+	private ExceptionCounter counterFor(Method method, Class<? extends Throwable> type) {
+
+		Map<Class<?>, ExceptionCounter> byType = counters.get(method);
+
+		if (byType == null) {
+			byType = counters.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+		}
+
+		ExceptionCounter counter = byType.get(type);
+
+		if (counter == null) {
+			counter = byType.computeIfAbsent(type, t -> new ExceptionCounter(MethodSignatures.of(method), type));
+		}
+
+		return counter;
+	}
+}
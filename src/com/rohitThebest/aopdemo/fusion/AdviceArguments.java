@@ -0,0 +1,114 @@
+package com.rohitThebest.aopdemo.fusion;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.weaver.tools.JoinPointMatch;
+import org.aspectj.weaver.tools.PointcutParameter;
+import org.aspectj.weaver.tools.ShadowMatch;
+import org.springframework.aop.aspectj.AspectJMethodBeforeAdvice;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+
+/*
+ * Where each parameter of a fused @Before advice comes from, worked out once
+ * per advised method:
+ *   JOIN_POINT    the JoinPoint of the invocation
+ *   STATIC_PART   the JoinPoint.StaticPart of the method, a constant
+ *   0, 1, ...     the argument of the method at that index, bound by args()
+ *
+ * Spring binds args() at every call: it matches the pointcut again with the
+ * arguments of the call and looks the bound values up by name. Here AspectJ
+ * does the binding once: if the pointcut always matches the method (the
+ * declared types of its arguments leave nothing to test at runtime), it is
+ * matched against one marker object per argument, and the marker each
+ * pointcut parameter receives tells which argument it is bound to.
+ *
+ * null: the advice cannot be called that way (another kind of parameter, a
+ * binding of this(), target() or an annotation, or a runtime test), and
+ * keeps Spring's interceptor.
+ */
+final class AdviceArguments {
+
+	static final int JOIN_POINT = -1;
+	static final int STATIC_PART = -2;
+
+	private AdviceArguments() {
+	}
+
+	/*
+	 * runtime: the pointcut of the advice needs Spring's runtime matching
+	 */
+	static int[] resolve(AspectJMethodBeforeAdvice advice, Method method, Class<?> targetClass, boolean runtime) {
+
+		Class<?>[] parameterTypes = advice.getAspectJAdviceMethod().getParameterTypes();
+		int[] sources = new int[parameterTypes.length];
+
+		// like Spring, only the first parameter may be the JoinPoint or its StaticPart
+		int first = 0;
+
+		if (parameterTypes.length > 0 && parameterTypes[0] == JoinPoint.class) {
+			sources[first++] = JOIN_POINT;
+		} else if (parameterTypes.length > 0 && parameterTypes[0] == JoinPoint.StaticPart.class) {
+			sources[first++] = STATIC_PART;
+		}
+
+		if (!runtime) {
+			return first == parameterTypes.length ? sources : null;
+		}
+
+		Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+		ShadowMatch shadowMatch = advice.getPointcut().getPointcutExpression().matchesMethodExecution(specificMethod);
+
+		if (!shadowMatch.alwaysMatches()) {
+			return null;
+		}
+
+		Object[] markers = new Object[specificMethod.getParameterCount()];
+
+		for (int i = 0; i < markers.length; i++) {
+			markers[i] = new Object();
+		}
+
+		JoinPointMatch match = shadowMatch.matchesJoinPoint(null, null, markers);
+
+		// in the order of the advice parameters, as Spring declares them
+		PointcutParameter[] bindings = match.matches() ? match.getParameterBindings() : new PointcutParameter[0];
+
+		if (bindings.length != parameterTypes.length - first) {
+			return null;
+		}
+
+		Class<?>[] argumentTypes = specificMethod.getParameterTypes();
+
+		for (int i = 0; i < bindings.length; i++) {
+
+			int argument = indexOf(markers, bindings[i].getBinding());
+
+			if (argument < 0 || !ClassUtils.isAssignable(parameterTypes[first + i], argumentTypes[argument])) {
+				return null;
+			}
+
+			sources[first + i] = argument;
+		}
+
+		return sources;
+	}
+
+	private static int indexOf(Object[] markers, Object binding) {
+
+		for (int i = 0; i < markers.length; i++) {
+
+			if (markers[i] == binding) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+}
@@ -0,0 +1,187 @@
+package com.rohitThebest.aopdemo.fusion;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.aspectj.lang.JoinPoint;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.aspectj.AspectJMethodBeforeAdvice;
+import org.springframework.aop.aspectj.MethodInvocationProceedingJoinPoint;
+import org.springframework.util.ReflectionUtils;
+
+/*
+ * Several @Before advices in one interceptor (see FusingAdvisorChainFactory).
+ * 
+ * On the first call the advice methods are turned into one method handle
+ * (JoinPoint, Object[])void: every advice method bound to its aspect
+ * instance, each of its parameters filled from where AdviceArguments found
+ * it (the JoinPoint, the constant StaticPart of the method, or an element of
+ * the argument array, cast or unboxed to the parameter type), all folded
+ * together in the order of the chain. After that a call is one invokeExact()
+ * with the arguments of the invocation, which are not copied, and its
+ * JoinPoint, which is created only if an advice asks for it and shared with
+ * the later advices of the chain, like Spring does.
+ */
+final class FusedBeforeInterceptor implements MethodInterceptor {
+
+	// where Spring's AspectJ advices keep the JoinPoint of an invocation
+	private static final String JOIN_POINT_KEY = JoinPoint.class.getName();
+
+	private static final MethodType INVOKER_TYPE =
+			MethodType.methodType(void.class, JoinPoint.class, Object[].class);
+
+	private final AspectJMethodBeforeAdvice[] advices;
+
+	// per advice, per parameter: see AdviceArguments
+	private final int[][] parameterSources;
+	private final boolean needsJoinPoint;
+
+	// built on the first call, when the aspect beans surely exist
+	private volatile MethodHandle invoker;
+
+	FusedBeforeInterceptor(AspectJMethodBeforeAdvice[] advices, int[][] parameterSources) {
+
+		this.advices = advices;
+		this.parameterSources = parameterSources;
+		this.needsJoinPoint = Arrays.stream(parameterSources).flatMapToInt(Arrays::stream)
+				.anyMatch(source -> source == AdviceArguments.JOIN_POINT);
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+
+		MethodHandle handle = invoker;
+
+		if (handle == null) {
+			// two threads may both build it, they build the same
+			invoker = handle = buildInvoker(invocation);
+		}
+
+		// locals of the exact types: invokeExact() is typed by its arguments
+		JoinPoint joinPoint = needsJoinPoint ? joinPoint(invocation) : null;
+		Object[] arguments = invocation.getArguments();
+		handle.invokeExact(joinPoint, arguments);
+
+		return invocation.proceed();
+	}
+
+	private MethodHandle buildInvoker(MethodInvocation invocation) throws IllegalAccessException {
+
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodHandle staticPart = null;
+		MethodHandle fused = null;
+
+		// folded from the last one: foldArguments() runs its second argument first
+		for (int i = advices.length - 1; i >= 0; i--) {
+
+			Method adviceMethod = advices[i].getAspectJAdviceMethod();
+			ReflectionUtils.makeAccessible(adviceMethod);
+
+			MethodHandle handle = lookup.unreflect(adviceMethod)
+					.bindTo(advices[i].getAspectInstanceFactory().getAspectInstance());
+
+			Class<?>[] parameterTypes = adviceMethod.getParameterTypes();
+			MethodHandle[] filters = new MethodHandle[parameterTypes.length];
+
+			// which parameter of the invoker each filter reads: 0 the JoinPoint, 1 the arguments
+			int[] reorder = new int[parameterTypes.length];
+
+			for (int p = 0; p < parameterTypes.length; p++) {
+
+				int source = parameterSources[i][p];
+
+				if (source == AdviceArguments.JOIN_POINT) {
+
+					// passed as it is: no filter
+					reorder[p] = 0;
+
+				} else if (source == AdviceArguments.STATIC_PART) {
+
+					if (staticPart == null) {
+						staticPart = MethodHandles.dropArguments(
+								MethodHandles.constant(JoinPoint.StaticPart.class, staticPart(invocation)),
+								0, JoinPoint.class);
+					}
+
+					filters[p] = staticPart;
+					reorder[p] = 0;
+
+				} else {
+
+					filters[p] = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(Object[].class), 1, source)
+							.asType(MethodType.methodType(parameterTypes[p], Object[].class));
+					reorder[p] = 1;
+				}
+			}
+
+			handle = MethodHandles.permuteArguments(MethodHandles.filterArguments(handle, 0, filters),
+					INVOKER_TYPE, reorder);
+			fused = fused == null ? handle : MethodHandles.foldArguments(fused, handle);
+		}
+
+		return fused;
+	}
+
+	/*
+	 * The StaticPart of Spring's JoinPoint, over a copy of the invocation without
+	 * its arguments: it only needs the method, and it is kept for every call
+	 */
+	private static JoinPoint.StaticPart staticPart(MethodInvocation invocation) {
+
+		if (!(invocation instanceof ProxyMethodInvocation)) {
+			throw new IllegalStateException("MethodInvocation is not a Spring ProxyMethodInvocation: " + invocation);
+		}
+
+		ProxyMethodInvocation detached = (ProxyMethodInvocation) ((ProxyMethodInvocation) invocation)
+				.invocableClone(new Object[invocation.getArguments().length]);
+
+		JoinPoint.StaticPart staticPart = new MethodInvocationProceedingJoinPoint(detached).getStaticPart();
+
+		// its signature is created lazily: create it now, not on a later call
+		staticPart.getSignature();
+		return staticPart;
+	}
+
+	private static JoinPoint joinPoint(MethodInvocation invocation) {
+
+		if (!(invocation instanceof ProxyMethodInvocation)) {
+			throw new IllegalStateException("MethodInvocation is not a Spring ProxyMethodInvocation: " + invocation);
+		}
+
+		ProxyMethodInvocation proxyInvocation = (ProxyMethodInvocation) invocation;
+		JoinPoint joinPoint = (JoinPoint) proxyInvocation.getUserAttribute(JOIN_POINT_KEY);
+
+		if (joinPoint == null) {
+
+			joinPoint = new MethodInvocationProceedingJoinPoint(proxyInvocation);
+			proxyInvocation.setUserAttribute(JOIN_POINT_KEY, joinPoint);
+		}
+
+		return joinPoint;
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder names = new StringBuilder(getClass().getSimpleName()).append('[');
+
+		for (int i = 0; i < advices.length; i++) {
+
+			Method adviceMethod = advices[i].getAspectJAdviceMethod();
+			names.append(i == 0 ? "" : ", ").append(adviceMethod.getDeclaringClass().getSimpleName())
+					.append('.').append(adviceMethod.getName());
+		}
+
+		return names.append(']').toString();
+	}
+}
@@ -0,0 +1,203 @@
+package com.rohitThebest.aopdemo.fusion;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aspectj.lang.reflect.PerClauseKind;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.IntroductionAdvisor;
+import org.springframework.aop.IntroductionAwareMethodMatcher;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.aspectj.AspectJMethodBeforeAdvice;
+import org.springframework.aop.aspectj.annotation.MetadataAwareAspectInstanceFactory;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AdvisorChainFactory;
+import org.springframework.aop.framework.DefaultAdvisorChainFactory;
+import org.springframework.aop.framework.adapter.AdvisorAdapterRegistry;
+import org.springframework.aop.framework.adapter.GlobalAdvisorAdapterRegistry;
+
+/*
+ * Builds the interceptor chain of a proxied method with Spring's
+ * DefaultAdvisorChainFactory, then replaces the @Before advices that follow
+ * each other in the chain by one FusedBeforeInterceptor: instead of one
+ * interceptor, one join point lookup, one argument array and one reflective
+ * call per advice, a single method handle calls them all, in their order,
+ * with one shared JoinPoint.
+ * 
+ * Fused are the advices of singleton aspects whose parameters can be worked
+ * out once per method (see AdviceArguments): a JoinPoint or its StaticPart,
+ * and arguments bound by args() when the pointcut needs no runtime test for
+ * them. Such an args() advice is fused even on its own, since Spring would
+ * match its pointcut again on every call to bind the arguments.
+ * All other advisors keep Spring's interceptors, and they keep the runs of
+ * @Before advices apart, so the order of the chain never changes.
+ * 
+ * The chains are built once per method and cached by the proxy.
+ */
+public class FusingAdvisorChainFactory implements AdvisorChainFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final DefaultAdvisorChainFactory defaultFactory = new DefaultAdvisorChainFactory();
+
+	@Override
+	public List<Object> getInterceptorsAndDynamicInterceptionAdvice(Advised config, Method method,
+			Class<?> targetClass) {
+
+		// Spring's chain, in which we only replace the runs of @Before interceptors
+		List<Object> defaultChain = defaultFactory.getInterceptorsAndDynamicInterceptionAdvice(config, method,
+				targetClass);
+
+		AdvisorAdapterRegistry registry = GlobalAdvisorAdapterRegistry.getInstance();
+		Advisor[] advisors = config.getAdvisors();
+		List<Object> interceptorList = new ArrayList<>(defaultChain.size());
+		Class<?> actualClass = targetClass != null ? targetClass : method.getDeclaringClass();
+		Boolean hasIntroductions = null;
+
+		// the @Before advices (their arguments and interceptors) collected since the last other interceptor
+		Run run = new Run();
+
+		// the interceptors of an advisor are next in the default chain when it matches, as there
+		int next = 0;
+
+		for (Advisor advisor : advisors) {
+
+			boolean match;
+			int[] arguments = null;
+			boolean bindsArguments = false;
+
+			if (advisor instanceof PointcutAdvisor) {
+
+				PointcutAdvisor pointcutAdvisor = (PointcutAdvisor) advisor;
+				MethodMatcher mm = pointcutAdvisor.getPointcut().getMethodMatcher();
+
+				if (!config.isPreFiltered() && !pointcutAdvisor.getPointcut().getClassFilter().matches(actualClass)) {
+					match = false;
+				} else if (mm instanceof IntroductionAwareMethodMatcher) {
+
+					if (hasIntroductions == null) {
+						hasIntroductions = hasMatchingIntroductions(advisors, actualClass);
+					}
+
+					match = ((IntroductionAwareMethodMatcher) mm).matches(method, actualClass, hasIntroductions);
+				} else {
+					match = mm.matches(method, actualClass);
+				}
+
+				if (match && isFusable(advisor)) {
+
+					AspectJMethodBeforeAdvice advice = (AspectJMethodBeforeAdvice) advisor.getAdvice();
+
+					// a retargeted advice (see AdviceControl) may have a runtime test its advice does not know of
+					if (!mm.isRuntime() || pointcutAdvisor.getPointcut() == advice.getPointcut()) {
+						arguments = AdviceArguments.resolve(advice, method, actualClass, mm.isRuntime());
+					}
+				}
+
+				bindsArguments = mm.isRuntime();
+
+			} else if (advisor instanceof IntroductionAdvisor) {
+
+				match = config.isPreFiltered() || ((IntroductionAdvisor) advisor).getClassFilter().matches(actualClass);
+			} else {
+				match = true;
+			}
+
+			if (!match) {
+				continue;
+			}
+
+			int count = registry.getInterceptors(advisor).length;
+
+			if (next + count > defaultChain.size()) {
+				// not the chain we expected, keep Spring's
+				return defaultChain;
+			}
+
+			List<Object> interceptors = defaultChain.subList(next, next + count);
+			next += count;
+
+			if (arguments != null) {
+
+				run.advices.add((AspectJMethodBeforeAdvice) advisor.getAdvice());
+				run.arguments.add(arguments);
+				run.interceptors.addAll(interceptors);
+				run.bindsArguments |= bindsArguments;
+				continue;
+			}
+
+			run.flushTo(interceptorList);
+			interceptorList.addAll(interceptors);
+		}
+
+		run.flushTo(interceptorList);
+
+		return next == defaultChain.size() ? interceptorList : defaultChain;
+	}
+
+	static boolean isFusable(Advisor advisor) {
+
+		if (!(advisor.getAdvice() instanceof AspectJMethodBeforeAdvice)) {
+			return false;
+		}
+
+		AspectJMethodBeforeAdvice advice = (AspectJMethodBeforeAdvice) advisor.getAdvice();
+
+		// the aspect instance is bound into the method handle once
+		return advice.getAspectInstanceFactory() instanceof MetadataAwareAspectInstanceFactory
+				&& ((MetadataAwareAspectInstanceFactory) advice.getAspectInstanceFactory()).getAspectMetadata()
+						.getAjType().getPerClause().getKind() == PerClauseKind.SINGLETON;
+	}
+
+	private static boolean hasMatchingIntroductions(Advisor[] advisors, Class<?> actualClass) {
+
+		for (Advisor advisor : advisors) {
+
+			if (advisor instanceof IntroductionAdvisor
+					&& ((IntroductionAdvisor) advisor).getClassFilter().matches(actualClass)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	// ---------------------------
+
+	private static final class Run {
+
+		private final List<AspectJMethodBeforeAdvice> advices = new ArrayList<>();
+		private final List<int[]> arguments = new ArrayList<>();
+		private final List<Object> interceptors = new ArrayList<>();
+
+		// an advice of the run has its arguments bound by args()
+		private boolean bindsArguments;
+
+		/*
+		 * A run of one advice gains nothing from fusing, unless its arguments
+		 * are bound: it keeps Spring's interceptor
+		 */
+		void flushTo(List<Object> interceptorList) {
+
+			if (advices.size() == 1 && !bindsArguments) {
+				interceptorList.addAll(interceptors);
+			} else if (!advices.isEmpty()) {
+				interceptorList.add(new FusedBeforeInterceptor(advices.toArray(new AspectJMethodBeforeAdvice[0]),
+						arguments.toArray(new int[0][])));
+			}
+
+			advices.clear();
+			arguments.clear();
+			interceptors.clear();
+			bindsArguments = false;
+		}
+	}
+}
@@ -0,0 +1,275 @@
+package com.rohitThebest.aopdemo.load;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.rohitThebest.aopdemo.metrics.HistogramSnapshot;
+import com.rohitThebest.aopdemo.metrics.LatencyHistogram;
+
+/*
+ * Calls the given operations from many threads at once, picked at random by
+ * their weight in the call mix, and measures each call.
+ * 
+ * Without a rate every worker calls as fast as it can (closed loop). With a
+ * rate every worker has a schedule of start times (open loop): when a call
+ * is slow the next ones are late, and their latency is counted from the time
+ * they should have started, not from the time they did. Otherwise a stall
+ * would only cost the one call that saw it, and the percentiles would hide it
+ * ("coordinated omission").
+ * 
+ * A call that throws counts as an error, by exception type.
+ */
+public class LoadDriver {
+
+	@FunctionalInterface
+	public interface Call {
+
+		Object call() throws Exception;
+	}
+
+	private static final class Operation {
+
+		final String name;
+		final Call call;
+		final LatencyHistogram latency = new LatencyHistogram();
+		final LongAdder errors = new LongAdder();
+		final Map<String, LongAdder> errorTypes = new ConcurrentHashMap<>();
+
+		Operation(String name, Call call) {
+			this.name = name;
+			this.call = call;
+		}
+
+		void recordError(Throwable error) {
+
+			errors.increment();
+
+			String type = error.getClass().getName();
+			LongAdder count = errorTypes.get(type);
+
+			if (count == null) {
+				count = errorTypes.computeIfAbsent(type, key -> new LongAdder());
+			}
+
+			count.increment();
+		}
+	}
+
+	private final LoadSettings settings;
+	private final Operation[] operations;
+
+	// cumulative weights: operations[i] is picked when random < cumulativeWeights[i]
+	private final int[] cumulativeWeights;
+
+	public LoadDriver(LoadSettings settings, Map<String, Call> calls) {
+
+		this.settings = settings;
+		this.operations = new Operation[settings.getMix().size()];
+		this.cumulativeWeights = new int[operations.length];
+
+		int i = 0;
+		int total = 0;
+
+		for (Map.Entry<String, Integer> entry : settings.getMix().entrySet()) {
+
+			Call call = calls.get(entry.getKey());
+
+			if (call == null) {
+				throw new IllegalArgumentException(
+						"Unknown operation " + entry.getKey() + " in the call mix, known are " + calls.keySet());
+			}
+
+			total += entry.getValue();
+
+			operations[i] = new Operation(entry.getKey(), call);
+			cumulativeWeights[i] = total;
+			i++;
+		}
+	}
+
+	/*
+	 * Runs the warmup and the measurement, returns the report
+	 */
+	public String run() throws InterruptedException {
+
+		ThreadFactory threadFactory = settings.isVirtualThreads() ? virtualThreadFactory() : Thread::new;
+
+		long warmupNanos = TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+		long measureNanos = TimeUnit.SECONDS.toNanos(settings.getSeconds());
+
+		// every worker gets the same share of the rate
+		long intervalNanos = settings.getRate() == 0 ? 0
+				: (long) (settings.getThreads() * 1e9 / settings.getRate());
+
+		long start = System.nanoTime();
+		long measureStart = start + warmupNanos;
+		long end = measureStart + measureNanos;
+
+		List<Thread> workers = new ArrayList<>();
+
+		for (int t = 0; t < settings.getThreads(); t++) {
+
+			// spread the first calls of the workers over one interval
+			long firstCall = start + intervalNanos * t / settings.getThreads();
+
+			Thread worker = threadFactory.newThread(() -> work(firstCall, intervalNanos, measureStart, end));
+			worker.setName("load-" + t);
+			workers.add(worker);
+		}
+
+		for (Thread worker : workers) {
+			worker.start();
+		}
+
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		return report(measureNanos);
+	}
+
+	private void work(long firstCall, long intervalNanos, long measureStart, long end) {
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+
+		long scheduled = firstCall;
+
+		while (true) {
+
+			long begin;
+
+			if (intervalNanos == 0) {
+
+				begin = System.nanoTime();
+			} else {
+
+				// wait for the scheduled time, unless we are late already
+				while ((begin = System.nanoTime()) < scheduled) {
+					LockSupport.parkNanos(scheduled - begin);
+				}
+
+				begin = scheduled;
+				scheduled += intervalNanos;
+			}
+
+			if (begin >= end) {
+				return;
+			}
+
+			Operation operation = pick(random.nextInt(totalWeight));
+			Throwable error = null;
+
+			try {
+				operation.call.call();
+			} catch (Throwable e) {
+				error = e;
+			}
+
+			// the calls of the warmup are not reported
+			if (begin >= measureStart) {
+
+				operation.latency.record(System.nanoTime() - begin);
+
+				if (error != null) {
+					operation.recordError(error);
+				}
+			}
+
+			if (Thread.interrupted()) {
+				return;
+			}
+		}
+	}
+
+	private Operation pick(int random) {
+
+		for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+
+			if (random < cumulativeWeights[i]) {
+				return operations[i];
+			}
+		}
+
+		return operations[operations.length - 1];
+	}
+
+	/*
+	 * Virtual threads came with Java 21, this project is compiled for an older
+	 * release, so we look them up when they are asked for
+	 */
+	private static ThreadFactory virtualThreadFactory() {
+
+		try {
+
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+
+		} catch (ReflectiveOperationException | RuntimeException e) {
+
+			throw new IllegalStateException(
+					"Virtual threads need Java 21 or later, this is Java " + Runtime.version().feature(), e);
+		}
+	}
+
+	// ---------------------------
+
+	private String report(long measureNanos) {
+
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("%-22s %10s %10s %8s %8s %9s %9s %9s %9s %9s%n", "Operation", "calls",
+				"calls/s", "errors", "error%", "mean", "p50", "p99", "p999", "max"));
+
+		LatencyHistogram all = new LatencyHistogram();
+		long allErrors = 0;
+		Map<String, Long> errorTypes = new LinkedHashMap<>();
+
+		for (Operation operation : operations) {
+
+			HistogramSnapshot snapshot = operation.latency.snapshot();
+			long errors = operation.errors.sum();
+
+			report.append(line(operation.name, snapshot, errors, measureNanos));
+
+			all.add(operation.latency);
+			allErrors += errors;
+
+			operation.errorTypes.forEach((type, count) -> errorTypes.merge(type, count.sum(), Long::sum));
+		}
+
+		report.append(line("all", all.snapshot(), allErrors, measureNanos));
+
+		if (!errorTypes.isEmpty()) {
+
+			report.append("\nErrors:\n");
+			errorTypes.forEach((type, count) -> report.append("  ").append(type).append(" x ").append(count)
+					.append('\n'));
+		}
+
+		return report.toString();
+	}
+
+	private static String line(String name, HistogramSnapshot snapshot, long errors, long measureNanos) {
+
+		long calls = snapshot.getCount();
+
+		return String.format("%-22s %10d %10.0f %8d %7.2f%% %9s %9s %9s %9s %9s%n", name, calls,
+				calls * 1e9 / measureNanos, errors, calls == 0 ? 0.0 : 100.0 * errors / calls,
+				HistogramSnapshot.format((long) snapshot.getMean()), HistogramSnapshot.format(snapshot.getP50()),
+				HistogramSnapshot.format(snapshot.getP99()), HistogramSnapshot.format(snapshot.getP999()),
+				HistogramSnapshot.format(snapshot.getMax()));
+	}
+}
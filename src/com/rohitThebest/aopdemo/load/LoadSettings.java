@@ -0,0 +1,133 @@
+package com.rohitThebest.aopdemo.load;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * How LoadDriver drives the calls, read from system properties:
+ * 
+ *   -Daopdemo.load.threads=8        worker threads
+ *   -Daopdemo.load.virtual=false    true: the workers are virtual threads (Java 21+)
+ *   -Daopdemo.load.rate=0           calls/s of all the workers together, 0 = as fast as they can
+ *   -Daopdemo.load.seconds=10       duration of the measurement
+ *   -Daopdemo.load.warmup=2         seconds of calls before the measurement, not reported
+ *   -Daopdemo.load.mix=a=30,b=70    relative weight of each operation
+ *   -Daopdemo.load.console=false    true: keep the output of the DAOs and the advices
+ */
+public class LoadSettings {
+
+	private final int threads;
+	private final boolean virtualThreads;
+	private final double rate;
+	private final int seconds;
+	private final int warmupSeconds;
+	private final Map<String, Integer> mix;
+	private final boolean console;
+
+	public LoadSettings(int threads, boolean virtualThreads, double rate, int seconds, int warmupSeconds,
+			Map<String, Integer> mix, boolean console) {
+
+		if (threads < 1 || rate < 0 || seconds < 1 || warmupSeconds < 0) {
+			throw new IllegalArgumentException("threads and seconds must be positive, rate and warmup not negative");
+		}
+
+		if (mix.isEmpty()) {
+			throw new IllegalArgumentException("The call mix needs at least one operation");
+		}
+
+		this.threads = threads;
+		this.virtualThreads = virtualThreads;
+		this.rate = rate;
+		this.seconds = seconds;
+		this.warmupSeconds = warmupSeconds;
+		this.mix = Collections.unmodifiableMap(new LinkedHashMap<>(mix));
+		this.console = console;
+	}
+
+	public static LoadSettings fromSystemProperties(String defaultMix) {
+
+		return new LoadSettings(
+				Integer.getInteger("aopdemo.load.threads", 8),
+				Boolean.getBoolean("aopdemo.load.virtual"),
+				Double.parseDouble(System.getProperty("aopdemo.load.rate", "0")),
+				Integer.getInteger("aopdemo.load.seconds", 10),
+				Integer.getInteger("aopdemo.load.warmup", 2),
+				parseMix(System.getProperty("aopdemo.load.mix", defaultMix)),
+				Boolean.getBoolean("aopdemo.load.console"));
+	}
+
+	/*
+	 * "account.find=30,membership.check=70" -> { account.find=30, membership.check=70 }
+	 */
+	public static Map<String, Integer> parseMix(String spec) {
+
+		Map<String, Integer> mix = new LinkedHashMap<>();
+
+		for (String entry : spec.split(",")) {
+
+			if (entry.isBlank()) {
+				continue;
+			}
+
+			int equals = entry.indexOf('=');
+
+			if (equals < 0) {
+				throw new IllegalArgumentException("Expected operation=weight in the call mix: " + entry);
+			}
+
+			int weight = Integer.parseInt(entry.substring(equals + 1).trim());
+
+			if (weight < 0) {
+				throw new IllegalArgumentException("A weight cannot be negative: " + entry);
+			}
+
+			if (weight > 0) {
+				mix.put(entry.substring(0, equals).trim(), weight);
+			}
+		}
+
+		return mix;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	public double getRate() {
+		return rate;
+	}
+
+	public int getSeconds() {
+		return seconds;
+	}
+
+	public int getWarmupSeconds() {
+		return warmupSeconds;
+	}
+
+	public Map<String, Integer> getMix() {
+		return mix;
+	}
+
+	public boolean isConsole() {
+		return console;
+	}
+
+	@Override
+	public String toString() {
+		return threads + (virtualThreads ? " virtual" : "") + " threads"
+				+ ", rate=" + (rate == 0 ? "unlimited" : String.format("%.0f/s", rate))
+				+ ", " + seconds + "s (+" + warmupSeconds + "s warmup)"
+				+ ", mix=" + mix;
+	}
+}
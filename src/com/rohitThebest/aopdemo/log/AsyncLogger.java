@@ -0,0 +1,306 @@
+package com.rohitThebest.aopdemo.log;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * The logger used by the aspects instead of System.out.println().
+ * 
+ * log() only puts the event into a bounded lock-free ring buffer and returns,
+ * a single background "drainer" thread takes the events out in batches and
+ * hands every batch to the LogSink in one write. So the advised method call
+ * never waits on the console or a file, it only pays for one CAS.
+ * 
+ * When the buffer is full the OverflowPolicy decides what happens to the event
+ * (DROP by default, so an advised call never waits for the logger).
+ * 
+ * An event is either any object (logged with its toString()) or a LogEvent,
+ * which is only rendered by the drainer thread. Advices that build expensive
+ * messages should check isEnabled() first and log a LogEvent. On the hot
+ * paths they log a LogTemplate with its arguments instead, which allocates
+ * nothing at all.
+ * 
+ * An event that throws while it is rendered is dropped and counted (see
+ * getFailedCount()), the drainer goes on with the next one.
+ */
+public class AsyncLogger implements AutoCloseable {
+
+	public static final int DEFAULT_CAPACITY = 8192;
+	public static final int DEFAULT_BATCH_SIZE = 256;
+	public static final int DEFAULT_SAMPLE_RATE = 10;
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	private final MpscRingBuffer<Object> buffer;
+	private final LogSink sink;
+	private final OverflowPolicy overflowPolicy;
+	private final int batchSize;
+	private final int sampleRate;
+	private final int highWaterMark;
+
+	private final LongAdder queued = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder written = new LongAdder();
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+
+	private final Thread drainer;
+	private volatile boolean running = true;
+	private volatile boolean enabled = true;
+
+	public AsyncLogger(LogSink sink) {
+		this(sink, DEFAULT_CAPACITY, OverflowPolicy.DROP);
+	}
+
+	public AsyncLogger(LogSink sink, int capacity, OverflowPolicy overflowPolicy) {
+		this(sink, capacity, overflowPolicy, DEFAULT_BATCH_SIZE, DEFAULT_SAMPLE_RATE);
+	}
+
+	public AsyncLogger(LogSink sink, int capacity, OverflowPolicy overflowPolicy,
+			int batchSize, int sampleRate) {
+
+		if (batchSize < 1 || sampleRate < 1) {
+			throw new IllegalArgumentException("batchSize and sampleRate must be positive");
+		}
+
+		this.buffer = new MpscRingBuffer<>(capacity);
+		this.sink = sink;
+		this.overflowPolicy = overflowPolicy;
+		this.batchSize = batchSize;
+		this.sampleRate = sampleRate;
+		this.highWaterMark = buffer.capacity() - buffer.capacity() / 4;
+
+		this.drainer = new Thread(this::drainLoop, "aopdemo-log-drainer");
+		this.drainer.setDaemon(true);
+		this.drainer.start();
+	}
+
+	public void log(Object event) {
+		enqueue(event, null, null, 0);
+	}
+
+	public void log(LogTemplate template, Object arg0) {
+		enqueue(template, arg0, null, 0);
+	}
+
+	public void log(LogTemplate template, Object arg0, Object arg1, long value) {
+		enqueue(template, arg0, arg1, value);
+	}
+
+	private void enqueue(Object event, Object arg0, Object arg1, long value) {
+
+		if (!enabled) {
+			return;
+		}
+
+		if (!running) {
+			dropped.increment();
+			return;
+		}
+
+		switch (overflowPolicy) {
+
+		case DROP:
+			enqueueOrDrop(event, arg0, arg1, value);
+			break;
+
+		case SAMPLE:
+			if (buffer.size() >= highWaterMark
+					&& ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+
+				dropped.increment();
+				return;
+			}
+			enqueueOrDrop(event, arg0, arg1, value);
+			break;
+
+		case BLOCK:
+			enqueueOrWait(event, arg0, arg1, value);
+			break;
+		}
+	}
+
+	private void enqueueOrDrop(Object event, Object arg0, Object arg1, long value) {
+
+		if (buffer.offer(event, arg0, arg1, value)) {
+			queued.increment();
+		} else {
+			dropped.increment();
+		}
+	}
+
+	private void enqueueOrWait(Object event, Object arg0, Object arg1, long value) {
+
+		while (!buffer.offer(event, arg0, arg1, value)) {
+
+			if (!running) {
+				dropped.increment();
+				return;
+			}
+
+			// make sure the drainer is awake, then give it some time to make room
+			LockSupport.unpark(drainer);
+			LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+		}
+
+		queued.increment();
+	}
+
+	private void drainLoop() {
+
+		StringBuilder batch = new StringBuilder(4096);
+		MpscRingBuffer.Arguments arguments = new MpscRingBuffer.Arguments();
+
+		while (running) {
+
+			if (drainBatch(batch, arguments) == 0) {
+
+				sink.flush();
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+			}
+		}
+
+		// the logger is closing: write out whatever is still buffered
+		while (drainBatch(batch, arguments) > 0) {
+		}
+
+		sink.flush();
+	}
+
+	private int drainBatch(StringBuilder batch, MpscRingBuffer.Arguments arguments) {
+
+		int polled = 0;
+		int count = 0;
+		Object event;
+
+		while (polled < batchSize && (event = buffer.poll(arguments)) != null) {
+
+			polled++;
+			int length = batch.length();
+
+			try {
+
+				if (event instanceof LogTemplate) {
+					((LogTemplate) event).renderTo(batch, arguments.arg0, arguments.arg1, arguments.value);
+				} else if (event instanceof LogEvent) {
+					((LogEvent) event).renderTo(batch);
+				} else {
+					batch.append(event);
+				}
+
+				batch.append(LINE_SEPARATOR);
+				count++;
+
+			} catch (RuntimeException e) {
+
+				// one broken event must not stop the drainer, the buffer would never empty again
+				batch.setLength(length);
+				failed.increment();
+
+			} finally {
+				arguments.clear();
+			}
+		}
+
+		if (count > 0) {
+
+			sink.write(batch);
+			batch.setLength(0);
+
+			written.add(count);
+			batches.increment();
+		}
+
+		return polled;
+	}
+
+	/*
+	 * Stops accepting events, waits for the drainer to write out everything that
+	 * was already queued and closes the sink. Called by Spring when the context
+	 * is closed.
+	 */
+	@Override
+	public void close() {
+
+		if (!running) {
+			return;
+		}
+
+		running = false;
+		LockSupport.unpark(drainer);
+
+		try {
+			drainer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		sink.close();
+	}
+
+	// ---------------------------
+
+	/*
+	 * A disabled logger ignores every event. Advices check this before they
+	 * capture anything, so disabled logging costs one volatile read.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	// counters
+
+	public long getQueuedCount() {
+		return queued.sum();
+	}
+
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	public long getWrittenCount() {
+		return written.sum();
+	}
+
+	// events that threw while they were rendered, and were dropped
+	public long getFailedCount() {
+		return failed.sum();
+	}
+
+	public long getBatchCount() {
+		return batches.sum();
+	}
+
+	public int getPendingCount() {
+		return buffer.size();
+	}
+
+	public int getCapacity() {
+		return buffer.capacity();
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	@Override
+	public String toString() {
+		return "AsyncLogger [policy=" + overflowPolicy + ", capacity=" + getCapacity()
+				+ ", queued=" + getQueuedCount() + ", dropped=" + getDroppedCount()
+				+ ", written=" + getWrittenCount() + ", failed=" + getFailedCount()
+				+ ", batches=" + getBatchCount() + "]";
+	}
+}
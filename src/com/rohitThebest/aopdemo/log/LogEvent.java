@@ -0,0 +1,20 @@
+package com.rohitThebest.aopdemo.log;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * A log event that is rendered lazily.
+ * 
+ * The advice only captures the values it needs, the text is written by the
+ * drainer thread of the AsyncLogger straight into its reusable batch buffer.
+ * An event that is dropped (or never logged because the logger is disabled)
+ * is never rendered at all.
+ */
+@FunctionalInterface
+public interface LogEvent {
+
+	void renderTo(StringBuilder out);
+}
@@ -0,0 +1,26 @@
+package com.rohitThebest.aopdemo.log;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * The destination of the log events produced by the aspects.
+ * 
+ * A sink is only ever called from the drainer thread of the AsyncLogger,
+ * and is always handed a whole batch of events (one event per line), so an
+ * implementation pays the cost of its I/O once per batch instead of once per
+ * advised method call.
+ */
+public interface LogSink {
+
+	void write(CharSequence batch);
+
+	default void flush() {
+	}
+
+	default void close() {
+		flush();
+	}
+}
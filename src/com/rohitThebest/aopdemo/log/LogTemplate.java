@@ -0,0 +1,22 @@
+package com.rohitThebest.aopdemo.log;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * A log message with placeholders, rendered lazily like a LogEvent.
+ *
+ * A LogEvent captures its values in a new object on every call, a template
+ * is built once (usually a constant, or one per advised method) and its
+ * values travel next to it in the ring buffer of the AsyncLogger: up to two
+ * references and one long, which is enough for a method name, an account's
+ * name and level, a flag or a duration. Logging with a template allocates
+ * nothing.
+ */
+@FunctionalInterface
+public interface LogTemplate {
+
+	void renderTo(StringBuilder out, Object arg0, Object arg1, long value);
+}
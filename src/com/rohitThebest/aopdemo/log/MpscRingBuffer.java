@@ -0,0 +1,156 @@
+package com.rohitThebest.aopdemo.log;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * Bounded, lock-free, multi-producer / single-consumer ring buffer.
+ * 
+ * Every slot carries a sequence number: a producer may only fill slot i when
+ * its sequence equals the producer's position, and the consumer may only empty
+ * it once the sequence has moved one past that position. Producers claim a
+ * position with a single CAS on the tail, so offer() never takes a lock and
+ * fails fast (returns false) when the buffer is full.
+ * 
+ * An element may carry two reference arguments and a long, written into
+ * plain arrays beside its slot before it is published and read back by the
+ * consumer before the slot is handed back, so they need no object of their
+ * own (see LogTemplate).
+ * 
+ * poll() must only be called from one thread at a time.
+ */
+final class MpscRingBuffer<E> {
+
+	private final int capacity;
+	private final int mask;
+	private final AtomicReferenceArray<E> slots;
+	private final AtomicLongArray sequences;
+
+	// the arguments of the element in the slot of the same index
+	private final Object[] firstArguments;
+	private final Object[] secondArguments;
+	private final long[] values;
+
+	private final AtomicLong tail = new AtomicLong();
+	private volatile long head;
+
+	MpscRingBuffer(int requestedCapacity) {
+
+		if (requestedCapacity < 2) {
+			throw new IllegalArgumentException("capacity must be at least 2: " + requestedCapacity);
+		}
+
+		// round up to a power of two so that a slot index is a simple mask
+		this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+		this.mask = capacity - 1;
+		this.slots = new AtomicReferenceArray<>(capacity);
+		this.sequences = new AtomicLongArray(capacity);
+		this.firstArguments = new Object[capacity];
+		this.secondArguments = new Object[capacity];
+		this.values = new long[capacity];
+
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	boolean offer(E element) {
+		return offer(element, null, null, 0);
+	}
+
+	boolean offer(E element, Object arg0, Object arg1, long value) {
+
+		long position;
+
+		for (;;) {
+
+			position = tail.get();
+			long sequence = sequences.get((int) (position & mask));
+			long difference = sequence - position;
+
+			if (difference == 0) {
+
+				if (tail.compareAndSet(position, position + 1)) {
+					break;
+				}
+			} else if (difference < 0) {
+
+				// the slot still holds an element from the previous lap: full
+				return false;
+			}
+			// else another producer took this position, re-read the tail
+		}
+
+		int index = (int) (position & mask);
+		slots.lazySet(index, element);
+		firstArguments[index] = arg0;
+		secondArguments[index] = arg1;
+		values[index] = value;
+
+		// publish: the volatile write makes the element visible to the consumer
+		sequences.set(index, position + 1);
+		return true;
+	}
+
+	/*
+	 * arguments: receives the arguments of the element
+	 */
+	E poll(Arguments arguments) {
+
+		long position = head;
+		int index = (int) (position & mask);
+
+		if (sequences.get(index) != position + 1) {
+			return null;
+		}
+
+		E element = slots.get(index);
+		slots.lazySet(index, null);
+
+		arguments.arg0 = firstArguments[index];
+		arguments.arg1 = secondArguments[index];
+		arguments.value = values[index];
+
+		// no references kept from the previous lap
+		firstArguments[index] = null;
+		secondArguments[index] = null;
+
+		// hand the slot back to the producers for the next lap
+		sequences.set(index, position + capacity);
+		head = position + 1;
+		return element;
+	}
+
+	int size() {
+
+		long size = tail.get() - head;
+		return (int) Math.max(0, Math.min(size, capacity));
+	}
+
+	int capacity() {
+		return capacity;
+	}
+
+	// ---------------------------
+
+	/*
+	 * The arguments of the last polled element, one instance reused by the consumer
+	 */
+	static final class Arguments {
+
+		Object arg0;
+		Object arg1;
+		long value;
+
+		void clear() {
+			arg0 = null;
+			arg1 = null;
+		}
+	}
+}
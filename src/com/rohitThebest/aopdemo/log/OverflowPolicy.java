@@ -0,0 +1,30 @@
+package com.rohitThebest.aopdemo.log;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * What the AsyncLogger does with an event when its ring buffer cannot take it.
+ */
+public enum OverflowPolicy {
+
+	/*
+	 * Drop the event and count it. The advised call never waits.
+	 */
+	DROP,
+
+	/*
+	 * Wait (park) until the drainer has made room. No event is ever lost, but a
+	 * caller can be slowed down to the speed of the sink.
+	 */
+	BLOCK,
+
+	/*
+	 * Once the buffer is more than 3/4 full only every n-th event is accepted,
+	 * the rest are dropped. Keeps a representative trickle of events flowing
+	 * under load instead of keeping only the oldest ones.
+	 */
+	SAMPLE
+}
@@ -0,0 +1,48 @@
+package com.rohitThebest.aopdemo.log;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.PrintStream;
+
+/*
+ * Writes each batch to a PrintStream (System.out by default, or a file stream)
+ * with a single print() call.
+ */
+public class PrintStreamLogSink implements LogSink {
+
+	private final PrintStream out;
+
+	public PrintStreamLogSink() {
+		this(System.out);
+	}
+
+	public PrintStreamLogSink(PrintStream out) {
+		this.out = out;
+	}
+
+	@Override
+	public void write(CharSequence batch) {
+
+		out.print(batch);
+	}
+
+	@Override
+	public void flush() {
+
+		out.flush();
+	}
+
+	@Override
+	public void close() {
+
+		flush();
+
+		// never close the console streams, they are shared with the rest of the program
+		if (out != System.out && out != System.err) {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.rohitThebest.aopdemo.membership;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * A member of the membership program: immutable, so the registry can hand it
+ * out without copying.
+ */
+public final class Membership {
+
+	private final String member;
+	private final String plan;
+	private final long sinceMillis;
+
+	public Membership(String member, String plan) {
+		this(member, plan, System.currentTimeMillis());
+	}
+
+	public Membership(String member, String plan, long sinceMillis) {
+
+		if (member == null) {
+			throw new IllegalArgumentException("A membership needs a member");
+		}
+
+		this.member = member;
+		this.plan = plan;
+		this.sinceMillis = sinceMillis;
+	}
+
+	public String getMember() {
+		return member;
+	}
+
+	public String getPlan() {
+		return plan;
+	}
+
+	public long getSinceMillis() {
+		return sinceMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "Membership [member=" + member + ", plan=" + plan + "]";
+	}
+}
@@ -0,0 +1,298 @@
+package com.rohitThebest.aopdemo.membership;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ToIntFunction;
+
+import org.springframework.stereotype.Component;
+
+/*
+ * The members behind MembershipDAO, built for many concurrent writers.
+ * 
+ * The members are spread by hash over stripes, each a plain HashMap with its
+ * own lock: threads working on different stripes never wait for each other,
+ * and with a few stripes per core two threads rarely want the same one.
+ * Lookups take the read lock of their stripe, so they only wait for a writer
+ * of that same stripe, never for other readers.
+ * 
+ * The bulk methods group their members by stripe and take each stripe's lock
+ * once for the whole group, instead of once per member.
+ * 
+ * The number of stripes is a power of two, by default the first one at or
+ * above 4 x the number of cores, or -Daopdemo.membership.stripes=N.
+ */
+@Component
+public class MembershipRegistry {
+
+	private static final class Stripe {
+
+		final StampedLock lock = new StampedLock();
+		final Map<String, Membership> members = new HashMap<>();
+	}
+
+	private final Stripe[] stripes;
+	private final int mask;
+
+	public MembershipRegistry() {
+		this(Integer.getInteger("aopdemo.membership.stripes", Runtime.getRuntime().availableProcessors() * 4));
+	}
+
+	public MembershipRegistry(int minimumStripes) {
+
+		int count = minimumStripes <= 1 ? 1 : Integer.highestOneBit(minimumStripes - 1) << 1;
+
+		stripes = new Stripe[count];
+		mask = count - 1;
+
+		for (int i = 0; i < count; i++) {
+			stripes[i] = new Stripe();
+		}
+	}
+
+	/*
+	 * Adds the membership, returns false (and keeps the existing one) when the
+	 * member is already registered.
+	 */
+	public boolean add(Membership membership) {
+
+		Stripe stripe = stripeOf(membership.getMember());
+		long stamp = stripe.lock.writeLock();
+
+		try {
+			return stripe.members.putIfAbsent(membership.getMember(), membership) == null;
+		} finally {
+			stripe.lock.unlockWrite(stamp);
+		}
+	}
+
+	public boolean remove(String member) {
+
+		Stripe stripe = stripeOf(member);
+		long stamp = stripe.lock.writeLock();
+
+		try {
+			return stripe.members.remove(member) != null;
+		} finally {
+			stripe.lock.unlockWrite(stamp);
+		}
+	}
+
+	// null when not a member
+	public Membership find(String member) {
+
+		Stripe stripe = stripeOf(member);
+		long stamp = stripe.lock.readLock();
+
+		try {
+			return stripe.members.get(member);
+		} finally {
+			stripe.lock.unlockRead(stamp);
+		}
+	}
+
+	public boolean contains(String member) {
+		return find(member) != null;
+	}
+
+	// ---------------------------
+	// bulk operations, one lock per stripe
+
+	// result[i]: whether members.get(i) is a member
+	public boolean[] containsAll(List<String> members) {
+
+		boolean[] result = new boolean[members.size()];
+
+		forEachStripe(members, this::stripeIndex, (stripe, indexes, from, to) -> {
+
+			long stamp = stripe.lock.readLock();
+
+			try {
+
+				for (int i = from; i < to; i++) {
+					result[indexes[i]] = stripe.members.containsKey(members.get(indexes[i]));
+				}
+
+			} finally {
+				stripe.lock.unlockRead(stamp);
+			}
+		});
+
+		return result;
+	}
+
+	// the memberships of those that are members, in the order asked
+	public Map<String, Membership> findAll(List<String> members) {
+
+		Membership[] found = new Membership[members.size()];
+
+		forEachStripe(members, this::stripeIndex, (stripe, indexes, from, to) -> {
+
+			long stamp = stripe.lock.readLock();
+
+			try {
+
+				for (int i = from; i < to; i++) {
+					found[indexes[i]] = stripe.members.get(members.get(indexes[i]));
+				}
+
+			} finally {
+				stripe.lock.unlockRead(stamp);
+			}
+		});
+
+		Map<String, Membership> result = new LinkedHashMap<>();
+
+		for (Membership membership : found) {
+
+			if (membership != null) {
+				result.put(membership.getMember(), membership);
+			}
+		}
+
+		return result;
+	}
+
+	// returns how many were added (members already registered are kept)
+	public int addAll(Collection<Membership> memberships) {
+
+		List<Membership> list = new ArrayList<>(memberships);
+		int[] added = new int[1];
+
+		forEachStripe(list, membership -> stripeIndex(membership.getMember()), (stripe, indexes, from, to) -> {
+
+			long stamp = stripe.lock.writeLock();
+
+			try {
+
+				for (int i = from; i < to; i++) {
+
+					Membership membership = list.get(indexes[i]);
+
+					if (stripe.members.putIfAbsent(membership.getMember(), membership) == null) {
+						added[0]++;
+					}
+				}
+
+			} finally {
+				stripe.lock.unlockWrite(stamp);
+			}
+		});
+
+		return added[0];
+	}
+
+	// returns how many were removed
+	public int removeAll(List<String> members) {
+
+		int[] removed = new int[1];
+
+		forEachStripe(members, this::stripeIndex, (stripe, indexes, from, to) -> {
+
+			long stamp = stripe.lock.writeLock();
+
+			try {
+
+				for (int i = from; i < to; i++) {
+
+					if (stripe.members.remove(members.get(indexes[i])) != null) {
+						removed[0]++;
+					}
+				}
+
+			} finally {
+				stripe.lock.unlockWrite(stamp);
+			}
+		});
+
+		return removed[0];
+	}
+
+	// ---------------------------
+
+	/*
+	 * Not a snapshot: the stripes are counted one after the other.
+	 */
+	public int size() {
+
+		int size = 0;
+
+		for (Stripe stripe : stripes) {
+
+			long stamp = stripe.lock.readLock();
+
+			try {
+				size += stripe.members.size();
+			} finally {
+				stripe.lock.unlockRead(stamp);
+			}
+		}
+
+		return size;
+	}
+
+	public int getStripeCount() {
+		return stripes.length;
+	}
+
+	private Stripe stripeOf(String member) {
+		return stripes[stripeIndex(member)];
+	}
+
+	private int stripeIndex(String member) {
+
+		// the HashMap of the stripe uses the low bits too, take ours from the high ones
+		int hash = member.hashCode() * 0x9E3779B9;
+		return (hash >>> 16) & mask;
+	}
+
+	@FunctionalInterface
+	private interface StripeAction {
+
+		// indexes[from..to): the positions of the items of this stripe
+		void run(Stripe stripe, int[] indexes, int from, int to);
+	}
+
+	/*
+	 * Sorts the positions of the items by stripe (a counting sort) and calls
+	 * the action once per stripe that has items.
+	 */
+	private <T> void forEachStripe(List<T> items, ToIntFunction<T> stripeIndex, StripeAction action) {
+
+		int[] stripeOfItem = new int[items.size()];
+		int[] starts = new int[stripes.length + 1];
+
+		for (int i = 0; i < stripeOfItem.length; i++) {
+
+			stripeOfItem[i] = stripeIndex.applyAsInt(items.get(i));
+			starts[stripeOfItem[i] + 1]++;
+		}
+
+		for (int s = 0; s < stripes.length; s++) {
+			starts[s + 1] += starts[s];
+		}
+
+		int[] indexes = new int[stripeOfItem.length];
+		int[] next = starts.clone();
+
+		for (int i = 0; i < stripeOfItem.length; i++) {
+			indexes[next[stripeOfItem[i]]++] = i;
+		}
+
+		for (int s = 0; s < stripes.length; s++) {
+
+			if (starts[s] < starts[s + 1]) {
+				action.run(stripes[s], indexes, starts[s], starts[s + 1]);
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.rohitThebest.aopdemo.metrics;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * An immutable copy of a LatencyHistogram. All values are in nanoseconds.
+ */
+public class HistogramSnapshot {
+
+	private final long[] counts;
+	private final long count;
+	private final long totalNanos;
+	private final long maxNanos;
+
+	HistogramSnapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+		this.counts = counts;
+		this.count = count;
+		this.totalNanos = totalNanos;
+		this.maxNanos = maxNanos;
+	}
+
+	/*
+	 * The smallest recorded value such that the given percentage (0..100) of all
+	 * recorded values are less than or equal to it.
+	 */
+	public long valueAtPercentile(double percentile) {
+
+		if (count == 0) {
+			return 0;
+		}
+
+		long target = (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count);
+		target = Math.max(1, target);
+
+		long seen = 0;
+
+		for (int i = 0; i < counts.length; i++) {
+
+			seen += counts[i];
+
+			if (seen >= target) {
+				return Math.min(LatencyHistogram.highestValueAt(i), maxNanos);
+			}
+		}
+
+		return maxNanos;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMean() {
+		return count == 0 ? 0 : (double) totalNanos / count;
+	}
+
+	public long getP50() {
+		return valueAtPercentile(50.0);
+	}
+
+	public long getP99() {
+		return valueAtPercentile(99.0);
+	}
+
+	public long getP999() {
+		return valueAtPercentile(99.9);
+	}
+
+	public long getMax() {
+		return maxNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + count
+				+ ", mean=" + format((long) getMean())
+				+ ", p50=" + format(getP50())
+				+ ", p99=" + format(getP99())
+				+ ", p999=" + format(getP999())
+				+ ", max=" + format(maxNanos);
+	}
+
+	public static String format(long nanos) {
+
+		if (nanos < TimeUnit.MICROSECONDS.toNanos(10)) {
+			return nanos + "ns";
+		}
+
+		if (nanos < TimeUnit.MILLISECONDS.toNanos(10)) {
+			return nanos / 1_000 + "us";
+		}
+
+		if (nanos < TimeUnit.SECONDS.toNanos(10)) {
+			return nanos / 1_000_000 + "ms";
+		}
+
+		return nanos / 1_000_000_000 + "s";
+	}
+}
@@ -0,0 +1,144 @@
+package com.rohitThebest.aopdemo.metrics;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * A thread-safe, fixed-size latency histogram in the style of HdrHistogram.
+ * 
+ * Values (nanoseconds) are counted in log-linear buckets: every power of two
+ * is split into 2^SUB_BUCKET_BITS equally wide sub-buckets, which keeps the
+ * relative error of any reported value below 1% over the whole range of a
+ * long, with a fixed number of counters.
+ * 
+ * record() only does a few bit operations and atomic increments on
+ * preallocated arrays, so it never allocates and never takes a lock.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong totalCount = new AtomicLong();
+	private final AtomicLong totalNanos = new AtomicLong();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	public void record(long nanos) {
+
+		if (nanos < 0) {
+			nanos = 0;
+		}
+
+		counts.incrementAndGet(indexOf(nanos));
+		totalCount.incrementAndGet();
+		totalNanos.addAndGet(nanos);
+
+		// only CAS when we actually have a new maximum
+		long max;
+		while (nanos > (max = maxNanos.get())) {
+			if (maxNanos.compareAndSet(max, nanos)) {
+				break;
+			}
+		}
+	}
+
+	/*
+	 * Adds everything recorded by another histogram to this one, e.g. to get
+	 * the percentiles over several join points.
+	 */
+	public void add(LatencyHistogram other) {
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+
+			long count = other.counts.get(i);
+
+			if (count != 0) {
+				counts.addAndGet(i, count);
+			}
+		}
+
+		totalCount.addAndGet(other.totalCount.get());
+		totalNanos.addAndGet(other.totalNanos.get());
+
+		long otherMax = other.maxNanos.get();
+		long max;
+		while (otherMax > (max = maxNanos.get())) {
+			if (maxNanos.compareAndSet(max, otherMax)) {
+				break;
+			}
+		}
+	}
+
+	public void reset() {
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts.set(i, 0);
+		}
+
+		totalCount.set(0);
+		totalNanos.set(0);
+		maxNanos.set(0);
+	}
+
+	/*
+	 * Copies the counters so percentiles can be computed without stopping the
+	 * threads that keep recording. The copy is not an atomic cut across all
+	 * buckets, which is fine for monitoring.
+	 */
+	public HistogramSnapshot snapshot() {
+
+		long[] copy = new long[BUCKET_COUNT];
+		long count = 0;
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			copy[i] = counts.get(i);
+			count += copy[i];
+		}
+
+		return new HistogramSnapshot(copy, count, totalNanos.get(), maxNanos.get());
+	}
+
+	public long getCount() {
+		return totalCount.get();
+	}
+
+	// ---------------------------
+
+	// bucket arithmetic
+
+	static int indexOf(long value) {
+
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+
+		// position of the highest set bit, >= SUB_BUCKET_BITS here
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		int shift = magnitude - SUB_BUCKET_BITS;
+
+		int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+		return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/*
+	 * The highest value that is counted in the bucket with the given index.
+	 */
+	static long highestValueAt(int index) {
+
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long subBucket = SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT;
+
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
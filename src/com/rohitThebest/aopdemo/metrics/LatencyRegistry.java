@@ -0,0 +1,85 @@
+package com.rohitThebest.aopdemo.metrics;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/*
+ * Holds one LatencyHistogram per advised method.
+ * 
+ * The histograms are keyed by the java.lang.reflect.Method of the join point,
+ * so looking one up on the recording path is a hash lookup with no string
+ * building. The readable signature (e.g. "AccountDAO.addAccount(Account,boolean)")
+ * is only computed once, when the histogram is created.
+ */
+@Component
+public class LatencyRegistry {
+
+	private final Map<Method, Entry> histograms = new ConcurrentHashMap<>();
+
+	public LatencyHistogram histogram(Method method) {
+
+		Entry entry = histograms.get(method);
+
+		if (entry == null) {
+			entry = histograms.computeIfAbsent(method, Entry::new);
+		}
+
+		return entry.histogram;
+	}
+
+	public void record(Method method, long nanos) {
+
+		histogram(method).record(nanos);
+	}
+
+	/*
+	 * Snapshots of all the histograms, sorted by signature
+	 */
+	public Map<String, HistogramSnapshot> snapshot() {
+
+		Map<String, HistogramSnapshot> snapshots = new TreeMap<>();
+
+		for (Entry entry : histograms.values()) {
+			snapshots.put(entry.signature, entry.histogram.snapshot());
+		}
+
+		return snapshots;
+	}
+
+	public String report() {
+
+		StringBuilder report = new StringBuilder("Latency per join point:");
+
+		for (Map.Entry<String, HistogramSnapshot> entry : snapshot().entrySet()) {
+			report.append("\n  ").append(entry.getKey()).append(" -> ").append(entry.getValue());
+		}
+
+		return report.toString();
+	}
+
+	public void reset() {
+
+		for (Entry entry : histograms.values()) {
+			entry.histogram.reset();
+		}
+	}
+
+	private static final class Entry {
+
+		final String signature;
+		final LatencyHistogram histogram = new LatencyHistogram();
+
+		Entry(Method method) {
+			this.signature = MethodSignatures.of(method);
+		}
+	}
+}
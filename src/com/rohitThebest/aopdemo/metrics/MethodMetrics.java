@@ -0,0 +1,164 @@
+package com.rohitThebest.aopdemo.metrics;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/*
+ * The metrics of one advised method: calls, errors, calls in flight, latency
+ * and the last exception (see MyLatencyMetricsAspect).
+ *
+ * The counters are LongAdders: every thread increments its own cell, so the
+ * callers of a hot method do not fight over one cache line. Reading them sums
+ * the cells without stopping anyone, which makes a reading a little fuzzy
+ * while calls are running, e.g. a call can be counted before it is in flight.
+ *
+ * Each one is exported as the MBean
+ * com.rohitThebest.aopdemo:type=MethodMetrics,name="com.rohitThebest.aopdemo.dao.AccountDAO.findAccounts(boolean)"
+ * (see MethodMetricsRegistry). The latencies are in nanoseconds.
+ */
+@ManagedResource(description = "Calls, errors and latency of an advised method")
+public class MethodMetrics {
+
+	private final String signature;
+	private final LatencyHistogram latency;
+
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder inFlight = new LongAdder();
+
+	// only written when a call fails
+	private volatile Failure lastFailure;
+
+	MethodMetrics(String signature, LatencyHistogram latency) {
+		this.signature = signature;
+		this.latency = latency;
+	}
+
+	// a call starts
+	public void begin() {
+
+		calls.increment();
+		inFlight.increment();
+	}
+
+	// it ended, failure is null when it did not fail
+	public void end(long nanos, Throwable failure) {
+
+		record(nanos, failure);
+		end();
+	}
+
+	// it ended, its work is recorded on its own (a Publisher, once per subscription)
+	public void end() {
+		inFlight.decrement();
+	}
+
+	public void record(long nanos, Throwable failure) {
+
+		latency.record(nanos);
+
+		if (failure != null) {
+
+			errors.increment();
+			lastFailure = new Failure(failure, System.currentTimeMillis());
+		}
+	}
+
+	public MethodMetricsSnapshot snapshot() {
+
+		Failure failure = lastFailure;
+
+		return new MethodMetricsSnapshot(signature, calls.sum(), errors.sum(), inFlight.sum(), latency.snapshot(),
+				failure != null ? failure.describe() : null, failure != null ? failure.timeMillis : 0);
+	}
+
+	// not the calls in flight: they still end
+	public void reset() {
+
+		calls.reset();
+		errors.reset();
+		latency.reset();
+		lastFailure = null;
+	}
+
+	// ---------------------------
+
+	// the MBean: every attribute is read on its own, without a snapshot of the others
+
+	@ManagedAttribute(description = "The method")
+	public String getSignature() {
+		return signature;
+	}
+
+	@ManagedAttribute(description = "Calls started")
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	@ManagedAttribute(description = "Calls that failed")
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	@ManagedAttribute(description = "Calls running now")
+	public long getInFlight() {
+		return inFlight.sum();
+	}
+
+	@ManagedAttribute(description = "Mean latency (ns)")
+	public double getMeanNanos() {
+		return latency.snapshot().getMean();
+	}
+
+	@ManagedAttribute(description = "Median latency (ns)")
+	public long getP50Nanos() {
+		return latency.snapshot().getP50();
+	}
+
+	@ManagedAttribute(description = "99th percentile latency (ns)")
+	public long getP99Nanos() {
+		return latency.snapshot().getP99();
+	}
+
+	@ManagedAttribute(description = "99.9th percentile latency (ns)")
+	public long getP999Nanos() {
+		return latency.snapshot().getP999();
+	}
+
+	@ManagedAttribute(description = "Highest latency (ns)")
+	public long getMaxNanos() {
+		return latency.snapshot().getMax();
+	}
+
+	@ManagedAttribute(description = "The last exception, with the time it was thrown")
+	public String getLastException() {
+
+		Failure failure = lastFailure;
+		return failure != null ? MethodMetricsSnapshot.formatTime(failure.timeMillis) + " " + failure.describe() : null;
+	}
+
+	/*
+	 * The exception is kept, its text is only built when someone reads it.
+	 */
+	private static final class Failure {
+
+		final Throwable exception;
+		final long timeMillis;
+
+		Failure(Throwable exception, long timeMillis) {
+			this.exception = exception;
+			this.timeMillis = timeMillis;
+		}
+
+		String describe() {
+			return exception.toString();
+		}
+	}
+}
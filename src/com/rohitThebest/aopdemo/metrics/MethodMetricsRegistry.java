@@ -0,0 +1,156 @@
+package com.rohitThebest.aopdemo.metrics;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.MBeanExportException;
+import org.springframework.jmx.export.MBeanExporter;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+/*
+ * Holds the MethodMetrics of every advised method (recorded by
+ * MyLatencyMetricsAspect), the same for AccountDAO, MembershipDAO,
+ * TrafficFortuneService or any other class its pointcut matches.
+ *
+ * Two ways to read them, both without pausing the callers:
+ *   - snapshot(): a copy of all of them, sorted by signature
+ *   - JMX: one MBean per method, com.rohitThebest.aopdemo:type=MethodMetrics,name="..."
+ *     and this registry as com.rohitThebest.aopdemo:type=MethodMetricsRegistry
+ *
+ * The signatures have the package of the class (MethodSignatures.qualifiedOf()),
+ * so two classes with the same simple name get a snapshot and an MBean each.
+ *
+ * A method gets its MBean at its first call. The latencies are the
+ * histograms of the LatencyRegistry, so its reports see the same calls.
+ */
+@Component
+@ManagedResource(objectName = MethodMetricsRegistry.OBJECT_NAME, description = "Metrics of the advised methods")
+public class MethodMetricsRegistry implements AutoCloseable {
+
+	public static final String OBJECT_NAME = "com.rohitThebest.aopdemo:type=MethodMetricsRegistry";
+
+	public static final String METHOD_OBJECT_NAME = "com.rohitThebest.aopdemo:type=MethodMetrics,name=";
+
+	private final Map<Method, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+	@Autowired
+	private LatencyRegistry latencyRegistry;
+
+	// none in a context without @EnableMBeanExport, then there is only snapshot()
+	@Autowired(required = false)
+	private MBeanExporter mbeanExporter;
+
+	// no more MBeans once the context closes, the exporter would not remove them
+	private volatile boolean closed;
+
+	public MethodMetrics metrics(Method method) {
+
+		MethodMetrics methodMetrics = metrics.get(method);
+
+		if (methodMetrics == null) {
+			methodMetrics = create(method);
+		}
+
+		return methodMetrics;
+	}
+
+	/*
+	 * Snapshots of all the methods, sorted by signature
+	 */
+	public Map<String, MethodMetricsSnapshot> snapshot() {
+
+		Map<String, MethodMetricsSnapshot> snapshots = new TreeMap<>();
+
+		for (MethodMetrics methodMetrics : metrics.values()) {
+			snapshots.put(methodMetrics.getSignature(), methodMetrics.snapshot());
+		}
+
+		return snapshots;
+	}
+
+	@ManagedAttribute(description = "The metrics of every advised method called so far")
+	public String[] getMethods() {
+
+		Map<String, MethodMetricsSnapshot> snapshots = snapshot();
+		String[] lines = new String[snapshots.size()];
+		int i = 0;
+
+		for (Map.Entry<String, MethodMetricsSnapshot> entry : snapshots.entrySet()) {
+			lines[i++] = entry.getKey() + " -> " + entry.getValue();
+		}
+
+		return lines;
+	}
+
+	@ManagedOperation(description = "The metrics of every advised method called so far")
+	public String report() {
+
+		StringBuilder report = new StringBuilder("Metrics per method:");
+
+		for (String line : getMethods()) {
+			report.append("\n  ").append(line);
+		}
+
+		return report.toString();
+	}
+
+	@ManagedOperation(description = "Sets the metrics of all methods back to 0")
+	public void reset() {
+
+		for (MethodMetrics methodMetrics : metrics.values()) {
+			methodMetrics.reset();
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+	}
+
+	// ---------------------------
+
+	private MethodMetrics create(Method method) {
+
+		MethodMetrics created = new MethodMetrics(MethodSignatures.qualifiedOf(method),
+				latencyRegistry.histogram(method));
+		MethodMetrics existing = metrics.putIfAbsent(method, created);
+
+		if (existing != null) {
+			return existing;
+		}
+
+		// once per method, by the thread of its first call
+		export(created);
+		return created;
+	}
+
+	private void export(MethodMetrics methodMetrics) {
+
+		if (mbeanExporter == null || closed) {
+			return;
+		}
+
+		try {
+
+			mbeanExporter.registerManagedResource(methodMetrics,
+					new ObjectName(METHOD_OBJECT_NAME + ObjectName.quote(methodMetrics.getSignature())));
+
+		} catch (MalformedObjectNameException | MBeanExportException e) {
+			// still in snapshot(), a call must not fail because of its MBean
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.rohitThebest.aopdemo.metrics;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/*
+ * An immutable copy of the MethodMetrics of one method.
+ */
+public class MethodMetricsSnapshot {
+
+	private static final DateTimeFormatter TIME_FORMAT =
+			DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+	private final String signature;
+	private final long calls;
+	private final long errors;
+	private final long inFlight;
+	private final HistogramSnapshot latency;
+	private final String lastException;
+	private final long lastExceptionTimeMillis;
+
+	MethodMetricsSnapshot(String signature, long calls, long errors, long inFlight, HistogramSnapshot latency,
+			String lastException, long lastExceptionTimeMillis) {
+
+		this.signature = signature;
+		this.calls = calls;
+		this.errors = errors;
+		this.inFlight = inFlight;
+		this.latency = latency;
+		this.lastException = lastException;
+		this.lastExceptionTimeMillis = lastExceptionTimeMillis;
+	}
+
+	public String getSignature() {
+		return signature;
+	}
+
+	public long getCalls() {
+		return calls;
+	}
+
+	public long getErrors() {
+		return errors;
+	}
+
+	public long getInFlight() {
+		return inFlight;
+	}
+
+	// of the calls that ended
+	public HistogramSnapshot getLatency() {
+		return latency;
+	}
+
+	// e.g. "java.lang.RuntimeException: Major accident! Highway is closed!", null when none was thrown
+	public String getLastException() {
+		return lastException;
+	}
+
+	public long getLastExceptionTimeMillis() {
+		return lastExceptionTimeMillis;
+	}
+
+	@Override
+	public String toString() {
+
+		String text = "calls=" + calls
+				+ ", errors=" + errors
+				+ ", inFlight=" + inFlight
+				+ ", mean=" + HistogramSnapshot.format((long) latency.getMean())
+				+ ", p50=" + HistogramSnapshot.format(latency.getP50())
+				+ ", p99=" + HistogramSnapshot.format(latency.getP99())
+				+ ", max=" + HistogramSnapshot.format(latency.getMax());
+
+		if (lastException != null) {
+			text += ", last exception at " + formatTime(lastExceptionTimeMillis) + ": " + lastException;
+		}
+
+		return text;
+	}
+
+	static String formatTime(long timeMillis) {
+		return TIME_FORMAT.format(Instant.ofEpochMilli(timeMillis));
+	}
+}
@@ -0,0 +1,100 @@
+package com.rohitThebest.aopdemo.metrics;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Readable signatures of advised methods, e.g. "AccountDAO.addAccount(Account,boolean)".
+ * 
+ * Each signature is built once per Method and then cached, so the registries
+ * and reports can use it without building a new string on every call.
+ * 
+ * qualifiedOf() has the package of the class too, e.g.
+ * "com.rohitThebest.aopdemo.dao.AccountDAO.addAccount(Account,boolean)", for
+ * the keys that must not mix up two classes with the same simple name.
+ * 
+ * shortOf() is the same for the log messages of the aspects: the text of
+ * JoinPoint.getSignature().toShortString(), e.g. "AccountDAO.addAccount(..)",
+ * which AspectJ would build again on every call.
+ */
+public final class MethodSignatures {
+
+	private static final Map<Method, String> SIGNATURES = new ConcurrentHashMap<>();
+	private static final Map<Method, String> QUALIFIED_SIGNATURES = new ConcurrentHashMap<>();
+	private static final Map<Method, String> SHORT_SIGNATURES = new ConcurrentHashMap<>();
+
+	private MethodSignatures() {
+	}
+
+	public static String of(Method method) {
+
+		String signature = SIGNATURES.get(method);
+
+		if (signature == null) {
+			signature = SIGNATURES.computeIfAbsent(method, MethodSignatures::build);
+		}
+
+		return signature;
+	}
+
+	public static String qualifiedOf(Method method) {
+
+		String signature = QUALIFIED_SIGNATURES.get(method);
+
+		if (signature == null) {
+			signature = QUALIFIED_SIGNATURES.computeIfAbsent(method, MethodSignatures::buildQualified);
+		}
+
+		return signature;
+	}
+
+	public static String shortOf(Method method) {
+
+		String signature = SHORT_SIGNATURES.get(method);
+
+		if (signature == null) {
+			signature = SHORT_SIGNATURES.computeIfAbsent(method, MethodSignatures::buildShort);
+		}
+
+		return signature;
+	}
+
+	private static String build(Method method) {
+		return build(method, method.getDeclaringClass().getSimpleName());
+	}
+
+	private static String buildQualified(Method method) {
+		return build(method, method.getDeclaringClass().getName());
+	}
+
+	private static String build(Method method, String className) {
+
+		StringBuilder signature = new StringBuilder();
+		signature.append(className).append('.').append(method.getName()).append('(');
+
+		Class<?>[] parameterTypes = method.getParameterTypes();
+
+		for (int i = 0; i < parameterTypes.length; i++) {
+
+			if (i > 0) {
+				signature.append(',');
+			}
+
+			signature.append(parameterTypes[i].getSimpleName());
+		}
+
+		return signature.append(')').toString().intern();
+	}
+
+	private static String buildShort(Method method) {
+
+		return (method.getDeclaringClass().getSimpleName() + '.' + method.getName()
+				+ (method.getParameterCount() == 0 ? "()" : "(..)")).intern();
+	}
+}
@@ -0,0 +1,86 @@
+package com.rohitThebest.aopdemo.pointcut;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+
+/*
+ * One primitive pointcut expression, e.g. "execution(* com.rohitThebest.aopdemo.dao.*.*(..))",
+ * compiled once by AspectJ, with the answer for each method it has been asked
+ * about.
+ */
+final class CompiledPointcut {
+
+	private final String expression;
+	private final AspectJExpressionPointcut pointcut;
+	private final long compileNanos;
+
+	// target class -> method -> matches
+	private final Map<Class<?>, Map<Method, Boolean>> results = new ConcurrentHashMap<>();
+
+	private final LongAdder lookups = new LongAdder();
+	private final LongAdder evaluations = new LongAdder();
+	private final LongAdder matchNanos = new LongAdder();
+
+	CompiledPointcut(String expression, Class<?> scope) {
+
+		long begin = System.nanoTime();
+
+		this.expression = expression;
+		this.pointcut = new AspectJExpressionPointcut(scope, new String[0], new Class<?>[0]);
+		this.pointcut.setExpression(expression);
+
+		// parses and resolves the expression
+		this.pointcut.getClassFilter();
+
+		this.compileNanos = System.nanoTime() - begin;
+	}
+
+	boolean matches(Method method, Class<?> targetClass) {
+
+		lookups.increment();
+
+		Map<Method, Boolean> methods = results.get(targetClass);
+
+		if (methods == null) {
+			methods = results.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>());
+		}
+
+		Boolean matches = methods.get(method);
+
+		if (matches == null) {
+
+			long begin = System.nanoTime();
+			matches = pointcut.matches(method, targetClass);
+			matchNanos.add(System.nanoTime() - begin);
+
+			evaluations.increment();
+			methods.put(method, matches);
+		}
+
+		return matches;
+	}
+
+	String getExpression() {
+		return expression;
+	}
+
+	long getEvaluations() {
+		return evaluations.sum();
+	}
+
+	@Override
+	public String toString() {
+
+		return String.format("%-70s compiled in %6.2f ms, %6d lookups, %5d evaluated in %6.2f ms",
+				expression, compileNanos / 1e6, lookups.sum(), evaluations.sum(), matchNanos.sum() / 1e6);
+	}
+}
@@ -0,0 +1,179 @@
+package com.rohitThebest.aopdemo.pointcut;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.rohitThebest.aopdemo.pointcut.PointcutParser.Composite;
+
+/*
+ * Shared pointcut matchers.
+ * 
+ * Spring compiles the expression of every advice on its own and matches it
+ * against every method of every bean, so forDaoPackage() is evaluated again
+ * for each of the five advices that use it. Here an expression is split into
+ * its primitive pointcuts (see PointcutParser), each primitive pointcut is
+ * compiled once and remembers its answer per method, and the expressions
+ * combine those answers.
+ * 
+ * Expressions that cannot be split are not handled here (the methods return
+ * null) and are left to Spring.
+ * 
+ * The auto-proxy creator of DemoConfig registers its cache as the bean
+ * "compiledPointcutCache", which PointcutInspector reports on.
+ */
+public class CompiledPointcutCache {
+
+	public static final String BEAN_NAME = "compiledPointcutCache";
+
+	// package of the scope + " " + primitive expression -> matcher
+	private final Map<String, CompiledPointcut> compiled = new ConcurrentHashMap<>();
+
+	// scope + " " + expression -> composite, empty when it cannot be split
+	private final Map<String, Optional<Composite>> composites = new ConcurrentHashMap<>();
+
+	// composite -> target class -> some method matches
+	private final Map<Composite, Map<Class<?>, Boolean>> applicable = new ConcurrentHashMap<>();
+
+	/*
+	 * Whether the expression (declared in the scope class, usually the aspect)
+	 * matches the method, null when the expression cannot be split.
+	 */
+	public Boolean matches(String expression, Class<?> scope, Method method, Class<?> targetClass) {
+
+		Composite composite = composite(expression, scope);
+
+		return composite != null ? composite.node.matches(method, targetClass) : null;
+	}
+
+	/*
+	 * Whether the expression matches any method of the target class, like
+	 * AopUtils.canApply(), null when the expression cannot be split.
+	 */
+	public Boolean canApply(String expression, Class<?> scope, Class<?> targetClass) {
+
+		Composite composite = composite(expression, scope);
+
+		if (composite == null) {
+			return null;
+		}
+
+		Map<Class<?>, Boolean> classes = applicable.get(composite);
+
+		if (classes == null) {
+			classes = applicable.computeIfAbsent(composite, key -> new ConcurrentHashMap<>());
+		}
+
+		Boolean applies = classes.get(targetClass);
+
+		if (applies == null) {
+			applies = anyMethodMatches(composite, targetClass);
+			classes.put(targetClass, applies);
+		}
+
+		return applies;
+	}
+
+	// the primitive pointcuts of the expression, empty when it cannot be split
+	public List<String> primitivePointcuts(String expression, Class<?> scope) {
+
+		Composite composite = composite(expression, scope);
+		Set<String> primitives = new LinkedHashSet<>();
+
+		if (composite != null) {
+
+			for (CompiledPointcut leaf : composite.leaves) {
+				primitives.add(leaf.getExpression());
+			}
+		}
+
+		return new ArrayList<>(primitives);
+	}
+
+	// methods evaluated by AspectJ so far, the rest were answered from the cache
+	public long getEvaluations() {
+
+		long evaluations = 0;
+
+		for (CompiledPointcut pointcut : compiled.values()) {
+			evaluations += pointcut.getEvaluations();
+		}
+
+		return evaluations;
+	}
+
+	public String report() {
+
+		StringBuilder report = new StringBuilder("Compiled pointcuts:");
+
+		for (CompiledPointcut pointcut : new TreeMap<>(compiled).values()) {
+			report.append("\n  ").append(pointcut);
+		}
+
+		return report.toString();
+	}
+
+	CompiledPointcut compiled(String expression, Class<?> scope) {
+
+		String key = scope.getPackageName() + " " + expression;
+		CompiledPointcut pointcut = compiled.get(key);
+
+		if (pointcut == null) {
+			pointcut = compiled.computeIfAbsent(key, k -> new CompiledPointcut(expression, scope));
+		}
+
+		return pointcut;
+	}
+
+	private Composite composite(String expression, Class<?> scope) {
+
+		String key = scope.getName() + " " + expression;
+		Optional<Composite> composite = composites.get(key);
+
+		if (composite == null) {
+			composite = composites.computeIfAbsent(key,
+					k -> Optional.ofNullable(PointcutParser.parse(this, expression, scope)));
+		}
+
+		return composite.orElse(null);
+	}
+
+	// the methods AopUtils.canApply() looks at
+	private static boolean anyMethodMatches(Composite composite, Class<?> targetClass) {
+
+		Set<Class<?>> classes = new LinkedHashSet<>();
+
+		if (!Proxy.isProxyClass(targetClass)) {
+			classes.add(ClassUtils.getUserClass(targetClass));
+		}
+
+		classes.addAll(ClassUtils.getAllInterfacesForClassAsSet(targetClass));
+
+		for (Class<?> clazz : classes) {
+
+			for (Method method : ReflectionUtils.getAllDeclaredMethods(clazz)) {
+
+				if (composite.node.matches(method, targetClass)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+}
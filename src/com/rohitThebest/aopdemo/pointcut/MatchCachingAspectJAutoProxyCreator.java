@@ -0,0 +1,157 @@
+package com.rohitThebest.aopdemo.pointcut;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.aspectj.AbstractAspectJAdvice;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.aspectj.annotation.AnnotationAwareAspectJAutoProxyCreator;
+import org.springframework.aop.framework.AdvisorChainFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import com.rohitThebest.aopdemo.control.AdviceControl;
+import com.rohitThebest.aopdemo.control.SwitchingAdvisorChainFactory;
+import com.rohitThebest.aopdemo.fusion.FusingAdvisorChainFactory;
+
+/*
+ * The auto-proxy creator @EnableAspectJAutoProxy registers, except that it
+ * decides which advices apply to a bean with the shared CompiledPointcutCache:
+ * the primitive pointcuts of forDaoPackage() & co. are matched once per
+ * method, not once per advice and method.
+ * 
+ * Advices whose expression cannot be split (args(), bound parameters, ...)
+ * are matched by Spring as before.
+ * 
+ * With fuseBeforeAdvice the proxies also call consecutive @Before advices
+ * through one fused invoker.
+ * 
+ * The advices of its proxies can be switched off and retargeted at runtime
+ * with its AdviceControl, registered as the bean "adviceControl".
+ */
+public class MatchCachingAspectJAutoProxyCreator extends AnnotationAwareAspectJAutoProxyCreator {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient CompiledPointcutCache cache = new CompiledPointcutCache();
+
+	private final transient AdviceControl adviceControl = new AdviceControl();
+
+	private boolean fuseBeforeAdvice;
+
+	public CompiledPointcutCache getCache() {
+		return cache;
+	}
+
+	public AdviceControl getAdviceControl() {
+		return adviceControl;
+	}
+
+	/*
+	 * true: the @Before advices that follow each other in a chain are called
+	 * through one method handle (see FusingAdvisorChainFactory)
+	 */
+	public void setFuseBeforeAdvice(boolean fuseBeforeAdvice) {
+		this.fuseBeforeAdvice = fuseBeforeAdvice;
+	}
+
+	public boolean isFuseBeforeAdvice() {
+		return fuseBeforeAdvice;
+	}
+
+	@Override
+	protected void customizeProxyFactory(ProxyFactory proxyFactory) {
+
+		AdvisorChainFactory chainFactory =
+				fuseBeforeAdvice ? new FusingAdvisorChainFactory() : proxyFactory.getAdvisorChainFactory();
+
+		proxyFactory.setAdvisorChainFactory(new SwitchingAdvisorChainFactory(adviceControl, chainFactory));
+		adviceControl.register(proxyFactory);
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+
+		super.setBeanFactory(beanFactory);
+
+		ConfigurableListableBeanFactory listableBeanFactory = (ConfigurableListableBeanFactory) beanFactory;
+
+		if (!listableBeanFactory.containsSingleton(CompiledPointcutCache.BEAN_NAME)) {
+			listableBeanFactory.registerSingleton(CompiledPointcutCache.BEAN_NAME, cache);
+		}
+
+		if (!listableBeanFactory.containsSingleton(AdviceControl.BEAN_NAME)) {
+			listableBeanFactory.registerSingleton(AdviceControl.BEAN_NAME, adviceControl);
+		}
+	}
+
+	@Override
+	protected List<Advisor> findAdvisorsThatCanApply(List<Advisor> candidateAdvisors, Class<?> beanClass,
+			String beanName) {
+
+		Set<Advisor> eligible = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<Advisor> others = new ArrayList<>();
+
+		for (Advisor advisor : candidateAdvisors) {
+
+			Method adviceMethod = adviceMethod(advisor);
+			Boolean applies = adviceMethod == null ? null
+					: cache.canApply(expression(advisor), adviceMethod.getDeclaringClass(), beanClass);
+
+			if (applies == null) {
+				others.add(advisor);
+			} else if (applies) {
+				eligible.add(advisor);
+			}
+		}
+
+		if (!others.isEmpty()) {
+			eligible.addAll(super.findAdvisorsThatCanApply(others, beanClass, beanName));
+		}
+
+		// in the order of the candidates, like Spring
+		List<Advisor> advisors = new ArrayList<>();
+
+		for (Advisor advisor : candidateAdvisors) {
+
+			if (eligible.contains(advisor)) {
+				advisors.add(advisor);
+			}
+		}
+
+		return advisors;
+	}
+
+	// the @Before / @Around / ... method of an aspect advisor, null for other kinds of advisors
+	protected static Method adviceMethod(Advisor advisor) {
+
+		if (!(advisor instanceof PointcutAdvisor) || !(advisor.getAdvice() instanceof AbstractAspectJAdvice)
+				|| !(((PointcutAdvisor) advisor).getPointcut() instanceof AspectJExpressionPointcut)) {
+			return null;
+		}
+
+		return ((AbstractAspectJAdvice) advisor.getAdvice()).getAspectJAdviceMethod();
+	}
+
+	// the pointcut expression of an aspect advisor, "" for other kinds of advisors
+	protected static String expression(Advisor advisor) {
+
+		if (adviceMethod(advisor) == null) {
+			return "";
+		}
+
+		return ((AspectJExpressionPointcut) ((PointcutAdvisor) advisor).getPointcut()).getExpression();
+	}
+}
@@ -0,0 +1,152 @@
+package com.rohitThebest.aopdemo.pointcut;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.rohitThebest.aopdemo.aspect.AOPExpressions;
+import com.rohitThebest.aopdemo.metrics.MethodSignatures;
+
+/*
+ * Which bean methods each named pointcut matches, and what that costs:
+ * 
+ *   inspector.report()                          all the pointcuts of AOPExpressions
+ *   inspector.inspect(SomeAspect.class)         the @Pointcut methods of another class
+ *   inspector.inspect("execution(* find*(..))") any expression
+ * 
+ * The bean methods are the methods declared by the classes of the
+ * application beans. Matching goes through the CompiledPointcutCache of the
+ * auto-proxy creator, so the primitive pointcuts it already matched while
+ * creating the proxies are answered from the cache (the number of evaluations
+ * shows how many were not). In "ltw" mode there are no proxies and the
+ * inspector uses a cache of its own.
+ */
+@Component
+public class PointcutInspector {
+
+	@Autowired
+	private ConfigurableListableBeanFactory beanFactory;
+
+	@Autowired(required = false)
+	private CompiledPointcutCache cache;
+
+	public List<PointcutMatches> inspect(Class<?> pointcutHolder) {
+
+		List<Method> pointcuts = new ArrayList<>();
+
+		ReflectionUtils.doWithMethods(pointcutHolder, pointcuts::add,
+				method -> method.isAnnotationPresent(Pointcut.class));
+
+		pointcuts.sort(Comparator.comparing(Method::getName));
+
+		List<PointcutMatches> matches = new ArrayList<>();
+
+		for (Method pointcut : pointcuts) {
+
+			matches.add(inspect(pointcut.getName() + "()", pointcut.getAnnotation(Pointcut.class).value(),
+					pointcut.getDeclaringClass()));
+		}
+
+		return matches;
+	}
+
+	public PointcutMatches inspect(String expression) {
+
+		return inspect(expression, expression, AOPExpressions.class);
+	}
+
+	public String report() {
+
+		StringBuilder report = new StringBuilder("Pointcut matches of AOPExpressions:");
+
+		for (PointcutMatches matches : inspect(AOPExpressions.class)) {
+			report.append("\n  ").append(matches);
+		}
+
+		return report.append("\n").append(cache().report()).toString();
+	}
+
+	private PointcutMatches inspect(String name, String expression, Class<?> scope) {
+
+		CompiledPointcutCache cache = cache();
+		Set<String> methods = new TreeSet<>();
+
+		long evaluations = cache.getEvaluations();
+		long begin = System.nanoTime();
+
+		// an expression the cache cannot split is matched as a whole
+		AspectJExpressionPointcut wholeExpression = null;
+
+		if (cache.primitivePointcuts(expression, scope).isEmpty()) {
+
+			wholeExpression = new AspectJExpressionPointcut(scope, new String[0], new Class<?>[0]);
+			wholeExpression.setExpression(expression);
+		}
+
+		for (Class<?> beanClass : beanClasses()) {
+
+			for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanClass,
+					ReflectionUtils.USER_DECLARED_METHODS)) {
+
+				boolean matches = wholeExpression != null ? wholeExpression.matches(method, beanClass)
+						: cache.matches(expression, scope, method, beanClass);
+
+				if (matches) {
+					methods.add(MethodSignatures.of(method));
+				}
+			}
+		}
+
+		long matchNanos = System.nanoTime() - begin;
+
+		return new PointcutMatches(name, expression, cache.primitivePointcuts(expression, scope), methods,
+				matchNanos, cache.getEvaluations() - evaluations);
+	}
+
+	private Set<Class<?>> beanClasses() {
+
+		Set<Class<?>> classes = new LinkedHashSet<>();
+
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+
+			if (beanFactory.getBeanDefinition(beanName).getRole() != BeanDefinition.ROLE_APPLICATION) {
+				continue;
+			}
+
+			Class<?> beanClass = beanFactory.getType(beanName, false);
+
+			if (beanClass != null) {
+				classes.add(ClassUtils.getUserClass(beanClass));
+			}
+		}
+
+		return classes;
+	}
+
+	private CompiledPointcutCache cache() {
+
+		if (cache == null) {
+			cache = new CompiledPointcutCache();
+		}
+
+		return cache;
+	}
+}
@@ -0,0 +1,77 @@
+package com.rohitThebest.aopdemo.pointcut;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.List;
+import java.util.Set;
+
+/*
+ * What one named pointcut matched among the bean methods, see PointcutInspector.
+ */
+public class PointcutMatches {
+
+	private final String pointcut;
+	private final String expression;
+	private final List<String> primitivePointcuts;
+	private final Set<String> methods;
+	private final long matchNanos;
+	private final long evaluations;
+
+	public PointcutMatches(String pointcut, String expression, List<String> primitivePointcuts,
+			Set<String> methods, long matchNanos, long evaluations) {
+
+		this.pointcut = pointcut;
+		this.expression = expression;
+		this.primitivePointcuts = primitivePointcuts;
+		this.methods = methods;
+		this.matchNanos = matchNanos;
+		this.evaluations = evaluations;
+	}
+
+	// e.g. "forDaoPackageNotGetterSetter()"
+	public String getPointcut() {
+		return pointcut;
+	}
+
+	public String getExpression() {
+		return expression;
+	}
+
+	// the execution(...) & co. it is made of, empty when it cannot be split
+	public List<String> getPrimitivePointcuts() {
+		return primitivePointcuts;
+	}
+
+	// e.g. "AccountDAO.addAccount(Account,boolean)"
+	public Set<String> getMethods() {
+		return methods;
+	}
+
+	// time spent matching the bean methods
+	public long getMatchNanos() {
+		return matchNanos;
+	}
+
+	// methods AspectJ had to evaluate, the others were answered from the cache
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder text = new StringBuilder();
+
+		text.append(String.format("%-32s %3d methods, matched in %8.1f us, %4d evaluations : %s",
+				pointcut, methods.size(), matchNanos / 1e3, evaluations, expression));
+
+		for (String method : methods) {
+			text.append("\n      ").append(method);
+		}
+
+		return text.toString();
+	}
+}
@@ -0,0 +1,283 @@
+package com.rohitThebest.aopdemo.pointcut;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/*
+ * Splits a pointcut expression into its primitive pointcuts, joined with
+ * &&, || and !. References to named pointcuts, like
+ * "com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage()", are
+ * replaced by the expression of the @Pointcut method, so
+ * 
+ *   forDaoPackage() && !(getters() || setters())
+ * 
+ * becomes three execution(...) pointcuts that are shared with every other
+ * expression using forDaoPackage(), getters() or setters().
+ * 
+ * Only pointcuts whose answer depends on the method alone are split out:
+ * execution(), within(), and @annotation() / @within() with an annotation
+ * type. An expression with anything else (args(), this(), target(), bound
+ * parameters like @annotation(cached), ...) is not split at all: parse()
+ * returns null and the expression is matched as a whole by Spring.
+ */
+final class PointcutParser {
+
+	interface Node {
+
+		boolean matches(Method method, Class<?> targetClass);
+	}
+
+	private static final Set<String> STATIC_DESIGNATORS = Set.of("execution", "within");
+
+	private static final Set<String> STATIC_TYPE_DESIGNATORS = Set.of("@annotation", "@within");
+
+	private static final int MAX_REFERENCE_DEPTH = 16;
+
+	// the primitive pointcuts found, compiled once the whole expression could be split
+	private final List<Primitive> primitives = new ArrayList<>();
+
+	private String text;
+	private int position;
+
+	private PointcutParser() {
+	}
+
+	// null when the expression cannot be split
+	static Composite parse(CompiledPointcutCache cache, String expression, Class<?> scope) {
+
+		PointcutParser parser = new PointcutParser();
+
+		try {
+
+			Node node = parser.parseExpression(expression, scope, 0);
+			List<CompiledPointcut> leaves = new ArrayList<>();
+
+			for (Primitive primitive : parser.primitives) {
+
+				primitive.compiled = cache.compiled(primitive.expression, primitive.scope);
+				leaves.add(primitive.compiled);
+			}
+
+			return new Composite(node, leaves);
+
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static final class Primitive {
+
+		final String expression;
+		final Class<?> scope;
+
+		CompiledPointcut compiled;
+
+		Primitive(String expression, Class<?> scope) {
+			this.expression = expression;
+			this.scope = scope;
+		}
+	}
+
+	static final class Composite {
+
+		final Node node;
+		final List<CompiledPointcut> leaves;
+
+		private Composite(Node node, List<CompiledPointcut> leaves) {
+			this.node = node;
+			this.leaves = leaves;
+		}
+	}
+
+	// ---------------------------
+
+	private Node parseExpression(String expression, Class<?> scope, int depth) {
+
+		if (depth > MAX_REFERENCE_DEPTH) {
+			throw new IllegalArgumentException("pointcut references nested too deep: " + expression);
+		}
+
+		// a reference is parsed with its own text, then we go on with ours
+		String outerText = text;
+		int outerPosition = position;
+
+		text = expression;
+		position = 0;
+
+		try {
+
+			Node node = parseOr(scope, depth);
+			skipWhitespace();
+
+			if (position < text.length()) {
+				throw new IllegalArgumentException("unexpected '" + text.substring(position) + "'");
+			}
+
+			return node;
+
+		} finally {
+
+			text = outerText;
+			position = outerPosition;
+		}
+	}
+
+	private Node parseOr(Class<?> scope, int depth) {
+
+		Node node = parseAnd(scope, depth);
+
+		while (consume("||")) {
+
+			Node left = node;
+			Node right = parseAnd(scope, depth);
+			node = (method, targetClass) -> left.matches(method, targetClass) || right.matches(method, targetClass);
+		}
+
+		return node;
+	}
+
+	private Node parseAnd(Class<?> scope, int depth) {
+
+		Node node = parseUnary(scope, depth);
+
+		while (consume("&&")) {
+
+			Node left = node;
+			Node right = parseUnary(scope, depth);
+			node = (method, targetClass) -> left.matches(method, targetClass) && right.matches(method, targetClass);
+		}
+
+		return node;
+	}
+
+	private Node parseUnary(Class<?> scope, int depth) {
+
+		if (consume("!")) {
+
+			Node negated = parseUnary(scope, depth);
+			return (method, targetClass) -> !negated.matches(method, targetClass);
+		}
+
+		if (consume("(")) {
+
+			Node node = parseOr(scope, depth);
+
+			if (!consume(")")) {
+				throw new IllegalArgumentException("missing ')'");
+			}
+
+			return node;
+		}
+
+		return parsePrimitive(scope, depth);
+	}
+
+	private Node parsePrimitive(Class<?> scope, int depth) {
+
+		skipWhitespace();
+
+		int begin = position;
+
+		while (position < text.length() && text.charAt(position) != '(' && !Character.isWhitespace(text.charAt(position))) {
+			position++;
+		}
+
+		String designator = text.substring(begin, position);
+
+		skipWhitespace();
+
+		if (designator.isEmpty() || position >= text.length() || text.charAt(position) != '(') {
+			throw new IllegalArgumentException("not a pointcut: '" + text.substring(begin) + "'");
+		}
+
+		int argumentsBegin = position + 1;
+		int open = 0;
+
+		do {
+
+			if (position >= text.length()) {
+				throw new IllegalArgumentException("missing ')'");
+			}
+
+			char c = text.charAt(position++);
+
+			if (c == '(') {
+				open++;
+			} else if (c == ')') {
+				open--;
+			}
+
+		} while (open > 0);
+
+		String arguments = text.substring(argumentsBegin, position - 1).trim();
+
+		if (STATIC_DESIGNATORS.contains(designator)
+				|| (STATIC_TYPE_DESIGNATORS.contains(designator) && arguments.contains("."))) {
+
+			Primitive primitive = new Primitive(designator + "(" + arguments + ")", scope);
+			primitives.add(primitive);
+			return (method, targetClass) -> primitive.compiled.matches(method, targetClass);
+		}
+
+		if (arguments.isEmpty() && !designator.startsWith("@")) {
+			return parseReference(designator, scope, depth);
+		}
+
+		throw new IllegalArgumentException("not a static pointcut: " + designator + "(" + arguments + ")");
+	}
+
+	// "forDaoPackage" or "com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackage"
+	private Node parseReference(String reference, Class<?> scope, int depth) {
+
+		int dot = reference.lastIndexOf('.');
+		Class<?> owner = scope;
+
+		if (dot > 0) {
+
+			try {
+				owner = ClassUtils.forName(reference.substring(0, dot), scope.getClassLoader());
+			} catch (ClassNotFoundException | LinkageError e) {
+				throw new IllegalArgumentException("unknown pointcut " + reference, e);
+			}
+		}
+
+		Method method = ReflectionUtils.findMethod(owner, reference.substring(dot + 1));
+		Pointcut pointcut = method != null ? method.getAnnotation(Pointcut.class) : null;
+
+		if (pointcut == null) {
+			throw new IllegalArgumentException("unknown pointcut " + reference);
+		}
+
+		return parseExpression(pointcut.value(), method.getDeclaringClass(), depth + 1);
+	}
+
+	private boolean consume(String token) {
+
+		skipWhitespace();
+
+		if (text.startsWith(token, position)) {
+			position += token.length();
+			return true;
+		}
+
+		return false;
+	}
+
+	private void skipWhitespace() {
+
+		while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+			position++;
+		}
+	}
+}
@@ -0,0 +1,188 @@
+package com.rohitThebest.aopdemo.reactive;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+ * The few Flow.Publisher helpers this project needs, in place of a reactive
+ * library: a cold publisher over an Iterable and a subscriber that collects
+ * a publisher into a list.
+ */
+public final class Publishers {
+
+	private Publishers() {
+	}
+
+	/*
+	 * A publisher that asks the source for its items only when it is
+	 * subscribed to, and again for every subscriber: nothing is done when the
+	 * publisher is created. A source that throws ends the subscription with
+	 * onError.
+	 * 
+	 * The items are emitted on the thread that calls request(), never more than
+	 * requested.
+	 */
+	public static <T> Flow.Publisher<T> fromIterable(Supplier<? extends Iterable<? extends T>> source) {
+
+		return subscriber -> subscriber.onSubscribe(new IterableSubscription<>(subscriber, source));
+	}
+
+	/*
+	 * Requests all the items and completes with them, or with the error of the
+	 * publisher.
+	 */
+	public static <T> CompletableFuture<List<T>> toList(Flow.Publisher<T> publisher) {
+
+		CompletableFuture<List<T>> result = new CompletableFuture<>();
+
+		publisher.subscribe(new Flow.Subscriber<T>() {
+
+			private final List<T> items = new ArrayList<>();
+
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(T item) {
+				items.add(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				result.completeExceptionally(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+				result.complete(items);
+			}
+		});
+
+		return result;
+	}
+
+	private static final class IterableSubscription<T> implements Flow.Subscription {
+
+		private final Flow.Subscriber<? super T> subscriber;
+		private final Supplier<? extends Iterable<? extends T>> source;
+
+		// items requested and not emitted yet, the thread that raises it from 0 emits
+		private final AtomicLong requested = new AtomicLong();
+
+		private Iterator<? extends T> iterator;
+		private volatile boolean cancelled;
+
+		IterableSubscription(Flow.Subscriber<? super T> subscriber, Supplier<? extends Iterable<? extends T>> source) {
+			this.subscriber = subscriber;
+			this.source = source;
+		}
+
+		@Override
+		public void request(long n) {
+
+			if (n <= 0) {
+
+				cancel();
+				subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+				return;
+			}
+
+			long previous = requested.getAndAccumulate(n, (current, added) -> {
+				long sum = current + added;
+				return sum < 0 ? Long.MAX_VALUE : sum;
+			});
+
+			// another thread (or a request() from within onNext) is emitting already
+			if (previous == 0) {
+				emit();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+
+		private void emit() {
+
+			long emitted = 0;
+
+			while (true) {
+
+				long pending = requested.get();
+
+				while (emitted < pending) {
+
+					if (cancelled || finished()) {
+						return;
+					}
+
+					T item;
+
+					try {
+						item = iterator.next();
+					} catch (RuntimeException e) {
+
+						cancelled = true;
+						subscriber.onError(e);
+						return;
+					}
+
+					subscriber.onNext(item);
+					emitted++;
+				}
+
+				// complete right after the last item, not only on the next request
+				if (cancelled || finished()) {
+					return;
+				}
+
+				if (requested.addAndGet(-emitted) == 0) {
+					return;
+				}
+
+				emitted = 0;
+			}
+		}
+
+		/*
+		 * Ends the subscription with onComplete (no more items) or onError (the
+		 * source failed) and returns true, or returns false when there are items
+		 */
+		private boolean finished() {
+
+			try {
+
+				if (iterator == null) {
+					iterator = source.get().iterator();
+				}
+
+				if (iterator.hasNext()) {
+					return false;
+				}
+
+			} catch (RuntimeException e) {
+
+				cancelled = true;
+				subscriber.onError(e);
+				return true;
+			}
+
+			cancelled = true;
+			subscriber.onComplete();
+			return true;
+		}
+	}
+}
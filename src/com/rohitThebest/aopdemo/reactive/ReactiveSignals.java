@@ -0,0 +1,179 @@
+package com.rohitThebest.aopdemo.reactive;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/*
+ * For the advices of methods that return a CompletionStage or a
+ * Flow.Publisher: such a method returns before the work is done (or, for a
+ * publisher, even started), so an advice that measures or logs around the call
+ * only sees the assembly. Instead the advice hooks into the returned value and
+ * runs when it signals its end, on the thread that signals it, without
+ * blocking anyone.
+ * 
+ *   Object result = proceedingJoinPoint.proceed();
+ * 
+ *   if (ReactiveSignals.isReactive(result)) {
+ *       return ReactiveSignals.whenTerminated(result, begin, (start, failure) -> ...);
+ *   }
+ */
+public final class ReactiveSignals {
+
+	@FunctionalInterface
+	public interface Termination {
+
+		/*
+		 * beginNanos: the call of the method for a CompletionStage, the
+		 * subscription for a Publisher (the work starts there).
+		 * failure: the error, null when it completed or was cancelled.
+		 */
+		void terminated(long beginNanos, Throwable failure);
+	}
+
+	private ReactiveSignals() {
+	}
+
+	public static boolean isReactive(Object result) {
+		return result instanceof CompletionStage || result instanceof Flow.Publisher;
+	}
+
+	public static Object whenTerminated(Object result, Termination termination) {
+		return whenTerminated(result, System.nanoTime(), termination);
+	}
+
+	/*
+	 * Returns the result with the termination hooked in: a CompletionStage of
+	 * the same kind (a CompletableFuture stays one), or a Publisher that calls
+	 * it once per subscription. Anything else is returned as it is.
+	 */
+	public static Object whenTerminated(Object result, long beginNanos, Termination termination) {
+
+		if (result instanceof CompletionStage) {
+
+			return ((CompletionStage<?>) result).whenComplete(
+					(value, failure) -> termination.terminated(beginNanos, unwrap(failure)));
+		}
+
+		if (result instanceof Flow.Publisher) {
+			return new SignalPublisher<>((Flow.Publisher<?>) result, termination, Function.identity());
+		}
+
+		return result;
+	}
+
+	/*
+	 * The lazy map() of a publisher: every item is converted when it is
+	 * emitted, nothing is collected.
+	 */
+	public static <T, R> Flow.Publisher<R> map(Flow.Publisher<T> publisher, Function<? super T, ? extends R> mapper) {
+
+		return new SignalPublisher<>(publisher, (begin, failure) -> {
+		}, mapper);
+	}
+
+	private static Throwable unwrap(Throwable failure) {
+
+		// the exception of the method, not the wrapper of the stage that passed it on
+		if (failure instanceof CompletionException && failure.getCause() != null) {
+			return failure.getCause();
+		}
+
+		return failure;
+	}
+
+	// ---------------------------
+
+	private static final class SignalPublisher<T, R> implements Flow.Publisher<R> {
+
+		private final Flow.Publisher<T> source;
+		private final Termination termination;
+		private final Function<? super T, ? extends R> mapper;
+
+		SignalPublisher(Flow.Publisher<T> source, Termination termination, Function<? super T, ? extends R> mapper) {
+			this.source = source;
+			this.termination = termination;
+			this.mapper = mapper;
+		}
+
+		@Override
+		public void subscribe(Flow.Subscriber<? super R> subscriber) {
+
+			long begin = System.nanoTime();
+			AtomicBoolean terminated = new AtomicBoolean();
+
+			source.subscribe(new Flow.Subscriber<T>() {
+
+				private Flow.Subscription upstream;
+
+				@Override
+				public void onSubscribe(Flow.Subscription subscription) {
+
+					upstream = subscription;
+
+					subscriber.onSubscribe(new Flow.Subscription() {
+
+						@Override
+						public void request(long n) {
+							subscription.request(n);
+						}
+
+						@Override
+						public void cancel() {
+
+							subscription.cancel();
+							terminate(null);
+						}
+					});
+				}
+
+				@Override
+				public void onNext(T item) {
+
+					R mapped;
+
+					try {
+						mapped = mapper.apply(item);
+					} catch (RuntimeException e) {
+
+						// a failed conversion ends the subscription like a failed source
+						upstream.cancel();
+						onError(e);
+						return;
+					}
+
+					subscriber.onNext(mapped);
+				}
+
+				@Override
+				public void onError(Throwable failure) {
+
+					terminate(failure);
+					subscriber.onError(failure);
+				}
+
+				@Override
+				public void onComplete() {
+
+					terminate(null);
+					subscriber.onComplete();
+				}
+
+				// once per subscription, whichever of complete, error or cancel comes first
+				private void terminate(Throwable failure) {
+
+					if (terminated.compareAndSet(false, true)) {
+						termination.terminated(begin, failure);
+					}
+				}
+			});
+		}
+	}
+}
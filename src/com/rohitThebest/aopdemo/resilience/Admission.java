@@ -0,0 +1,25 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * The answer of Circuit.tryAcquire() for one call.
+ */
+public enum Admission {
+
+	PERMITTED,
+
+	// permitted as one of the trial calls of a half-open circuit
+	TRIAL,
+
+	CIRCUIT_OPEN,
+
+	BULKHEAD_FULL;
+
+	public boolean isPermitted() {
+		return this == PERMITTED || this == TRIAL;
+	}
+}
@@ -0,0 +1,34 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * Thrown for a call rejected by a circuit breaker that has no fallback
+ * method.
+ * 
+ * One instance per circuit and reason is created up front and thrown again
+ * and again, without a stack trace: rejecting a call must stay cheap, and the
+ * stack trace would always be the same anyway.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Admission reason;
+
+	CallNotPermittedException(String circuitName, Admission reason) {
+
+		super(circuitName + ": call not permitted, " + (reason == Admission.CIRCUIT_OPEN
+				? "the circuit is open"
+				: "too many concurrent calls"), null, false, false);
+
+		this.reason = reason;
+	}
+
+	public Admission getReason() {
+		return reason;
+	}
+}
@@ -0,0 +1,243 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * The circuit breaker and bulkhead of one @CircuitBreaker method.
+ * 
+ * Every state change is a compareAndSet on the state, no locks: when several
+ * calls see the same reason to change the state only one of them does it.
+ * The time the circuit stays open is written before the state, so whoever
+ * sees OPEN also sees when it ends.
+ * 
+ * A call on an open circuit reads the state and the clock and is rejected,
+ * it never touches the bulkhead or the sliding window.
+ */
+public class Circuit {
+
+	private final String name;
+	private final int failureRateThreshold;
+	private final int minimumCalls;
+	private final long openNanos;
+	private final int halfOpenCalls;
+	private final String fallbackMethod;
+
+	private final AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
+	private volatile long openUntilNanos;
+
+	private final AtomicInteger trialPermits = new AtomicInteger();
+	private final AtomicInteger trialSuccesses = new AtomicInteger();
+
+	private final SlidingWindow window;
+
+	// null when the number of concurrent calls is not limited
+	private final Semaphore bulkhead;
+	private final int maxConcurrentCalls;
+
+	private final CallNotPermittedException circuitOpen;
+	private final CallNotPermittedException bulkheadFull;
+
+	private final LongAdder successes = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LongAdder rejectedOpen = new LongAdder();
+	private final LongAdder rejectedFull = new LongAdder();
+	private final LongAdder opened = new LongAdder();
+
+	Circuit(String name, CircuitBreaker circuitBreaker) {
+
+		this.name = name;
+		this.failureRateThreshold = circuitBreaker.failureRateThreshold();
+		this.minimumCalls = Math.max(1, circuitBreaker.minimumCalls());
+		this.openNanos = circuitBreaker.timeUnit().toNanos(circuitBreaker.openDuration());
+		this.halfOpenCalls = Math.max(1, circuitBreaker.halfOpenCalls());
+		this.fallbackMethod = circuitBreaker.fallbackMethod();
+		this.window = new SlidingWindow(circuitBreaker.slidingWindowSize());
+
+		this.maxConcurrentCalls = circuitBreaker.maxConcurrentCalls();
+		this.bulkhead = maxConcurrentCalls > 0 ? new Semaphore(maxConcurrentCalls) : null;
+
+		this.circuitOpen = new CallNotPermittedException(name, Admission.CIRCUIT_OPEN);
+		this.bulkheadFull = new CallNotPermittedException(name, Admission.BULKHEAD_FULL);
+	}
+
+	/*
+	 * Decides whether a call may go through. A permitted call must be followed
+	 * by onComplete() with the returned admission.
+	 */
+	public Admission tryAcquire() {
+
+		CircuitState current = state.get();
+
+		if (current == CircuitState.OPEN) {
+
+			if (System.nanoTime() - openUntilNanos < 0) {
+
+				rejectedOpen.increment();
+				return Admission.CIRCUIT_OPEN;
+			}
+
+			toHalfOpen();
+			current = state.get();
+		}
+
+		Admission admission = Admission.PERMITTED;
+
+		if (current != CircuitState.CLOSED) {
+
+			// half-open (or opened again meanwhile, then there are no permits left)
+			if (trialPermits.getAndDecrement() <= 0) {
+
+				rejectedOpen.increment();
+				return Admission.CIRCUIT_OPEN;
+			}
+
+			admission = Admission.TRIAL;
+		}
+
+		if (bulkhead != null && !bulkhead.tryAcquire()) {
+
+			if (admission == Admission.TRIAL) {
+				trialPermits.incrementAndGet();
+			}
+
+			rejectedFull.increment();
+			return Admission.BULKHEAD_FULL;
+		}
+
+		return admission;
+	}
+
+	public void onComplete(Admission admission, boolean failed) {
+
+		if (bulkhead != null) {
+			bulkhead.release();
+		}
+
+		if (failed) {
+			failures.increment();
+		} else {
+			successes.increment();
+		}
+
+		if (admission == Admission.TRIAL) {
+
+			if (failed) {
+				open(CircuitState.HALF_OPEN);
+			} else if (trialSuccesses.incrementAndGet() >= halfOpenCalls
+					&& state.compareAndSet(CircuitState.HALF_OPEN, CircuitState.CLOSED)) {
+				window.reset();
+			}
+
+			return;
+		}
+
+		window.record(failed);
+
+		if (failed && window.getCalls() >= minimumCalls && window.getFailureRate() >= failureRateThreshold) {
+			open(CircuitState.CLOSED);
+		}
+	}
+
+	// the exception for a rejected call, created once
+	public CallNotPermittedException rejection(Admission admission) {
+		return admission == Admission.BULKHEAD_FULL ? bulkheadFull : circuitOpen;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	// empty when there is none
+	public String getFallbackMethod() {
+		return fallbackMethod;
+	}
+
+	public CircuitState getState() {
+		return state.get();
+	}
+
+	public int getFailureRate() {
+		return window.getFailureRate();
+	}
+
+	public int getConcurrentCalls() {
+		return bulkhead == null ? 0 : maxConcurrentCalls - bulkhead.availablePermits();
+	}
+
+	public long getSuccesses() {
+		return successes.sum();
+	}
+
+	public long getFailures() {
+		return failures.sum();
+	}
+
+	public long getRejectedOpen() {
+		return rejectedOpen.sum();
+	}
+
+	public long getRejectedFull() {
+		return rejectedFull.sum();
+	}
+
+	public long getOpened() {
+		return opened.sum();
+	}
+
+	@Override
+	public String toString() {
+
+		return name + " -> " + state.get()
+				+ ", failureRate=" + window.getFailureRate() + "%"
+				+ ", successes=" + successes.sum()
+				+ ", failures=" + failures.sum()
+				+ ", rejected(open)=" + rejectedOpen.sum()
+				+ ", rejected(bulkhead)=" + rejectedFull.sum()
+				+ ", opened=" + opened.sum();
+	}
+
+	// ---------------------------
+
+	/*
+	 * Only the call that opens the circuit sets the deadline, and before OPEN
+	 * is visible: a late failure of a call admitted while it was closed must
+	 * not keep it open longer. Opening is rare, so it takes the lock, then only
+	 * a trial success closing the circuit meanwhile can make the CAS fail.
+	 */
+	private synchronized void open(CircuitState from) {
+
+		if (state.get() != from) {
+			return;
+		}
+
+		long previousUntilNanos = openUntilNanos;
+		openUntilNanos = System.nanoTime() + openNanos;
+
+		if (state.compareAndSet(from, CircuitState.OPEN)) {
+
+			trialPermits.set(0);
+			opened.increment();
+
+		} else {
+			openUntilNanos = previousUntilNanos;
+		}
+	}
+
+	private void toHalfOpen() {
+
+		// only the winner hands out the trial permits, the others find none left
+		if (state.compareAndSet(CircuitState.OPEN, CircuitState.HALF_OPEN)) {
+
+			trialSuccesses.set(0);
+			trialPermits.set(halfOpenCalls);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Marks a service method guarded by MyCircuitBreakerAspect.
+ * 
+ * The circuit opens when at least failureRateThreshold percent of the last
+ * slidingWindowSize calls failed (and there were at least minimumCalls). While
+ * it is open every call is rejected. After openDuration it lets halfOpenCalls
+ * trial calls through: if all of them succeed it closes again, if one fails it
+ * opens again.
+ * 
+ * maxConcurrentCalls: the bulkhead, calls above this number running at the
+ * same time are rejected, 0 means no limit.
+ * 
+ * fallbackMethod: name of a method of the same bean, with the same parameters,
+ * whose result is returned for a rejected call. Without a fallback method a
+ * rejected call throws a CallNotPermittedException. Failures of calls that
+ * were let through are always thrown to the caller.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CircuitBreaker {
+
+	int failureRateThreshold() default 50;
+
+	int slidingWindowSize() default 20;
+
+	int minimumCalls() default 10;
+
+	long openDuration() default 30;
+
+	TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+	int halfOpenCalls() default 3;
+
+	int maxConcurrentCalls() default 0;
+
+	String fallbackMethod() default "";
+}
@@ -0,0 +1,70 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.metrics.MethodSignatures;
+
+/*
+ * Holds the Circuit of every @CircuitBreaker method, created from its
+ * annotation on the first call.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+	private final Map<Method, Circuit> circuits = new ConcurrentHashMap<>();
+
+	public Circuit circuitFor(Method method) {
+
+		Circuit circuit = circuits.get(method);
+
+		if (circuit == null) {
+			circuit = circuits.computeIfAbsent(method, CircuitBreakerRegistry::createCircuit);
+		}
+
+		return circuit;
+	}
+
+	// method signature -> circuit, sorted by signature
+	public Map<String, Circuit> circuits() {
+
+		Map<String, Circuit> byName = new TreeMap<>();
+
+		for (Circuit circuit : circuits.values()) {
+			byName.put(circuit.getName(), circuit);
+		}
+
+		return byName;
+	}
+
+	public String report() {
+
+		StringBuilder report = new StringBuilder("Circuit breakers:");
+
+		for (Circuit circuit : circuits().values()) {
+			report.append("\n  ").append(circuit);
+		}
+
+		return report.toString();
+	}
+
+	private static Circuit createCircuit(Method method) {
+
+		CircuitBreaker circuitBreaker = method.getAnnotation(CircuitBreaker.class);
+
+		if (circuitBreaker == null) {
+			throw new IllegalStateException("No @CircuitBreaker on " + method);
+		}
+
+		return new Circuit(MethodSignatures.of(method), circuitBreaker);
+	}
+}
@@ -0,0 +1,18 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+public enum CircuitState {
+
+	// calls go through, their outcomes are recorded
+	CLOSED,
+
+	// calls are rejected until the open duration is over
+	OPEN,
+
+	// a few trial calls go through to find out if the method works again
+	HALF_OPEN
+}
@@ -0,0 +1,109 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A time budget for everything the current thread does, e.g.
+ * 
+ *   Deadline.Scope scope = Deadline.within(2, TimeUnit.SECONDS);
+ * 
+ *   try (scope) {
+ *       fortuneService.getRoadReport("A1");
+ *   }
+ * 
+ * Every advised dao and service call checks it (see MyHedgingAspect) and
+ * throws a DeadlineExceededException once the budget is spent, so nested
+ * calls give up instead of doing work nobody waits for anymore.
+ * 
+ * A nested within() can only shorten the budget, never extend it. The
+ * aspects that hand work to other threads attach the caller's deadline there.
+ */
+public final class Deadline {
+
+	private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+	private final long deadlineNanos;
+
+	private Deadline(long deadlineNanos) {
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	public static Scope within(long timeout, TimeUnit timeUnit) {
+
+		Deadline outer = CURRENT.get();
+		long deadlineNanos = System.nanoTime() + timeUnit.toNanos(timeout);
+
+		if (outer != null && outer.deadlineNanos - deadlineNanos < 0) {
+			deadlineNanos = outer.deadlineNanos;
+		}
+
+		return attach(new Deadline(deadlineNanos));
+	}
+
+	/*
+	 * Makes the given deadline (may be null) the current one of this thread
+	 * until the scope is closed.
+	 */
+	public static Scope attach(Deadline deadline) {
+
+		Deadline previous = CURRENT.get();
+		CURRENT.set(deadline);
+		return new Scope(previous);
+	}
+
+	// null when the thread has no deadline
+	public static Deadline current() {
+		return CURRENT.get();
+	}
+
+	public static void checkCurrent() {
+
+		Deadline deadline = CURRENT.get();
+
+		if (deadline != null) {
+			deadline.check();
+		}
+	}
+
+	public long remainingNanos() {
+		return deadlineNanos - System.nanoTime();
+	}
+
+	public boolean isExpired() {
+		return remainingNanos() <= 0;
+	}
+
+	public void check() {
+
+		long remaining = remainingNanos();
+
+		if (remaining <= 0) {
+			throw new DeadlineExceededException(
+					"deadline exceeded by " + TimeUnit.NANOSECONDS.toMillis(-remaining) + " ms");
+		}
+	}
+
+	public static final class Scope implements AutoCloseable {
+
+		private final Deadline previous;
+
+		private Scope(Deadline previous) {
+			this.previous = previous;
+		}
+
+		@Override
+		public void close() {
+
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Marks a service method whose slow calls are hedged by MyHedgingAspect: when
+ * a call has not completed after the given percentile of the recent
+ * latencies of the method, a second attempt is started on another thread.
+ * The first attempt to succeed is returned, the other one is cancelled.
+ * 
+ * Only use it on methods that can safely run twice (reads).
+ * 
+ * minDelay: the hedge never starts earlier than this, so a method that is
+ * fast anyway is not called twice for a few microseconds.
+ * 
+ * minSamples: the number of recent calls needed before hedging starts.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Hedged {
+
+	double percentile() default 95.0;
+
+	long minDelay() default 1;
+
+	TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+	int minSamples() default 20;
+}
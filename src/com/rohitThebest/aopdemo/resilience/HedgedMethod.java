@@ -0,0 +1,236 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * The hedging of one @Hedged method: its recent latencies and the two
+ * attempts of a slow call.
+ */
+public class HedgedMethod {
+
+	/*
+	 * One attempt of the call, e.g. the rest of the advice chain.
+	 */
+	public interface Attempt {
+		Object run() throws Throwable;
+	}
+
+	private final String name;
+	private final int minSamples;
+	private final long minDelayNanos;
+	private final RecentLatencies recentLatencies;
+
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder hedged = new LongAdder();
+	private final LongAdder hedgeWins = new LongAdder();
+	private final LongAdder deadlineExceeded = new LongAdder();
+
+	HedgedMethod(String name, Hedged hedged) {
+
+		this.name = name;
+		this.minSamples = Math.max(1, Math.min(hedged.minSamples(), RecentLatencies.SIZE));
+		this.minDelayNanos = hedged.timeUnit().toNanos(hedged.minDelay());
+		this.recentLatencies = new RecentLatencies(hedged.percentile());
+	}
+
+	/*
+	 * How long the first attempt gets before the hedge is started, -1 while
+	 * there are not enough recent calls to know.
+	 */
+	public long getHedgeDelayNanos() {
+
+		long percentileNanos = recentLatencies.getPercentileNanos();
+
+		if (percentileNanos < 0 || recentLatencies.getCount() < minSamples) {
+			return -1;
+		}
+
+		return Math.max(percentileNanos, minDelayNanos);
+	}
+
+	/*
+	 * A call that is not hedged, only its latency is recorded.
+	 */
+	public Object call(Attempt attempt) throws Throwable {
+
+		calls.increment();
+
+		long begin = System.nanoTime();
+		Object result = attempt.run();
+		recentLatencies.record(System.nanoTime() - begin);
+
+		return result;
+	}
+
+	/*
+	 * Runs the first attempt on the executor and waits hedgeDelayNanos for it;
+	 * if it is still running the second attempt is started as well. The first
+	 * successful result is returned (or the failure, when both attempts
+	 * failed), the attempt that is still running is cancelled.
+	 * 
+	 * Both attempts run with the caller's deadline, and the caller does not
+	 * wait longer than its deadline allows.
+	 */
+	public Object hedge(Executor executor, Attempt first, Attempt second, long hedgeDelayNanos) throws Throwable {
+
+		calls.increment();
+
+		Deadline deadline = Deadline.current();
+		CompletableFuture<Object> winner = new CompletableFuture<>();
+		AtomicInteger running = new AtomicInteger();
+
+		FutureTask<Void> firstTask = start(executor, first, false, deadline, winner, running);
+
+		if (firstTask == null) {
+			// the executor is saturated, no hedging
+			return call(first);
+		}
+
+		FutureTask<Void> secondTask = null;
+
+		try {
+
+			try {
+				return await(winner, deadline, hedgeDelayNanos);
+			} catch (TimeoutException e) {
+
+				if (deadline != null && deadline.isExpired()) {
+					throw deadlineExceeded();
+				}
+			}
+
+			if (!winner.isDone()) {
+
+				hedged.increment();
+				secondTask = start(executor, second, true, deadline, winner, running);
+			}
+
+			try {
+				return await(winner, deadline, Long.MAX_VALUE);
+			} catch (TimeoutException e) {
+				throw deadlineExceeded();
+			}
+		} finally {
+
+			// the loser (a no-op for an attempt that has completed)
+			firstTask.cancel(true);
+
+			if (secondTask != null) {
+				secondTask.cancel(true);
+			}
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	public long getHedged() {
+		return hedged.sum();
+	}
+
+	public long getHedgeWins() {
+		return hedgeWins.sum();
+	}
+
+	public long getDeadlineExceeded() {
+		return deadlineExceeded.sum();
+	}
+
+	@Override
+	public String toString() {
+
+		long hedgeDelay = getHedgeDelayNanos();
+
+		return name + " -> calls=" + calls.sum()
+				+ ", hedged=" + hedged.sum()
+				+ ", hedgeWins=" + hedgeWins.sum()
+				+ ", deadlineExceeded=" + deadlineExceeded.sum()
+				+ ", hedgeDelay=" + (hedgeDelay < 0 ? "learning" : TimeUnit.NANOSECONDS.toMillis(hedgeDelay) + "ms");
+	}
+
+	// ---------------------------
+
+	private FutureTask<Void> start(Executor executor, Attempt attempt, boolean isHedge, Deadline deadline,
+			CompletableFuture<Object> winner, AtomicInteger running) {
+
+		FutureTask<Void> task = new FutureTask<>(() -> {
+
+			Deadline.Scope scope = Deadline.attach(deadline);
+
+			try (scope) {
+
+				long begin = System.nanoTime();
+				Object result = attempt.run();
+
+				// a cancelled attempt was cut short, its latency would lie
+				if (!Thread.currentThread().isInterrupted()) {
+					recentLatencies.record(System.nanoTime() - begin);
+				}
+
+				if (winner.complete(result) && isHedge) {
+					hedgeWins.increment();
+				}
+			} catch (Throwable e) {
+
+				// the other attempt may still succeed
+				if (running.decrementAndGet() == 0) {
+					winner.completeExceptionally(e);
+				}
+			}
+
+			return null;
+		});
+
+		running.incrementAndGet();
+
+		try {
+			executor.execute(task);
+			return task;
+		} catch (RejectedExecutionException e) {
+
+			running.decrementAndGet();
+			return null;
+		}
+	}
+
+	private Object await(CompletableFuture<Object> winner, Deadline deadline, long timeoutNanos)
+			throws Throwable {
+
+		long waitNanos = deadline == null ? timeoutNanos : Math.min(timeoutNanos, deadline.remainingNanos());
+
+		try {
+
+			if (waitNanos == Long.MAX_VALUE) {
+				return winner.get();
+			}
+
+			return winner.get(Math.max(0, waitNanos), TimeUnit.NANOSECONDS);
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		}
+	}
+
+	private DeadlineExceededException deadlineExceeded() {
+
+		deadlineExceeded.increment();
+		return new DeadlineExceededException(name + ": deadline exceeded while waiting for the result");
+	}
+}
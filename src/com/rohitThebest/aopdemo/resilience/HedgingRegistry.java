@@ -0,0 +1,70 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.rohitThebest.aopdemo.metrics.MethodSignatures;
+
+/*
+ * Holds the HedgedMethod of every @Hedged method, created from its annotation
+ * on the first call.
+ */
+@Component
+public class HedgingRegistry {
+
+	private final Map<Method, HedgedMethod> hedgedMethods = new ConcurrentHashMap<>();
+
+	public HedgedMethod forMethod(Method method) {
+
+		HedgedMethod hedgedMethod = hedgedMethods.get(method);
+
+		if (hedgedMethod == null) {
+			hedgedMethod = hedgedMethods.computeIfAbsent(method, HedgingRegistry::createHedgedMethod);
+		}
+
+		return hedgedMethod;
+	}
+
+	// method signature -> hedged method, sorted by signature
+	public Map<String, HedgedMethod> hedgedMethods() {
+
+		Map<String, HedgedMethod> byName = new TreeMap<>();
+
+		for (HedgedMethod hedgedMethod : hedgedMethods.values()) {
+			byName.put(hedgedMethod.getName(), hedgedMethod);
+		}
+
+		return byName;
+	}
+
+	public String report() {
+
+		StringBuilder report = new StringBuilder("Hedged methods:");
+
+		for (HedgedMethod hedgedMethod : hedgedMethods().values()) {
+			report.append("\n  ").append(hedgedMethod);
+		}
+
+		return report.toString();
+	}
+
+	private static HedgedMethod createHedgedMethod(Method method) {
+
+		Hedged hedged = method.getAnnotation(Hedged.class);
+
+		if (hedged == null) {
+			throw new IllegalStateException("No @Hedged on " + method);
+		}
+
+		return new HedgedMethod(MethodSignatures.of(method), hedged);
+	}
+}
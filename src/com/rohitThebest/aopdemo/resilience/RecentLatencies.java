@@ -0,0 +1,68 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * The latencies of the last n calls of a method, in a ring of slots.
+ * 
+ * Unlike the LatencyHistogram of the metrics this forgets old calls, so the
+ * percentile follows the method when it gets slower or faster. Sorting the
+ * ring for a percentile is not free: it is done every RECOMPUTE_EVERY calls
+ * by the recording thread, readers get the last computed value.
+ */
+final class RecentLatencies {
+
+	static final int SIZE = 256;
+
+	private static final int RECOMPUTE_EVERY = 16;
+
+	private final AtomicLongArray latencies = new AtomicLongArray(SIZE);
+	private final AtomicLong cursor = new AtomicLong();
+
+	private final double percentile;
+	private volatile long percentileNanos = -1;
+
+	RecentLatencies(double percentile) {
+		this.percentile = percentile;
+	}
+
+	void record(long nanos) {
+
+		long count = cursor.getAndIncrement();
+		latencies.set((int) (count % SIZE), nanos);
+
+		if ((count + 1) % RECOMPUTE_EVERY == 0) {
+			percentileNanos = computePercentile(Math.min(count + 1, SIZE));
+		}
+	}
+
+	long getCount() {
+		return cursor.get();
+	}
+
+	// -1 until the first recompute
+	long getPercentileNanos() {
+		return percentileNanos;
+	}
+
+	private long computePercentile(long filled) {
+
+		long[] sorted = new long[(int) filled];
+
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = latencies.get(i);
+		}
+
+		Arrays.sort(sorted);
+
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+}
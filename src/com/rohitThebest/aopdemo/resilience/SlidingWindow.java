@@ -0,0 +1,78 @@
+package com.rohitThebest.aopdemo.resilience;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * The outcomes of the last n calls, in a ring of slots that callers claim
+ * with one atomic increment. The running totals are adjusted with the
+ * outcome that a slot held before, so the failure rate is read without
+ * looking at the slots.
+ * 
+ * Under concurrent calls the totals can lag a slot behind for a moment,
+ * which is fine for deciding when to open a circuit.
+ */
+final class SlidingWindow {
+
+	private static final int EMPTY = 0;
+	private static final int SUCCESS = 1;
+	private static final int FAILURE = 2;
+
+	private final AtomicIntegerArray outcomes;
+	private final AtomicLong cursor = new AtomicLong();
+	private final AtomicInteger calls = new AtomicInteger();
+	private final AtomicInteger failures = new AtomicInteger();
+
+	SlidingWindow(int size) {
+		this.outcomes = new AtomicIntegerArray(Math.max(1, size));
+	}
+
+	void record(boolean failed) {
+
+		int slot = (int) (cursor.getAndIncrement() % outcomes.length());
+		int previous = outcomes.getAndSet(slot, failed ? FAILURE : SUCCESS);
+
+		if (previous == EMPTY) {
+			calls.incrementAndGet();
+		} else if (previous == FAILURE) {
+			failures.decrementAndGet();
+		}
+
+		if (failed) {
+			failures.incrementAndGet();
+		}
+	}
+
+	int getCalls() {
+		return calls.get();
+	}
+
+	// in percent
+	int getFailureRate() {
+
+		int callCount = calls.get();
+		return callCount == 0 ? 0 : failures.get() * 100 / callCount;
+	}
+
+	void reset() {
+
+		for (int i = 0; i < outcomes.length(); i++) {
+
+			int previous = outcomes.getAndSet(i, EMPTY);
+
+			if (previous != EMPTY) {
+				calls.decrementAndGet();
+			}
+
+			if (previous == FAILURE) {
+				failures.decrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.rohitThebest.aopdemo.sampling;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * The sampling gate of one advice, with its executed / skipped counters.
+ * Its policy is configured per pointcut through the SamplingRegistry, and may
+ * be changed at runtime.
+ */
+public class AdviceSampler {
+
+	private final String advice;
+	private final String pointcut;
+	private volatile SamplingPolicy policy;
+
+	private final LongAdder executed = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+
+	AdviceSampler(String advice, String pointcut, SamplingPolicy policy) {
+		this.advice = advice;
+		this.pointcut = pointcut;
+		this.policy = policy;
+	}
+
+	/*
+	 * true: run the advice for this call
+	 */
+	public boolean shouldRun() {
+
+		if (policy.sample()) {
+
+			executed.increment();
+			return true;
+		}
+
+		skipped.increment();
+		return false;
+	}
+
+	public String getAdvice() {
+		return advice;
+	}
+
+	public String getPointcut() {
+		return pointcut;
+	}
+
+	public SamplingPolicy getPolicy() {
+		return policy;
+	}
+
+	void setPolicy(SamplingPolicy policy) {
+		this.policy = policy;
+	}
+
+	public long getExecutedCount() {
+		return executed.sum();
+	}
+
+	public long getSkippedCount() {
+		return skipped.sum();
+	}
+
+	@Override
+	public String toString() {
+		return advice + " [pointcut=" + pointcut + ", policy=" + policy
+				+ ", executed=" + getExecutedCount() + ", skipped=" + getSkippedCount() + "]";
+	}
+}
@@ -0,0 +1,43 @@
+package com.rohitThebest.aopdemo.sampling;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Lets one call in n through.
+ * 
+ * Instead of one shared counter (which every thread would fight over) the
+ * calls are counted in striped counters, picked by thread id and spaced a
+ * cache line apart. Each stripe lets every n-th of its own calls through,
+ * which gives 1-in-n overall without any thread waiting on another.
+ */
+final class OneInNSampling implements SamplingPolicy {
+
+	private static final int STRIPES = 16;
+
+	// 8 longs = 64 bytes between two used counters, no false sharing
+	private static final int PADDING = 8;
+
+	private final int n;
+	private final AtomicLongArray counters = new AtomicLongArray(STRIPES * PADDING);
+
+	OneInNSampling(int n) {
+		this.n = n;
+	}
+
+	@Override
+	public boolean sample() {
+
+		int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+		return counters.getAndIncrement(stripe * PADDING) % n == 0;
+	}
+
+	@Override
+	public String toString() {
+		return "1/" + n;
+	}
+}
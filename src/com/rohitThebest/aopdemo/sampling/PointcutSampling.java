@@ -0,0 +1,55 @@
+package com.rohitThebest.aopdemo.sampling;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+ * The sampling configuration of one named pointcut.
+ * 
+ * Every advice bound to the pointcut gets its own policy instance built from
+ * the pointcut's spec: with one shared "1/10" counter two advices would take
+ * turns on it and one of them might never run.
+ */
+final class PointcutSampling {
+
+	private final String name;
+	private final List<AdviceSampler> advices = new CopyOnWriteArrayList<>();
+	private volatile String spec;
+
+	PointcutSampling(String name, String spec) {
+		this.name = name;
+		this.spec = spec;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	String getSpec() {
+		return spec;
+	}
+
+	AdviceSampler addAdvice(String advice) {
+
+		AdviceSampler sampler = new AdviceSampler(advice, name, SamplingPolicy.parse(spec));
+		advices.add(sampler);
+		return sampler;
+	}
+
+	synchronized void setSpec(String spec) {
+
+		// fail before changing anything
+		SamplingPolicy.parse(spec);
+
+		this.spec = spec;
+
+		for (AdviceSampler sampler : advices) {
+			sampler.setPolicy(SamplingPolicy.parse(spec));
+		}
+	}
+}
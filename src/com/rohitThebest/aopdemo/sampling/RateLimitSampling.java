@@ -0,0 +1,79 @@
+package com.rohitThebest.aopdemo.sampling;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Lets at most `permits` calls per second through.
+ * 
+ * The current one-second window and the number of calls let through in it
+ * are packed into a single long (window number in the high 32 bits, count in
+ * the low 32), so the limit is enforced with a CAS and no lock. Once the
+ * window is used up a call is rejected with a plain read, no CAS at all.
+ * 
+ * The window only moves forward.
+ */
+final class RateLimitSampling implements SamplingPolicy {
+
+	private static final long WINDOW_NANOS = 1_000_000_000L;
+	private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+	private final int permits;
+	private final long origin = System.nanoTime();
+	private final AtomicLong state = new AtomicLong();
+
+	RateLimitSampling(int permits) {
+
+		if (permits < 0) {
+			throw new IllegalArgumentException("permits must not be negative: " + permits);
+		}
+
+		this.permits = permits;
+	}
+
+	@Override
+	public boolean sample() {
+
+		long window = (System.nanoTime() - origin) / WINDOW_NANOS;
+
+		for (;;) {
+
+			long current = state.get();
+			long currentWindow = current >>> 32;
+			long count = current & COUNT_MASK;
+
+			long next;
+
+			if (window > currentWindow) {
+
+				if (permits == 0) {
+					return false;
+				}
+
+				// first call of a new window
+				next = (window << 32) | 1;
+			} else if (count < permits) {
+
+				// also when this thread read the clock late: it counts in the current
+				// window, going back to its older one would hand out its permits again
+				next = current + 1;
+			} else {
+
+				return false;
+			}
+
+			if (state.compareAndSet(current, next)) {
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return permits + "/s";
+	}
+}
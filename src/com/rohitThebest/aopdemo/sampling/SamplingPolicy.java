@@ -0,0 +1,68 @@
+package com.rohitThebest.aopdemo.sampling;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+/*
+ * Decides whether an advice runs for the current call. Implementations are
+ * called on every advised call, from many threads: they must be lock-free.
+ */
+@FunctionalInterface
+public interface SamplingPolicy {
+
+	boolean sample();
+
+	static SamplingPolicy always() {
+		return ALWAYS;
+	}
+
+	static SamplingPolicy oneIn(int n) {
+		return n <= 1 ? ALWAYS : new OneInNSampling(n);
+	}
+
+	static SamplingPolicy perSecond(int permits) {
+		return new RateLimitSampling(permits);
+	}
+
+	/*
+	 * "always", "1/N" (one call in N) or "N/s" (at most N calls per second)
+	 */
+	static SamplingPolicy parse(String spec) {
+
+		String trimmed = spec.trim();
+
+		try {
+
+			if (trimmed.equalsIgnoreCase("always")) {
+				return always();
+			}
+
+			if (trimmed.startsWith("1/")) {
+				return oneIn(Integer.parseInt(trimmed.substring(2)));
+			}
+
+			if (trimmed.endsWith("/s")) {
+				return perSecond(Integer.parseInt(trimmed.substring(0, trimmed.length() - 2)));
+			}
+		} catch (NumberFormatException e) {
+			// reported below
+		}
+
+		throw new IllegalArgumentException("Not a sampling policy (always, 1/N or N/s): " + spec);
+	}
+
+	SamplingPolicy ALWAYS = new SamplingPolicy() {
+
+		@Override
+		public boolean sample() {
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return "always";
+		}
+	};
+}
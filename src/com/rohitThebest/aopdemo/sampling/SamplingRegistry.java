@@ -0,0 +1,81 @@
+package com.rohitThebest.aopdemo.sampling;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/*
+ * Sampling and rate limiting of the advices, configured per named pointcut
+ * of AOPExpressions.
+ * 
+ * A pointcut samples every call unless configured otherwise, either with a
+ * system property, e.g.
+ *   -Daopdemo.sampling.forDaoPackage=1/100
+ *   -Daopdemo.sampling.forDaoPackageNotGetterSetter=50/s
+ * or at runtime with setPolicy("forDaoPackage", "1/100").
+ * 
+ * Only the hot success-path advices (@Before) use this. Error advices like
+ * @AfterThrowing are never sampled, every failure is logged.
+ */
+@Component
+public class SamplingRegistry {
+
+	private static final String PROPERTY_PREFIX = "aopdemo.sampling.";
+
+	private final Map<String, PointcutSampling> pointcuts = new ConcurrentHashMap<>();
+	private final Map<String, AdviceSampler> advices = new ConcurrentHashMap<>();
+
+	/*
+	 * The gate of an advice; advices look it up once, when they are created.
+	 */
+	public AdviceSampler forAdvice(String pointcut, String advice) {
+
+		return advices.computeIfAbsent(advice, name -> pointcut(pointcut).addAdvice(name));
+	}
+
+	/*
+	 * spec: "always", "1/N" or "N/s", see SamplingPolicy.parse()
+	 */
+	public void setPolicy(String pointcut, String spec) {
+
+		pointcut(pointcut).setSpec(spec);
+	}
+
+	public String getPolicy(String pointcut) {
+
+		return pointcut(pointcut).getSpec();
+	}
+
+	public List<AdviceSampler> getAdviceSamplers() {
+
+		return new ArrayList<>(advices.values());
+	}
+
+	public String report() {
+
+		StringBuilder report = new StringBuilder("Advice sampling:");
+
+		for (AdviceSampler sampler : advices.values()) {
+			report.append("\n  ").append(sampler);
+		}
+
+		return report.toString();
+	}
+
+	private PointcutSampling pointcut(String name) {
+
+		return pointcuts.computeIfAbsent(name, key -> {
+
+			String spec = System.getProperty(PROPERTY_PREFIX + key, "always");
+			return new PointcutSampling(key, spec);
+		});
+	}
+}
@@ -1,12 +1,24 @@
 package com.rohitThebest.aopdemo.service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.stereotype.Component;
 
+import com.rohitThebest.aopdemo.async.AsyncCall;
+import com.rohitThebest.aopdemo.cache.Cached;
+import com.rohitThebest.aopdemo.errors.BusinessException;
+import com.rohitThebest.aopdemo.resilience.CircuitBreaker;
+import com.rohitThebest.aopdemo.resilience.Hedged;
+
 @Component
 public class TrafficFortuneService {
 
+	// the fortune only changes every few minutes, so there is no need to pay 5 seconds every time
+	// at most 10 callers wait for the 5 seconds at a time, the others get the default fortune
+	@Cached(ttl = 5, timeUnit = TimeUnit.MINUTES)
+	@CircuitBreaker(maxConcurrentCalls = 10, fallbackMethod = "defaultFortune")
 	public String getFortune() {
 		
 		// simulate a delay
@@ -15,7 +27,9 @@ public class TrafficFortuneService {
 
 			TimeUnit.SECONDS.sleep(5);
 		} catch (InterruptedException e) {
-			e.printStackTrace();
+
+			// cancelled (e.g. the other attempt of a hedged call won), keep the flag for the caller
+			Thread.currentThread().interrupt();
 		}
 		
 		// return a fortune
@@ -23,12 +37,88 @@ public class TrafficFortuneService {
 		return "Expect heavy traffic today";
 	}
 
+	// when the highway keeps being closed, stop asking for a while
+	@Cached(ttl = 5, timeUnit = TimeUnit.MINUTES)
+	@CircuitBreaker(openDuration = 10, fallbackMethod = "defaultFortune")
 	public String getFortune(boolean tripWire) {
 
 		if (tripWire) {
-			throw new RuntimeException("Major accident! Highway is closed");
+			throw new BusinessException("Major accident! Highway is closed");
 		}
 		
 		return getFortune();
 	}
+
+	/*
+	 * Usually answers in 10 to 20 ms, but now and then the traffic server takes
+	 * a whole second: the slow calls are hedged with a second attempt (see
+	 * MyHedgingAspect) once they take longer than 95% of the recent calls.
+	 */
+	@Hedged(percentile = 95.0)
+	public String getRoadReport(String road) {
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long delay = random.nextInt(100) < 5 ? 1000 : 10 + random.nextInt(10);
+
+		try {
+
+			TimeUnit.MILLISECONDS.sleep(delay);
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+			return null;
+		}
+
+		return "Road " + road + " : traffic is flowing";
+	}
+
+	/*
+	 * Non-blocking variants: the caller gets a CompletableFuture right away, the
+	 * 5 seconds are spent on a thread of the advice executor (see MyAsyncAspect).
+	 * A caller that cannot wait longer than 2 seconds gets the default fortune.
+	 */
+	@AsyncCall(timeout = 2, timeUnit = TimeUnit.SECONDS, fallbackMethod = "defaultFortune")
+	@Cached(ttl = 5, timeUnit = TimeUnit.MINUTES)
+	public CompletableFuture<String> getFortuneAsync() {
+
+		return CompletableFuture.completedFuture(getFortune());
+	}
+
+	@AsyncCall(timeout = 2, timeUnit = TimeUnit.SECONDS, fallbackMethod = "defaultFortune")
+	public CompletableFuture<String> getFortuneAsync(boolean tripWire) {
+
+		return CompletableFuture.completedFuture(getFortune(tripWire));
+	}
+
+	/*
+	 * Reactive variants: nothing waits for the 5 seconds, the future is
+	 * completed by the JDK's timer thread when they are over. Thousands of
+	 * pending fortunes cost no thread at all, the advices see them end through
+	 * the returned future (see ReactiveSignals).
+	 */
+	public CompletableFuture<String> getFortuneReactive() {
+
+		return CompletableFuture.supplyAsync(() -> "Expect heavy traffic today",
+				CompletableFuture.delayedExecutor(5, TimeUnit.SECONDS, Runnable::run));
+	}
+
+	// the failure is an error signal of the future, the call itself never throws
+	public CompletableFuture<String> getFortuneReactive(boolean tripWire) {
+
+		if (tripWire) {
+			return CompletableFuture.failedFuture(new BusinessException("Major accident! Highway is closed"));
+		}
+
+		return getFortuneReactive();
+	}
+
+	String defaultFortune() {
+
+		return "Traffic info is not available right now, drive carefully";
+	}
+
+	String defaultFortune(boolean tripWire) {
+
+		return defaultFortune();
+	}
 }
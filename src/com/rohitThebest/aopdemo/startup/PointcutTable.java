@@ -0,0 +1,164 @@
+package com.rohitThebest.aopdemo.startup;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/*
+ * Which advisor applies to which bean class, decided once by
+ * PointcutTableGenerator and stored in META-INF/aopdemo-pointcuts.txt:
+ * 
+ *   class=com.rohitThebest.aopdemo.dao.AccountDAO        (every class that was looked at)
+ *   ...
+ *   advisor=MyDemoLoggingAspect.beforeAddAccountAdvice(JoinPoint)
+ *   expression=com.rohitThebest.aopdemo.aspect.AOPExpressions.forDaoPackageNotGetterSetter()
+ *   matches=com.rohitThebest.aopdemo.dao.AccountDAO: AccountDAO.addAccount(Account), ...
+ * 
+ * The table only answers for what it knows: an advisor that is not in it,
+ * whose pointcut expression has changed since, or a class that was not looked
+ * at is matched the normal way.
+ */
+public final class PointcutTable {
+
+	public static final String RESOURCE = "META-INF/aopdemo-pointcuts.txt";
+
+	private final Set<String> classes = new TreeSet<>();
+
+	// advisor -> pointcut expression
+	private final Map<String, String> expressions = new TreeMap<>();
+
+	// advisor -> class -> matched methods
+	private final Map<String, Map<String, Set<String>>> matches = new TreeMap<>();
+
+	// null when there is no table on the classpath
+	public static PointcutTable load(ClassLoader classLoader) {
+
+		try (InputStream in = classLoader.getResourceAsStream(RESOURCE)) {
+
+			if (in == null) {
+				return null;
+			}
+
+			PointcutTable table = new PointcutTable();
+			table.read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+			return table;
+
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read " + RESOURCE, e);
+		}
+	}
+
+	/*
+	 * TRUE / FALSE when the table knows whether the advisor applies to the
+	 * class, null when it has to be matched.
+	 */
+	public Boolean applies(String advisor, String expression, Class<?> userClass) {
+
+		if (advisor == null || !expression.equals(expressions.get(advisor))
+				|| !classes.contains(userClass.getName())) {
+			return null;
+		}
+
+		return matches.get(advisor).containsKey(userClass.getName());
+	}
+
+	void recordClass(Class<?> userClass) {
+		classes.add(userClass.getName());
+	}
+
+	void recordAdvisor(String advisor, String expression) {
+
+		expressions.put(advisor, expression);
+		matches.computeIfAbsent(advisor, a -> new TreeMap<>());
+	}
+
+	void recordMatch(String advisor, Class<?> userClass, Set<String> methods) {
+		matches.get(advisor).put(userClass.getName(), methods);
+	}
+
+	public void write(Path file) throws IOException {
+
+		Files.createDirectories(file.getParent());
+
+		try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+
+			out.write("# Pointcut table of the \"fast-startup\" mode, generated by PointcutTableGenerator.\n");
+			out.write("# Regenerate it after changing the aspects or the advised classes.\n\n");
+
+			for (String className : classes) {
+				out.write("class=" + className + "\n");
+			}
+
+			for (Map.Entry<String, String> advisor : expressions.entrySet()) {
+
+				out.write("\nadvisor=" + advisor.getKey() + "\n");
+				out.write("expression=" + advisor.getValue() + "\n");
+
+				for (Map.Entry<String, Set<String>> match : matches.get(advisor.getKey()).entrySet()) {
+					out.write("matches=" + match.getKey() + ": " + String.join(", ", match.getValue()) + "\n");
+				}
+			}
+		}
+	}
+
+	private void read(BufferedReader in) throws IOException {
+
+		String advisor = null;
+		String line;
+
+		while ((line = in.readLine()) != null) {
+
+			int separator = line.indexOf('=');
+
+			if (line.startsWith("#") || separator < 0) {
+				continue;
+			}
+
+			String key = line.substring(0, separator);
+			String value = line.substring(separator + 1);
+
+			switch (key) {
+
+			case "class":
+				classes.add(value);
+				break;
+
+			case "advisor":
+				advisor = value;
+				matches.put(advisor, new TreeMap<>());
+				break;
+
+			case "expression":
+				expressions.put(advisor, value);
+				break;
+
+			case "matches":
+				int colon = value.indexOf(':');
+				String methods = value.substring(colon + 1).trim();
+
+				matches.get(advisor).put(value.substring(0, colon),
+						methods.isEmpty() ? new TreeSet<>() : new TreeSet<>(Arrays.asList(methods.split(", "))));
+				break;
+
+			default:
+				break;
+			}
+		}
+	}
+}
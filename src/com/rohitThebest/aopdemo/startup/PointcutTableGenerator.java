@@ -0,0 +1,47 @@
+package com.rohitThebest.aopdemo.startup;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.rohitThebest.aopdemo.DemoConfig;
+
+/*
+ * Writes the PointcutTable of the "fast-startup" mode: starts the demo context
+ * once, with the normal pointcut matching, and records which advisor applied
+ * to which bean class.
+ * 
+ * Run it after changing the aspects or the advised classes, from the project
+ * directory (the table goes to src/META-INF, or to the directory given as
+ * argument):
+ * 
+ *   java -cp bin:lib/* com.rohitThebest.aopdemo.startup.PointcutTableGenerator [src]
+ */
+public class PointcutTableGenerator {
+
+	public static void main(String[] args) throws Exception {
+
+		Path file = Paths.get(args.length > 0 ? args[0] : "src").resolve(PointcutTable.RESOURCE);
+
+		System.setProperty("spring.profiles.active", DemoConfig.FAST_STARTUP_PROFILE);
+		System.setProperty(PrecomputedAspectJAutoProxyCreator.RECORD_PROPERTY, "true");
+
+		PointcutTable table;
+
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(DemoConfig.class)) {
+
+			table = context.getBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME,
+					PrecomputedAspectJAutoProxyCreator.class).getTable();
+		}
+
+		table.write(file);
+		System.out.println("Pointcut table written to " + file.toAbsolutePath());
+	}
+}
@@ -0,0 +1,146 @@
+package com.rohitThebest.aopdemo.startup;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.rohitThebest.aopdemo.metrics.MethodSignatures;
+import com.rohitThebest.aopdemo.pointcut.MatchCachingAspectJAutoProxyCreator;
+
+/*
+ * The auto-proxy creator of the "fast-startup" mode.
+ * 
+ * The standard one decides whether a bean needs a proxy by matching every
+ * pointcut against every method of the bean class. This one looks the answer
+ * up in the PointcutTable and only falls back to matching (with the shared
+ * pointcut matchers of MatchCachingAspectJAutoProxyCreator) for what the
+ * table does not know. Which advice runs for which method is still decided by the
+ * pointcuts, on the first call of each method.
+ * 
+ * In recording mode (-Daopdemo.startup.recordPointcuts=true, set by
+ * PointcutTableGenerator) it matches the normal way and writes down every
+ * decision instead.
+ */
+public class PrecomputedAspectJAutoProxyCreator extends MatchCachingAspectJAutoProxyCreator {
+
+	private static final long serialVersionUID = 1L;
+
+	static final String RECORD_PROPERTY = "aopdemo.startup.recordPointcuts";
+
+	private final transient PointcutTable table;
+	private final boolean recording;
+
+	public PrecomputedAspectJAutoProxyCreator() {
+		this(Boolean.getBoolean(RECORD_PROPERTY));
+	}
+
+	private PrecomputedAspectJAutoProxyCreator(boolean recording) {
+		this(recording ? new PointcutTable()
+				: PointcutTable.load(PrecomputedAspectJAutoProxyCreator.class.getClassLoader()), recording);
+	}
+
+	PrecomputedAspectJAutoProxyCreator(PointcutTable table, boolean recording) {
+		this.table = table;
+		this.recording = recording;
+	}
+
+	PointcutTable getTable() {
+		return table;
+	}
+
+	@Override
+	protected List<Advisor> findAdvisorsThatCanApply(List<Advisor> candidateAdvisors, Class<?> beanClass,
+			String beanName) {
+
+		if (table == null) {
+			return super.findAdvisorsThatCanApply(candidateAdvisors, beanClass, beanName);
+		}
+
+		Class<?> userClass = ClassUtils.getUserClass(beanClass);
+
+		if (recording) {
+			return record(candidateAdvisors, beanClass, userClass, beanName);
+		}
+
+		List<Advisor> eligible = new ArrayList<>();
+		List<Advisor> unknown = new ArrayList<>();
+
+		for (Advisor advisor : candidateAdvisors) {
+
+			Boolean applies = table.applies(advisorName(advisor), expression(advisor), userClass);
+
+			if (applies == null) {
+				unknown.add(advisor);
+			} else if (applies) {
+				eligible.add(advisor);
+			}
+		}
+
+		if (!unknown.isEmpty()) {
+			eligible.addAll(super.findAdvisorsThatCanApply(unknown, beanClass, beanName));
+		}
+
+		return eligible;
+	}
+
+	private List<Advisor> record(List<Advisor> candidateAdvisors, Class<?> beanClass, Class<?> userClass,
+			String beanName) {
+
+		List<Advisor> eligible = super.findAdvisorsThatCanApply(candidateAdvisors, beanClass, beanName);
+
+		table.recordClass(userClass);
+
+		for (Advisor advisor : candidateAdvisors) {
+
+			String name = advisorName(advisor);
+
+			if (name == null) {
+				continue;
+			}
+
+			table.recordAdvisor(name, expression(advisor));
+
+			if (eligible.contains(advisor)) {
+				table.recordMatch(name, userClass, matchedMethods((PointcutAdvisor) advisor, userClass));
+			}
+		}
+
+		return eligible;
+	}
+
+	private static Set<String> matchedMethods(PointcutAdvisor advisor, Class<?> userClass) {
+
+		MethodMatcher methodMatcher = advisor.getPointcut().getMethodMatcher();
+		Set<String> methods = new TreeSet<>();
+
+		for (Method method : ReflectionUtils.getUniqueDeclaredMethods(userClass, ReflectionUtils.USER_DECLARED_METHODS)) {
+
+			if (method.getDeclaringClass() != Object.class && methodMatcher.matches(method, userClass)) {
+				methods.add(MethodSignatures.of(method));
+			}
+		}
+
+		return methods;
+	}
+
+	// e.g. "MyDemoLoggingAspect.beforeAddAccountAdvice(JoinPoint)", null for other kinds of advisors
+	private static String advisorName(Advisor advisor) {
+
+		Method adviceMethod = adviceMethod(advisor);
+
+		return adviceMethod != null ? MethodSignatures.of(adviceMethod) : null;
+	}
+}
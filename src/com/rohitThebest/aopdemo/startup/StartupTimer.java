@@ -0,0 +1,48 @@
+package com.rohitThebest.aopdemo.startup;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.management.ManagementFactory;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+/*
+ * Reports how long the container took to start, for StartupBenchmark: with
+ * -Daopdemo.startup.exitAfterRefresh=true any demo app prints one line
+ * 
+ *   aopdemo.startup refreshMillis=212 uptimeMillis=730
+ * 
+ * as soon as its context is refreshed, and exits. The refresh time counts from
+ * the start of the refresh (scanning, pointcut matching, creating the beans
+ * and their proxies); the JVM uptime also includes the JVM's own startup and
+ * the class loading before the refresh.
+ */
+@Component
+public class StartupTimer implements ApplicationListener<ContextRefreshedEvent> {
+
+	public static final String EXIT_PROPERTY = "aopdemo.startup.exitAfterRefresh";
+
+	public static final String REPORT_PREFIX = "aopdemo.startup ";
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+
+		if (!Boolean.getBoolean(EXIT_PROPERTY)) {
+			return;
+		}
+
+		long refreshMillis = System.currentTimeMillis() - event.getApplicationContext().getStartupDate();
+		long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+		System.out.println(REPORT_PREFIX + "refreshMillis=" + refreshMillis + " uptimeMillis=" + uptimeMillis);
+		System.out.flush();
+
+		// the demo app itself is not of interest, and the context does not need closing
+		Runtime.getRuntime().halt(0);
+	}
+}
@@ -0,0 +1,49 @@
+package com.rohitThebest.aopdemo.store;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.List;
+
+import com.rohitThebest.aopdemo.Account;
+
+/*
+ * One page of accounts in name order.
+ * 
+ * The cursor is the name of the last account of the page: pass it to
+ * AccountDAO.findAccountsPage() to get the next page. Because it is a key and
+ * not an offset, paging stays correct (no skipped or repeated accounts)
+ * while other threads add accounts.
+ */
+public class AccountPage {
+
+	private final List<Account> accounts;
+	private final String nextCursor;
+
+	AccountPage(List<Account> accounts, String nextCursor) {
+		this.accounts = accounts;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<Account> getAccounts() {
+		return accounts;
+	}
+
+	/*
+	 * null when this is the last page
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public boolean hasNext() {
+		return nextCursor != null;
+	}
+
+	@Override
+	public String toString() {
+		return "AccountPage [accounts=" + accounts + ", nextCursor=" + nextCursor + "]";
+	}
+}
@@ -0,0 +1,184 @@
+package com.rohitThebest.aopdemo.store;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import com.rohitThebest.aopdemo.Account;
+
+/*
+ * The concurrent in-memory store behind AccountDAO.
+ * 
+ * Primary index: name -> account, a ConcurrentSkipListMap. Lookups are
+ * O(log n), reads never lock and never wait for writers, and iteration is in
+ * name order (which gives stable results and a natural cursor for paging).
+ * 
+ * Secondary index: level -> (name -> account), one skip list per level, so
+ * findByLevel() only walks the accounts of that level.
+ * 
+ * Account is a mutable class and the advices modify returned accounts (e.g.
+ * afterReturningFindAccountsAdvice upper-cases the names), so the store keeps
+ * its own copies and only ever hands out copies. Otherwise a caller could
+ * change a name behind the back of the indexes.
+ */
+public class AccountStore {
+
+	private final ConcurrentSkipListMap<String, Account> byName = new ConcurrentSkipListMap<>();
+	private final Map<String, ConcurrentSkipListMap<String, Account>> byLevel = new ConcurrentHashMap<>();
+
+	/*
+	 * A store with the three accounts the demo apps have always shown.
+	 */
+	public static AccountStore withDemoAccounts() {
+
+		AccountStore store = new AccountStore();
+
+		store.save(new Account("Rohit", "Platinum"));
+		store.save(new Account("Mohit", "Silver"));
+		store.save(new Account("Sagar", "Gold"));
+
+		return store;
+	}
+
+	/*
+	 * Inserts the account, or replaces the account with the same name.
+	 */
+	public void save(Account account) {
+
+		if (account == null || account.getName() == null) {
+			throw new IllegalArgumentException("An account needs a name: " + account);
+		}
+
+		Account stored = new Account(account.getName(), account.getLevel());
+
+		// compute() runs atomically per name, so two writers of the same name
+		// cannot leave the level index pointing at the wrong account
+		byName.compute(stored.getName(), (name, previous) -> {
+
+			if (previous != null && previous.getLevel() != null
+					&& !previous.getLevel().equals(stored.getLevel())) {
+
+				levelIndex(previous.getLevel()).remove(name, previous);
+			}
+
+			if (stored.getLevel() != null) {
+				levelIndex(stored.getLevel()).put(name, stored);
+			}
+
+			return stored;
+		});
+	}
+
+	public void saveAll(Collection<Account> accounts) {
+
+		for (Account account : accounts) {
+			save(account);
+		}
+	}
+
+	public boolean delete(String name) {
+
+		Account removed = byName.remove(name);
+
+		if (removed != null && removed.getLevel() != null) {
+			levelIndex(removed.getLevel()).remove(name, removed);
+		}
+
+		return removed != null;
+	}
+
+	public Account findByName(String name) {
+
+		Account account = byName.get(name);
+		return account == null ? null : copyOf(account);
+	}
+
+	public List<Account> findByLevel(String level) {
+
+		ConcurrentSkipListMap<String, Account> accounts = byLevel.get(level);
+
+		if (accounts == null) {
+			return Collections.emptyList();
+		}
+
+		return copyOf(accounts);
+	}
+
+	public List<Account> findAll() {
+
+		return copyOf(byName);
+	}
+
+	/*
+	 * At most pageSize accounts with a name after afterName (null: from the
+	 * start). O(log n + pageSize), independent of the size of the store.
+	 */
+	public AccountPage findPage(String afterName, int pageSize) {
+
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+		}
+
+		ConcurrentNavigableMap<String, Account> tail =
+				afterName == null ? byName : byName.tailMap(afterName, false);
+
+		List<Account> page = new ArrayList<>(Math.min(pageSize, 64));
+		Iterator<Account> accounts = tail.values().iterator();
+
+		while (page.size() < pageSize && accounts.hasNext()) {
+			page.add(copyOf(accounts.next()));
+		}
+
+		String nextCursor = accounts.hasNext() ? page.get(page.size() - 1).getName() : null;
+		return new AccountPage(page, nextCursor);
+	}
+
+	/*
+	 * All the accounts in name order, copied one by one as the stream is
+	 * consumed, so memory use does not grow with the size of the store.
+	 * Like the skip list's iterators it is weakly consistent: it never fails
+	 * because of concurrent writes and may or may not see them.
+	 */
+	public Stream<Account> stream() {
+
+		return byName.values().stream().map(AccountStore::copyOf);
+	}
+
+	public int size() {
+		return byName.size();
+	}
+
+	// ---------------------------
+
+	private ConcurrentSkipListMap<String, Account> levelIndex(String level) {
+
+		return byLevel.computeIfAbsent(level, key -> new ConcurrentSkipListMap<>());
+	}
+
+	private static List<Account> copyOf(ConcurrentNavigableMap<String, Account> accounts) {
+
+		List<Account> copies = new ArrayList<>();
+
+		for (Account account : accounts.values()) {
+			copies.add(copyOf(account));
+		}
+
+		return copies;
+	}
+
+	private static Account copyOf(Account account) {
+		return new Account(account.getName(), account.getLevel());
+	}
+}
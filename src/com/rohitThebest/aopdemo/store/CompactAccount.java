@@ -0,0 +1,57 @@
+package com.rohitThebest.aopdemo.store;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import com.rohitThebest.aopdemo.Account;
+
+/*
+ * An Account that is only a view of one row of CompactAccounts: it holds the
+ * id, the getters read the columns and the setters write them. It can be used
+ * wherever an Account is (toString() included), e.g. saved in an AccountStore,
+ * which copies it.
+ */
+public final class CompactAccount extends Account {
+
+	private final CompactAccounts accounts;
+	private int id;
+
+	CompactAccount(CompactAccounts accounts, int id) {
+		this.accounts = accounts;
+		this.id = id;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	// CompactAccounts.forEach() moves one view along the rows
+	void moveTo(int id) {
+		this.id = id;
+	}
+
+	@Override
+	public String getName() {
+		return accounts.getName(id);
+	}
+
+	/*
+	 * Renames the account. The name must not be used by another account.
+	 */
+	@Override
+	public void setName(String name) {
+		accounts.setName(id, name);
+	}
+
+	@Override
+	public String getLevel() {
+		return accounts.getLevel(id);
+	}
+
+	@Override
+	public void setLevel(String level) {
+		accounts.setLevel(id, level);
+	}
+}
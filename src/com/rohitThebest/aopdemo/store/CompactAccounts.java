@@ -0,0 +1,512 @@
+package com.rohitThebest.aopdemo.store;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import com.rohitThebest.aopdemo.Account;
+
+/*
+ * Accounts stored column by column, for data sets of millions of accounts.
+ * 
+ * An Account object with its two strings costs about 100 bytes, even though
+ * there are only a handful of different levels. Here an account is a row id,
+ * and its columns are:
+ * 
+ *   levelCodes[id]    one byte, the code of the level in the LevelDictionary
+ *   nameOffsets[id]   where the name is in the arena: all the names, one after
+ *                     the other, as a 2-byte length and the UTF-8 bytes
+ * 
+ * plus a hash index name -> id (an open-addressing int[] table) for
+ * findByName(). That is 5 bytes + the name + about 6 bytes of index per
+ * account, and a few large arrays instead of millions of small objects.
+ * 
+ * The accounts handed out are CompactAccount views of a row: no copy of the
+ * data, getters decode the columns (getName() builds a String, getLevel()
+ * returns the dictionary's), setters write them.
+ * 
+ * Rows are never removed and ids stay valid. Like save() in AccountStore,
+ * saving an account whose name exists updates that row. The arena is
+ * append-only: renaming an account appends the new name and leaves the old
+ * bytes unused.
+ * 
+ * Thread safe: reads share a read lock, writes take the write lock.
+ */
+public class CompactAccounts {
+
+	private static final int MAX_NAME_BYTES = 0xFFFF;
+
+	private final LevelDictionary levels = new LevelDictionary();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private byte[] levelCodes;
+	private int[] nameOffsets;
+	private int size;
+
+	private byte[] arena;
+	private int arenaSize;
+
+	// id + 1 of the account in each slot, 0 for a free slot; linear probing
+	private int[] index;
+
+	public CompactAccounts() {
+		this(16);
+	}
+
+	public CompactAccounts(int expectedAccounts) {
+
+		int capacity = Math.max(16, expectedAccounts);
+
+		levelCodes = new byte[capacity];
+		nameOffsets = new int[capacity];
+		arena = new byte[capacity * 8];
+		index = new int[Integer.highestOneBit(capacity * 4 / 3) * 2];
+	}
+
+	/*
+	 * Inserts the account, or updates the level of the account with the same
+	 * name. Returns the id of its row.
+	 */
+	public int save(Account account) {
+
+		if (account == null || account.getName() == null) {
+			throw new IllegalArgumentException("An account needs a name: " + account);
+		}
+
+		return save(account.getName(), account.getLevel());
+	}
+
+	public int save(String name, String level) {
+
+		byte[] nameBytes = encodeName(name);
+		byte levelCode = levels.encode(level);
+
+		lock.writeLock().lock();
+
+		try {
+
+			int id = findId(nameBytes, hash(nameBytes, 0, nameBytes.length));
+
+			if (id >= 0) {
+				levelCodes[id] = levelCode;
+				return id;
+			}
+
+			id = size;
+
+			if (id == levelCodes.length) {
+				levelCodes = Arrays.copyOf(levelCodes, grow(levelCodes.length));
+				nameOffsets = Arrays.copyOf(nameOffsets, levelCodes.length);
+			}
+
+			levelCodes[id] = levelCode;
+			nameOffsets[id] = append(nameBytes);
+
+			// at most 3/4 full, linear probing gets slow above that
+			if ((id + 1) * 4L > index.length * 3L) {
+				rehash(index.length * 2);
+			}
+
+			insert(index, id);
+			size++;
+
+			return id;
+
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void saveAll(Collection<Account> accounts) {
+
+		for (Account account : accounts) {
+			save(account);
+		}
+	}
+
+	// a view of the account, null if there is none with this name
+	public CompactAccount findByName(String name) {
+
+		int id = findId(name);
+		return id < 0 ? null : new CompactAccount(this, id);
+	}
+
+	public int findId(String name) {
+
+		byte[] nameBytes = encodeName(name);
+
+		lock.readLock().lock();
+
+		try {
+			return findId(nameBytes, hash(nameBytes, 0, nameBytes.length));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public CompactAccount get(int id) {
+
+		checkId(id);
+		return new CompactAccount(this, id);
+	}
+
+	// a plain Account with the values of the row
+	public Account copyOf(int id) {
+
+		lock.readLock().lock();
+
+		try {
+
+			checkId(id);
+			return new Account(decodeName(id), levels.decode(levelCodes[id]));
+
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// a scan of the one-byte level column
+	public List<Account> findByLevel(String level) {
+
+		List<Account> accounts = new ArrayList<>();
+		int code = levels.codeOf(level);
+
+		if (code < 0) {
+			return accounts;
+		}
+
+		lock.readLock().lock();
+
+		try {
+
+			for (int id = 0; id < size; id++) {
+
+				if (levelCodes[id] == (byte) code) {
+					accounts.add(new CompactAccount(this, id));
+				}
+			}
+
+			return accounts;
+
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int countByLevel(String level) {
+
+		int code = levels.codeOf(level);
+		int count = 0;
+
+		if (code < 0) {
+			return count;
+		}
+
+		lock.readLock().lock();
+
+		try {
+
+			for (int id = 0; id < size; id++) {
+
+				if (levelCodes[id] == (byte) code) {
+					count++;
+				}
+			}
+
+			return count;
+
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * Calls the action with every account, in id order, through one single
+	 * view that moves from row to row: the action must not keep it (copy it
+	 * with new Account(view.getName(), view.getLevel()) when needed).
+	 */
+	public void forEach(Consumer<? super Account> action) {
+
+		CompactAccount view = new CompactAccount(this, 0);
+		int accounts = size();
+
+		for (int id = 0; id < accounts; id++) {
+
+			view.moveTo(id);
+			action.accept(view);
+		}
+	}
+
+	public int size() {
+
+		lock.readLock().lock();
+
+		try {
+			return size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public LevelDictionary getLevels() {
+		return levels;
+	}
+
+	// bytes of the arrays behind the accounts (allocated, not only used)
+	public long getFootprintBytes() {
+
+		lock.readLock().lock();
+
+		try {
+			return (long) levelCodes.length + 4L * nameOffsets.length + arena.length + 4L * index.length;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// ---------------------------
+	// the row accessors of CompactAccount
+
+	public String getName(int id) {
+
+		lock.readLock().lock();
+
+		try {
+
+			checkId(id);
+			return decodeName(id);
+
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public String getLevel(int id) {
+
+		lock.readLock().lock();
+
+		try {
+
+			checkId(id);
+			return levels.decode(levelCodes[id]);
+
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void setName(int id, String name) {
+
+		byte[] nameBytes = encodeName(name);
+
+		lock.writeLock().lock();
+
+		try {
+
+			checkId(id);
+
+			int existing = findId(nameBytes, hash(nameBytes, 0, nameBytes.length));
+
+			if (existing == id) {
+				return;
+			}
+
+			if (existing >= 0) {
+				throw new IllegalArgumentException("The name " + name + " is used by account #" + existing);
+			}
+
+			removeFromIndex(id);
+			nameOffsets[id] = append(nameBytes);
+			insert(index, id);
+
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void setLevel(int id, String level) {
+
+		byte levelCode = levels.encode(level);
+
+		lock.writeLock().lock();
+
+		try {
+
+			checkId(id);
+			levelCodes[id] = levelCode;
+
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// ---------------------------
+
+	private void checkId(int id) {
+
+		if (id < 0 || id >= size) {
+			throw new IndexOutOfBoundsException("No account #" + id + ", there are " + size);
+		}
+	}
+
+	private static byte[] encodeName(String name) {
+
+		if (name == null) {
+			throw new IllegalArgumentException("An account needs a name");
+		}
+
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+
+		if (bytes.length > MAX_NAME_BYTES) {
+			throw new IllegalArgumentException("Account name longer than " + MAX_NAME_BYTES + " bytes");
+		}
+
+		return bytes;
+	}
+
+	private String decodeName(int id) {
+
+		int offset = nameOffsets[id];
+		return new String(arena, offset + 2, nameLength(offset), StandardCharsets.UTF_8);
+	}
+
+	private int nameLength(int offset) {
+		return ((arena[offset] & 0xFF) << 8) | (arena[offset + 1] & 0xFF);
+	}
+
+	// offset of the appended name
+	private int append(byte[] nameBytes) {
+
+		int needed = arenaSize + 2 + nameBytes.length;
+
+		if (needed < 0) {
+			throw new IllegalStateException("The name arena is full (2 GB)");
+		}
+
+		if (needed > arena.length) {
+			arena = Arrays.copyOf(arena, Math.max(needed, grow(arena.length)));
+		}
+
+		int offset = arenaSize;
+
+		arena[offset] = (byte) (nameBytes.length >>> 8);
+		arena[offset + 1] = (byte) nameBytes.length;
+		System.arraycopy(nameBytes, 0, arena, offset + 2, nameBytes.length);
+
+		arenaSize = needed;
+		return offset;
+	}
+
+	private static int grow(int length) {
+
+		int grown = length + (length >> 1);
+
+		// the largest array the VMs can allocate
+		return grown < 0 || grown > Integer.MAX_VALUE - 8 ? Integer.MAX_VALUE - 8 : grown;
+	}
+
+	// ---------------------------
+	// name index
+
+	private int findId(byte[] nameBytes, int hash) {
+
+		int mask = index.length - 1;
+
+		for (int slot = hash & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+
+			int id = index[slot] - 1;
+			int offset = nameOffsets[id];
+
+			if (nameLength(offset) == nameBytes.length
+					&& Arrays.equals(arena, offset + 2, offset + 2 + nameBytes.length, nameBytes, 0, nameBytes.length)) {
+				return id;
+			}
+		}
+
+		return -1;
+	}
+
+	private void insert(int[] table, int id) {
+
+		int mask = table.length - 1;
+		int slot = nameHash(id) & mask;
+
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+
+		table[slot] = id + 1;
+	}
+
+	/*
+	 * Removes the id and moves up the entries after it that would no longer
+	 * be found (backward-shift deletion, no tombstones).
+	 */
+	private void removeFromIndex(int id) {
+
+		int mask = index.length - 1;
+		int slot = nameHash(id) & mask;
+
+		while (index[slot] != id + 1) {
+			slot = (slot + 1) & mask;
+		}
+
+		int free = slot;
+
+		for (slot = (free + 1) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+
+			int home = nameHash(index[slot] - 1) & mask;
+
+			// the entry can move to the free slot if its home is not between the two
+			if (((slot - home) & mask) >= ((slot - free) & mask)) {
+
+				index[free] = index[slot];
+				free = slot;
+			}
+		}
+
+		index[free] = 0;
+	}
+
+	private void rehash(int length) {
+
+		int[] table = new int[length];
+
+		for (int id = 0; id < size; id++) {
+			insert(table, id);
+		}
+
+		index = table;
+	}
+
+	private int nameHash(int id) {
+
+		int offset = nameOffsets[id];
+		return hash(arena, offset + 2, nameLength(offset));
+	}
+
+	private static int hash(byte[] bytes, int from, int length) {
+
+		int hash = 1;
+
+		for (int i = from; i < from + length; i++) {
+			hash = 31 * hash + bytes[i];
+		}
+
+		// spreads similar names ("user1", "user2", ...) over the table, linear probing needs it
+		hash = (hash ^ (hash >>> 16)) * 0x85EBCA6B;
+		hash = (hash ^ (hash >>> 13)) * 0xC2B2AE35;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,61 @@
+package com.rohitThebest.aopdemo.store;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.Collection;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.rohitThebest.aopdemo.Account;
+
+/*
+ * Writes accounts to a relational database with JDBC batch statements: one
+ * round trip per batch instead of one per account.
+ * 
+ * Only used with the "jdbc" profile (see DemoConfig.JdbcConfig).
+ */
+public class JdbcAccountRepository {
+
+	private static final String INSERT_SQL = "INSERT INTO account (name, account_level) VALUES (?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public JdbcAccountRepository(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	public void createTableIfMissing() {
+
+		try {
+			jdbcTemplate.execute("CREATE TABLE account (name VARCHAR(255) NOT NULL, account_level VARCHAR(64))");
+		} catch (DataAccessException e) {
+			// the table is already there
+		}
+	}
+
+	public void insert(Account account) {
+
+		jdbcTemplate.update(INSERT_SQL, account.getName(), account.getLevel());
+	}
+
+	public void insertAll(Collection<Account> accounts) {
+
+		jdbcTemplate.batchUpdate(INSERT_SQL, accounts, accounts.size(), (statement, account) -> {
+
+			statement.setString(1, account.getName());
+			statement.setString(2, account.getLevel());
+		});
+	}
+
+	public int count() {
+
+		Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account", Integer.class);
+		return count == null ? 0 : count;
+	}
+}
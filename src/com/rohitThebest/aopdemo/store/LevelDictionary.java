@@ -0,0 +1,79 @@
+package com.rohitThebest.aopdemo.store;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * The account levels ("Platinum", "Silver", "Gold", ...) of CompactAccounts,
+ * each stored once and referred to by a one-byte code. Code 0 is "no level".
+ * 
+ * Levels are free-form strings, new ones are added as they are seen, up to
+ * 255 distinct levels.
+ */
+public final class LevelDictionary {
+
+	public static final int MAX_LEVELS = 255;
+
+	private final Map<String, Byte> codes = new ConcurrentHashMap<>();
+
+	// code -> level, replaced (never modified) when a level is added
+	private volatile String[] levels = { null };
+
+	public byte encode(String level) {
+
+		if (level == null) {
+			return 0;
+		}
+
+		Byte code = codes.get(level);
+		return code != null ? code : add(level);
+	}
+
+	public String decode(byte code) {
+		return levels[code & 0xFF];
+	}
+
+	// the code of an existing level, -1 if it was never seen (no account has it)
+	public int codeOf(String level) {
+
+		if (level == null) {
+			return 0;
+		}
+
+		Byte code = codes.get(level);
+		return code != null ? code & 0xFF : -1;
+	}
+
+	public int size() {
+		return levels.length - 1;
+	}
+
+	private synchronized byte add(String level) {
+
+		Byte code = codes.get(level);
+
+		if (code != null) {
+			return code;
+		}
+
+		if (levels.length > MAX_LEVELS) {
+			throw new IllegalStateException("More than " + MAX_LEVELS + " account levels, cannot add " + level);
+		}
+
+		String[] extended = Arrays.copyOf(levels, levels.length + 1);
+		extended[levels.length] = level;
+
+		// the level must be decodable before its code is handed out
+		levels = extended;
+		code = (byte) (extended.length - 1);
+		codes.put(level, code);
+
+		return code;
+	}
+}
@@ -0,0 +1,63 @@
+package com.rohitThebest.aopdemo.store;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import com.rohitThebest.aopdemo.Account;
+
+/*
+ * An Account read straight from a record of a MappedAccountFile: the view
+ * only holds the offset of the record, the getters decode the mapped bytes.
+ * 
+ * Like the copies AccountStore hands out, changing it does not change the
+ * stored account: the first setter call copies the record into the view,
+ * which is then a plain Account.
+ */
+public final class MappedAccount extends Account {
+
+	private final MappedAccountFile file;
+	private final int offset;
+
+	private boolean detached;
+
+	MappedAccount(MappedAccountFile file, int offset) {
+		this.file = file;
+		this.offset = offset;
+	}
+
+	@Override
+	public String getName() {
+		return detached ? super.getName() : file.readName(offset);
+	}
+
+	@Override
+	public void setName(String name) {
+
+		detach();
+		super.setName(name);
+	}
+
+	@Override
+	public String getLevel() {
+		return detached ? super.getLevel() : file.readLevel(offset);
+	}
+
+	@Override
+	public void setLevel(String level) {
+
+		detach();
+		super.setLevel(level);
+	}
+
+	private void detach() {
+
+		if (!detached) {
+
+			super.setName(file.readName(offset));
+			super.setLevel(file.readLevel(offset));
+			detached = true;
+		}
+	}
+}
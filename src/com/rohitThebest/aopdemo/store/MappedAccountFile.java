@@ -0,0 +1,781 @@
+package com.rohitThebest.aopdemo.store;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import com.rohitThebest.aopdemo.Account;
+
+/*
+ * Accounts persisted in a memory-mapped, append-only file.
+ * 
+ * Layout:
+ * 
+ *   file header (16 bytes)   "AOPACCT1", version, unused
+ *   records, one after the other:
+ *     int    CRC32C of the rest of the record
+ *     byte   type: 1 = account, 2 = level
+ *     byte   level code (see LevelDictionary)
+ *     short  length of the string
+ *     bytes  the string in UTF-8: the name of the account / the level
+ *   zeros up to the end of the mapped region
+ * 
+ * A level is written once, in a level record before the first account that
+ * uses it, accounts only carry its one-byte code. Saving an account whose
+ * name exists appends a new record that supersedes the old one.
+ * 
+ * The name index is an open-addressing int[] of record offsets, hashed from
+ * the mapped bytes. close() saves it with the levels in "<file>.idx", so that
+ * opening the file loads it in one read and only scans the records written
+ * after it. Without a (valid) index file, e.g. after a crash, opening scans
+ * all the records to rebuild it: no String is created, but that is a few
+ * hundred milliseconds per million records instead of a few milliseconds.
+ * 
+ * Crash safety: a record is complete once its CRC matches. The scan stops at
+ * the first record that is not, which can only be the tail an interrupted
+ * write left behind: that tail is discarded (zeroed) and appending resumes
+ * there. Writes go to the page cache, so they survive a crash of the process
+ * right away; sync() (called by saveAll() and close()) forces them to disk
+ * against a crash of the machine.
+ * 
+ * Reads are views: the MappedAccount objects returned point into the mapped
+ * region and decode it when their getters are called.
+ * 
+ * Thread safe: the index is guarded by a read-write lock; records never
+ * change once written, so the views read them without locking.
+ */
+public class MappedAccountFile implements AutoCloseable {
+
+	private static final byte[] MAGIC = "AOPACCT1".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] INDEX_MAGIC = "AOPIDX01".getBytes(StandardCharsets.US_ASCII);
+	private static final int VERSION = 1;
+
+	private static final int FILE_HEADER = 16;
+	private static final int RECORD_HEADER = 8;
+
+	private static final byte ACCOUNT = 1;
+	private static final byte LEVEL = 2;
+
+	private static final int MAX_STRING_BYTES = 0xFFFF;
+	private static final int MIN_MAPPED_BYTES = 1 << 20;
+
+	private final Path path;
+	private final Path indexPath;
+	private final FileChannel channel;
+
+	private final LevelDictionary levels = new LevelDictionary();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// replaced by a larger mapping when the file grows
+	private volatile MappedByteBuffer buffer;
+
+	// end of the last complete record, and where it starts (0: no record yet)
+	private int end;
+	private int lastRecord;
+
+	// offsets of the current record of each name, 0 for a free slot; linear probing
+	private int[] index = new int[1024];
+	private int accounts;
+
+	private final long openNanos;
+	private final boolean indexLoaded;
+	private final int discardedBytes;
+
+	private MappedAccountFile(Path path) throws IOException {
+
+		long begin = System.nanoTime();
+
+		this.path = path;
+		this.indexPath = path.resolveSibling(path.getFileName() + ".idx");
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+
+		boolean created = channel.size() == 0;
+
+		map(Math.max(MIN_MAPPED_BYTES, channel.size()));
+
+		if (created) {
+
+			buffer.put(0, MAGIC);
+			buffer.putInt(MAGIC.length, VERSION);
+
+		} else {
+
+			byte[] magic = new byte[MAGIC.length];
+			buffer.get(0, magic);
+
+			if (!Arrays.equals(magic, MAGIC) || buffer.getInt(MAGIC.length) != VERSION) {
+
+				channel.close();
+				throw new IllegalArgumentException(path + " is not an account file (version " + VERSION + ")");
+			}
+		}
+
+		int indexed = loadIndex();
+
+		this.indexLoaded = indexed > FILE_HEADER;
+		this.discardedBytes = recover(indexed);
+		this.openNanos = System.nanoTime() - begin;
+	}
+
+	public static MappedAccountFile open(Path path) {
+
+		try {
+			return new MappedAccountFile(path);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open the account file " + path, e);
+		}
+	}
+
+	/*
+	 * Appends the account; it supersedes the account with the same name.
+	 */
+	public void save(Account account) {
+
+		lock.writeLock().lock();
+
+		try {
+			append(account);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// one batch, forced to disk once
+	public void saveAll(Collection<Account> accounts) {
+
+		lock.writeLock().lock();
+
+		try {
+
+			for (Account account : accounts) {
+				append(account);
+			}
+
+			buffer.force();
+
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public MappedAccount findByName(String name) {
+
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+
+		lock.readLock().lock();
+
+		try {
+
+			int offset = find(nameBytes);
+			return offset == 0 ? null : new MappedAccount(this, offset);
+
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// the current accounts in file order (an updated account is where its last record is)
+	public List<Account> findAll() {
+
+		List<Account> views = new ArrayList<>();
+
+		for (int offset : liveOffsets()) {
+			views.add(new MappedAccount(this, offset));
+		}
+
+		return views;
+	}
+
+	public List<Account> findByLevel(String level) {
+
+		List<Account> views = new ArrayList<>();
+		int code = levels.codeOf(level);
+
+		if (code < 0) {
+			return views;
+		}
+
+		int[] offsets = liveOffsets();
+
+		// read after the offsets: a save() can remap in between, the newer mapping has them all
+		MappedByteBuffer records = buffer;
+
+		for (int offset : offsets) {
+
+			if ((records.get(offset + 5) & 0xFF) == code) {
+				views.add(new MappedAccount(this, offset));
+			}
+		}
+
+		return views;
+	}
+
+	/*
+	 * At most pageSize accounts with a name after afterName (null: from the
+	 * start), in name order like AccountStore.findPage(). The file is not
+	 * sorted, so this is a scan of all the accounts.
+	 */
+	public AccountPage findPage(String afterName, int pageSize) {
+
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+		}
+
+		// the pageSize + 1 smallest names after the cursor, the largest on top
+		PriorityQueue<String> smallest = new PriorityQueue<>((a, b) -> b.compareTo(a));
+
+		for (int offset : liveOffsets()) {
+
+			String name = readName(offset);
+
+			if (afterName != null && name.compareTo(afterName) <= 0) {
+				continue;
+			}
+
+			if (smallest.size() <= pageSize) {
+				smallest.add(name);
+			} else if (name.compareTo(smallest.peek()) < 0) {
+
+				smallest.poll();
+				smallest.add(name);
+			}
+		}
+
+		boolean more = smallest.size() > pageSize;
+
+		if (more) {
+			smallest.poll();
+		}
+
+		List<String> names = new ArrayList<>(smallest);
+		names.sort(null);
+
+		List<Account> page = new ArrayList<>(names.size());
+
+		for (String name : names) {
+			page.add(findByName(name));
+		}
+
+		return new AccountPage(page, more ? names.get(names.size() - 1) : null);
+	}
+
+	public Stream<Account> stream() {
+
+		return IntStream.of(liveOffsets()).mapToObj(offset -> new MappedAccount(this, offset));
+	}
+
+	public int size() {
+
+		lock.readLock().lock();
+
+		try {
+			return accounts;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	// bytes used by the header and the records
+	public int getLength() {
+
+		lock.readLock().lock();
+
+		try {
+			return end;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// whether the open loaded the index file, or had to rebuild the index
+	public boolean isIndexLoaded() {
+		return indexLoaded;
+	}
+
+	// time the last open took, index rebuild included
+	public long getOpenNanos() {
+		return openNanos;
+	}
+
+	// bytes of an incomplete last record discarded when the file was opened
+	public int getDiscardedBytes() {
+		return discardedBytes;
+	}
+
+	public void sync() {
+		buffer.force();
+	}
+
+	@Override
+	public void close() {
+
+		lock.writeLock().lock();
+
+		try {
+
+			buffer.force();
+			saveIndex();
+			channel.close();
+
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot close the account file " + path, e);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// ---------------------------
+	// read by MappedAccount
+
+	String readName(int offset) {
+
+		MappedByteBuffer records = buffer;
+		byte[] name = new byte[records.getShort(offset + 6) & 0xFFFF];
+
+		records.get(offset + RECORD_HEADER, name);
+		return new String(name, StandardCharsets.UTF_8);
+	}
+
+	String readLevel(int offset) {
+		return levels.decode(buffer.get(offset + 5));
+	}
+
+	// ---------------------------
+
+	private void map(long size) throws IOException {
+
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalStateException(path + " is full: 2 GB is the maximum of one mapping");
+		}
+
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+	}
+
+	/*
+	 * Scans the records from the given offset, adds them to the levels and the
+	 * index, and discards an incomplete tail. Returns the number of bytes
+	 * discarded.
+	 */
+	private int recover(int from) {
+
+		int offset = from;
+		int capacity = buffer.capacity();
+
+		while (offset + RECORD_HEADER <= capacity) {
+
+			byte type = buffer.get(offset + 4);
+
+			if (type == 0) {
+				break;
+			}
+
+			int length = buffer.getShort(offset + 6) & 0xFFFF;
+			int next = offset + RECORD_HEADER + length;
+
+			if ((type != ACCOUNT && type != LEVEL) || next > capacity
+					|| buffer.getInt(offset) != checksum(offset, length)) {
+
+				end = offset;
+				return discard(offset, Math.min(next, capacity));
+			}
+
+			if (type == ACCOUNT) {
+				index(offset);
+			} else {
+				defineLevel(offset, length);
+			}
+
+			lastRecord = offset;
+			offset = next;
+		}
+
+		end = offset;
+		return 0;
+	}
+
+	// ---------------------------
+	// index file:
+	//   "AOPIDX01", int end of the records indexed, int offset and int CRC of the
+	//   last of them, int accounts, int levels, the levels (short length + UTF-8), int slots,
+	//   the slots, long CRC32C of all of it
+
+	/*
+	 * Saves the index and the levels. Written to a temporary file first and
+	 * then renamed, so the index file is always complete or absent.
+	 */
+	private void saveIndex() throws IOException {
+
+		List<byte[]> levelNames = new ArrayList<>();
+		int size = INDEX_MAGIC.length + 4 * 6 + 4 * index.length + 8;
+
+		for (int code = 1; code <= levels.size(); code++) {
+
+			levelNames.add(levels.decode((byte) code).getBytes(StandardCharsets.UTF_8));
+			size += 2 + levelNames.get(code - 1).length;
+		}
+
+		ByteBuffer out = ByteBuffer.allocate(size);
+
+		out.put(INDEX_MAGIC).putInt(end).putInt(lastRecord).putInt(lastRecord == 0 ? 0 : buffer.getInt(lastRecord))
+				.putInt(accounts).putInt(levelNames.size());
+
+		for (byte[] level : levelNames) {
+			out.putShort((short) level.length).put(level);
+		}
+
+		out.putInt(index.length);
+		out.asIntBuffer().put(index);
+		out.position(out.position() + 4 * index.length);
+
+		CRC32C crc = new CRC32C();
+		crc.update(out.array(), 0, out.position());
+		out.putLong(crc.getValue()).flip();
+
+		Path temporary = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+
+		try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+			while (out.hasRemaining()) {
+				file.write(out);
+			}
+
+			file.force(true);
+		}
+
+		Files.move(temporary, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/*
+	 * Loads the index file if it is complete and belongs to this file. Returns
+	 * the offset the records have to be scanned from: the end of the records
+	 * it covers, or the first record.
+	 */
+	private int loadIndex() throws IOException {
+
+		if (!Files.isRegularFile(indexPath)) {
+			return FILE_HEADER;
+		}
+
+		ByteBuffer in;
+
+		try (FileChannel file = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+			in = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+		}
+
+		try {
+
+			CRC32C crc = new CRC32C();
+			crc.update(in.duplicate().limit(in.limit() - 8));
+
+			byte[] magic = new byte[INDEX_MAGIC.length];
+			in.get(magic);
+
+			if (!Arrays.equals(magic, INDEX_MAGIC) || in.getLong(in.limit() - 8) != crc.getValue()) {
+				return FILE_HEADER;
+			}
+
+			int indexedEnd = in.getInt();
+			int indexedLastRecord = in.getInt();
+			int lastChecksum = in.getInt();
+			int indexedAccounts = in.getInt();
+
+			List<String> levelNames = new ArrayList<>();
+
+			for (int i = in.getInt(); i > 0; i--) {
+
+				byte[] level = new byte[in.getShort() & 0xFFFF];
+				in.get(level);
+				levelNames.add(new String(level, StandardCharsets.UTF_8));
+			}
+
+			int[] slots = new int[in.getInt()];
+			in.asIntBuffer().get(slots);
+
+			// the records it indexed must still be there (and be these)
+			if (!isRecordEnd(indexedLastRecord, indexedEnd, lastChecksum)) {
+				return FILE_HEADER;
+			}
+
+			for (String level : levelNames) {
+				levels.encode(level);
+			}
+
+			index = slots;
+			accounts = indexedAccounts;
+			lastRecord = indexedLastRecord;
+
+			return indexedEnd;
+
+		} catch (RuntimeException e) {
+
+			// truncated or not an index file
+			return FILE_HEADER;
+		}
+	}
+
+	// whether the record at offset has this CRC and ends at end
+	private boolean isRecordEnd(int offset, int end, int checksum) {
+
+		if (offset == 0) {
+			return end == FILE_HEADER;
+		}
+
+		return offset >= FILE_HEADER && offset + RECORD_HEADER <= end && end <= buffer.capacity()
+				&& offset + RECORD_HEADER + (buffer.getShort(offset + 6) & 0xFFFF) == end
+				&& buffer.getInt(offset) == checksum;
+	}
+
+	private void defineLevel(int offset, int length) {
+
+		byte[] level = new byte[length];
+		buffer.get(offset + RECORD_HEADER, level);
+
+		byte code = levels.encode(new String(level, StandardCharsets.UTF_8));
+
+		if (code != buffer.get(offset + 5)) {
+			throw new IllegalStateException(path + ": level record at " + offset + " is out of order");
+		}
+	}
+
+	private int discard(int from, int to) {
+
+		for (int i = from; i < to; i++) {
+			buffer.put(i, (byte) 0);
+		}
+
+		buffer.force();
+		return to - from;
+	}
+
+	private void append(Account account) {
+
+		if (account == null || account.getName() == null) {
+			throw new IllegalArgumentException("An account needs a name: " + account);
+		}
+
+		byte[] name = encode(account.getName());
+
+		int levelsBefore = levels.size();
+		byte code = levels.encode(account.getLevel());
+
+		if (levels.size() > levelsBefore) {
+			write(LEVEL, code, encode(account.getLevel()));
+		}
+
+		int offset = write(ACCOUNT, code, name);
+		index(offset);
+	}
+
+	private int write(byte type, byte code, byte[] string) {
+
+		int offset = end;
+		int next = offset + RECORD_HEADER + string.length;
+
+		try {
+
+			if (next > buffer.capacity()) {
+				map(Math.max(next, 2L * buffer.capacity()));
+			}
+
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot grow the account file " + path, e);
+		}
+
+		// the checksum last: until it is there the record is incomplete
+		buffer.put(offset + RECORD_HEADER, string);
+		buffer.putShort(offset + 6, (short) string.length);
+		buffer.put(offset + 5, code);
+		buffer.put(offset + 4, type);
+		buffer.putInt(offset, checksum(offset, string.length));
+
+		lastRecord = offset;
+		end = next;
+		return offset;
+	}
+
+	private static byte[] encode(String string) {
+
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+		if (bytes.length > MAX_STRING_BYTES) {
+			throw new IllegalArgumentException("Longer than " + MAX_STRING_BYTES + " bytes: " + string);
+		}
+
+		return bytes;
+	}
+
+	// of the record at offset, from its type to the end of its string
+	private int checksum(int offset, int length) {
+
+		ByteBuffer record = buffer.duplicate();
+		record.limit(offset + RECORD_HEADER + length).position(offset + 4);
+
+		CRC32C crc = new CRC32C();
+		crc.update(record);
+		return (int) crc.getValue();
+	}
+
+	// ---------------------------
+	// name index
+
+	// offsets of the current records, in file order
+	private int[] liveOffsets() {
+
+		lock.readLock().lock();
+
+		try {
+
+			int[] offsets = new int[accounts];
+			int count = 0;
+
+			for (int offset : index) {
+
+				if (offset != 0) {
+					offsets[count++] = offset;
+				}
+			}
+
+			Arrays.sort(offsets);
+			return offsets;
+
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private int find(byte[] name) {
+
+		int mask = index.length - 1;
+		int hash = 1;
+
+		for (byte b : name) {
+			hash = 31 * hash + b;
+		}
+
+		for (int slot = mix(hash) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+
+			if (nameEquals(index[slot], name)) {
+				return index[slot];
+			}
+		}
+
+		return 0;
+	}
+
+	// adds the record, or replaces the record of the same name
+	private void index(int offset) {
+
+		int mask = index.length - 1;
+
+		for (int slot = nameHash(offset) & mask; ; slot = (slot + 1) & mask) {
+
+			if (index[slot] == 0) {
+
+				index[slot] = offset;
+				accounts++;
+
+				// at most 3/4 full, linear probing gets slow above that
+				if (accounts * 4L > index.length * 3L) {
+					rehash();
+				}
+
+				return;
+			}
+
+			if (sameName(index[slot], offset)) {
+				index[slot] = offset;
+				return;
+			}
+		}
+	}
+
+	private void rehash() {
+
+		int[] table = new int[index.length * 2];
+		int mask = table.length - 1;
+
+		for (int offset : index) {
+
+			if (offset != 0) {
+
+				int slot = nameHash(offset) & mask;
+
+				while (table[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+
+				table[slot] = offset;
+			}
+		}
+
+		index = table;
+	}
+
+	private int nameHash(int offset) {
+
+		int length = buffer.getShort(offset + 6) & 0xFFFF;
+		int hash = 1;
+
+		for (int i = offset + RECORD_HEADER; i < offset + RECORD_HEADER + length; i++) {
+			hash = 31 * hash + buffer.get(i);
+		}
+
+		return mix(hash);
+	}
+
+	// spreads similar names ("user1", "user2", ...) over the table, linear probing needs it
+	private static int mix(int hash) {
+
+		hash = (hash ^ (hash >>> 16)) * 0x85EBCA6B;
+		hash = (hash ^ (hash >>> 13)) * 0xC2B2AE35;
+		return hash ^ (hash >>> 16);
+	}
+
+	private boolean nameEquals(int offset, byte[] name) {
+
+		if ((buffer.getShort(offset + 6) & 0xFFFF) != name.length) {
+			return false;
+		}
+
+		return buffer.slice(offset + RECORD_HEADER, name.length).equals(ByteBuffer.wrap(name));
+	}
+
+	private boolean sameName(int offset, int other) {
+
+		int length = buffer.getShort(offset + 6) & 0xFFFF;
+
+		if ((buffer.getShort(other + 6) & 0xFFFF) != length) {
+			return false;
+		}
+
+		return buffer.slice(offset + RECORD_HEADER, length).equals(buffer.slice(other + RECORD_HEADER, length));
+	}
+}
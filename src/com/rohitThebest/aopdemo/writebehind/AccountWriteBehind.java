@@ -0,0 +1,325 @@
+package com.rohitThebest.aopdemo.writebehind;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import com.rohitThebest.aopdemo.Account;
+import com.rohitThebest.aopdemo.dao.AccountDAO;
+import com.rohitThebest.aopdemo.errors.ExceptionRegistry;
+import com.rohitThebest.aopdemo.log.AsyncLogger;
+import com.rohitThebest.aopdemo.log.LogEvent;
+import com.rohitThebest.aopdemo.metrics.LatencyHistogram;
+
+/*
+ * The queue behind MyWriteBehindAspect: single accounts are queued here and
+ * written with AccountDAO.addAccounts(), many at a time.
+ * 
+ * A batch is written when batchSize accounts are waiting or, at the latest,
+ * windowMillis after they were queued. When the queue is full a caller waits
+ * up to offerTimeoutMillis for room (backpressure) and if there is still no
+ * room it has to write its account itself.
+ * 
+ * All writes happen under one lock, so flush() returns only after everything
+ * queued before it has been written.
+ * 
+ * A batch that fails is not written again: its accounts are logged as lost
+ * and the exception is counted in the ExceptionRegistry, under writeBatch().
+ * 
+ * The settings can be changed with -Daopdemo.writebehind.batchSize=...,
+ * .windowMillis, .capacity and .offerTimeoutMillis
+ */
+@Component
+public class AccountWriteBehind implements SmartInitializingSingleton, AutoCloseable {
+
+	public static final int DEFAULT_BATCH_SIZE = 100;
+	public static final int DEFAULT_WINDOW_MILLIS = 20;
+	public static final int DEFAULT_CAPACITY = 10_000;
+	public static final int DEFAULT_OFFER_TIMEOUT_MILLIS = 100;
+
+	// where the lost batches are counted in the ExceptionRegistry
+	private static final Method WRITE_BATCH = ReflectionUtils.findMethod(AccountWriteBehind.class, "writeBatch",
+			List.class);
+
+	private final ObjectProvider<AccountDAO> accountDaoProvider;
+
+	private final int batchSize;
+	private final long windowNanos;
+	private final long offerTimeoutNanos;
+
+	private final BlockingQueue<PendingAccount> pending;
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	private final LatencyHistogram flushLatency = new LatencyHistogram();
+	private final LatencyHistogram queueDelay = new LatencyHistogram();
+	private final LatencyHistogram batchSizes = new LatencyHistogram();
+
+	private final LongAdder queued = new LongAdder();
+	private final LongAdder written = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder backpressureWaits = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	private volatile AccountDAO accountDao;
+	private volatile boolean closed;
+
+	private final Thread flusher;
+
+	@Autowired
+	private AsyncLogger logger;
+
+	@Autowired
+	private ExceptionRegistry exceptionRegistry;
+
+	@Autowired
+	public AccountWriteBehind(ObjectProvider<AccountDAO> accountDaoProvider) {
+
+		this.accountDaoProvider = accountDaoProvider;
+
+		this.batchSize = Integer.getInteger("aopdemo.writebehind.batchSize", DEFAULT_BATCH_SIZE);
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(
+				Integer.getInteger("aopdemo.writebehind.windowMillis", DEFAULT_WINDOW_MILLIS));
+		this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(
+				Integer.getInteger("aopdemo.writebehind.offerTimeoutMillis", DEFAULT_OFFER_TIMEOUT_MILLIS));
+		this.pending = new ArrayBlockingQueue<>(
+				Integer.getInteger("aopdemo.writebehind.capacity", DEFAULT_CAPACITY));
+
+		this.flusher = new Thread(this::flushLoop, "aopdemo-write-behind");
+		this.flusher.setDaemon(true);
+	}
+
+	/*
+	 * The dao is looked up only when all the beans are created: asking for it
+	 * earlier (this bean is needed by an aspect) would create it before the
+	 * proxies can be applied to it.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+
+		accountDao = accountDaoProvider.getObject();
+		flusher.start();
+	}
+
+	/*
+	 * Queues the account. Returns false when it could not be queued (still no
+	 * room after the backpressure wait, or the queue is closed): the caller
+	 * has to write it itself.
+	 */
+	public boolean enqueue(Account account) {
+
+		if (closed || accountDao == null) {
+			rejected.increment();
+			return false;
+		}
+
+		PendingAccount pendingAccount = new PendingAccount(account, System.nanoTime());
+
+		if (!pending.offer(pendingAccount)) {
+
+			backpressureWaits.increment();
+
+			try {
+
+				if (!pending.offer(pendingAccount, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+					rejected.increment();
+					return false;
+				}
+			} catch (InterruptedException e) {
+
+				Thread.currentThread().interrupt();
+				rejected.increment();
+				return false;
+			}
+		}
+
+		/*
+		 * close() may have run its last flush() between the check above and the
+		 * offer: take the account back, the caller writes it. If it is gone the
+		 * last flush() (or the flusher) already took it.
+		 */
+		if (closed && pending.remove(pendingAccount)) {
+			rejected.increment();
+			return false;
+		}
+
+		queued.increment();
+
+		if (pending.size() >= batchSize) {
+			LockSupport.unpark(flusher);
+		}
+
+		return true;
+	}
+
+	/*
+	 * Writes everything that is queued right now, on the calling thread, and
+	 * waits for a batch the flusher is writing.
+	 * 
+	 * Nothing to do only when the queue is empty and nobody holds the lock: the
+	 * flusher drains the queue under the lock, so an empty queue with the lock
+	 * held can mean a batch taken out but not written yet. The queue is checked
+	 * first, a drain after that check is still seen by the lock check.
+	 */
+	public void flush() {
+
+		if (pending.isEmpty() && !writeLock.isLocked()) {
+			return;
+		}
+
+		writeLock.lock();
+
+		try {
+			writePending();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	public int getPending() {
+		return pending.size();
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public WriteBehindStats stats() {
+
+		return new WriteBehindStats(queued.sum(), written.sum(), failed.sum(), backpressureWaits.sum(),
+				rejected.sum(), pending.size(), batchSizes.snapshot(), flushLatency.snapshot(),
+				queueDelay.snapshot());
+	}
+
+	/*
+	 * Called by Spring when the context is closed: no more accounts are
+	 * queued and the ones still waiting are written. An enqueue() that
+	 * overlaps it either gets its account into this last flush() or takes it
+	 * back out of the queue.
+	 */
+	@Override
+	public void close() {
+
+		closed = true;
+		LockSupport.unpark(flusher);
+
+		try {
+			flusher.join(TimeUnit.NANOSECONDS.toMillis(windowNanos) + 1000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		flush();
+	}
+
+	// ---------------------------
+
+	private void flushLoop() {
+
+		while (!closed) {
+
+			// woken up early by enqueue() when a full batch is waiting
+			LockSupport.parkNanos(this, windowNanos);
+
+			try {
+				flush();
+			} catch (RuntimeException e) {
+				// already counted in writeBatch(), keep the flusher alive
+			}
+		}
+	}
+
+	// only called with writeLock held
+	private void writePending() {
+
+		List<PendingAccount> batch = new ArrayList<>(batchSize);
+
+		while (pending.drainTo(batch, batchSize) > 0) {
+
+			writeBatch(batch);
+			batch.clear();
+		}
+	}
+
+	private void writeBatch(List<PendingAccount> batch) {
+
+		List<Account> accounts = new ArrayList<>(batch.size());
+
+		for (PendingAccount pendingAccount : batch) {
+			accounts.add(pendingAccount.account);
+		}
+
+		long begin = System.nanoTime();
+
+		try {
+
+			accountDao.addAccounts(accounts);
+			written.add(accounts.size());
+
+		} catch (RuntimeException e) {
+
+			/*
+			 * The callers returned long ago, there is nobody to give the exception
+			 * to: these accounts are lost. Callers that cannot accept that use the
+			 * synchronous vip path.
+			 */
+			failed.add(accounts.size());
+			exceptionRegistry.record(WRITE_BATCH, e);
+			logLost(accounts, e);
+
+		} finally {
+
+			long end = System.nanoTime();
+
+			flushLatency.record(end - begin);
+			queueDelay.record(end - batch.get(0).queuedNanos);
+			batchSizes.record(accounts.size());
+		}
+	}
+
+	private void logLost(List<Account> accounts, RuntimeException exception) {
+
+		if (!logger.isEnabled()) {
+			return;
+		}
+
+		LogEvent event = out -> {
+
+			out.append("\n=====>>> Write-behind batch of ").append(accounts.size())
+					.append(" accounts failed (").append(exception).append("), lost:");
+
+			for (Account account : accounts) {
+				out.append(' ').append(account.getName());
+			}
+		};
+
+		logger.log(event);
+	}
+
+	private static final class PendingAccount {
+
+		private final Account account;
+		private final long queuedNanos;
+
+		PendingAccount(Account account, long queuedNanos) {
+			this.account = account;
+			this.queuedNanos = queuedNanos;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.rohitThebest.aopdemo.writebehind;
+
+/*
+ * For better understanding of this project go to :
+ * https://github.com/rkumar0206/spring-AOP-demo
+ */
+
+import com.rohitThebest.aopdemo.metrics.HistogramSnapshot;
+
+/*
+ * What AccountWriteBehind has done so far.
+ * 
+ * The batch sizes are kept in a HistogramSnapshot too, its values are account
+ * counts and not nanoseconds. The queue delay is the time from queuing the
+ * first account of a batch until the batch is written.
+ */
+public class WriteBehindStats {
+
+	private final long queued;
+	private final long written;
+	private final long failed;
+	private final long backpressureWaits;
+	private final long rejected;
+	private final int pending;
+	private final HistogramSnapshot batchSizes;
+	private final HistogramSnapshot flushLatency;
+	private final HistogramSnapshot queueDelay;
+
+	WriteBehindStats(long queued, long written, long failed, long backpressureWaits, long rejected, int pending,
+			HistogramSnapshot batchSizes, HistogramSnapshot flushLatency, HistogramSnapshot queueDelay) {
+
+		this.queued = queued;
+		this.written = written;
+		this.failed = failed;
+		this.backpressureWaits = backpressureWaits;
+		this.rejected = rejected;
+		this.pending = pending;
+		this.batchSizes = batchSizes;
+		this.flushLatency = flushLatency;
+		this.queueDelay = queueDelay;
+	}
+
+	public long getQueued() {
+		return queued;
+	}
+
+	public long getWritten() {
+		return written;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	// how often a caller found the queue full and had to wait
+	public long getBackpressureWaits() {
+		return backpressureWaits;
+	}
+
+	// accounts that could not be queued and were written by the caller
+	public long getRejected() {
+		return rejected;
+	}
+
+	public int getPending() {
+		return pending;
+	}
+
+	public long getBatches() {
+		return batchSizes.getCount();
+	}
+
+	public HistogramSnapshot getBatchSizes() {
+		return batchSizes;
+	}
+
+	public HistogramSnapshot getFlushLatency() {
+		return flushLatency;
+	}
+
+	public HistogramSnapshot getQueueDelay() {
+		return queueDelay;
+	}
+
+	@Override
+	public String toString() {
+
+		return "queued=" + queued
+				+ " written=" + written
+				+ " failed=" + failed
+				+ " pending=" + pending
+				+ " backpressureWaits=" + backpressureWaits
+				+ " rejected=" + rejected
+				+ "\nbatches=" + batchSizes.getCount()
+				+ " size p50=" + batchSizes.getP50()
+				+ " p99=" + batchSizes.getP99()
+				+ " max=" + batchSizes.getMax()
+				+ String.format(" mean=%.1f", batchSizes.getMean())
+				+ "\nflush latency : " + flushLatency
+				+ "\nqueue delay   : " + queueDelay;
+	}
+}